@@ -0,0 +1,93 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package budget;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AppState;
+
+
+/**
+ *  A ScreenFactory that attaches an app state to build the screen,
+ *  the way the demos in examples/demos are launched from the main
+ *  menu.  The state is created from its class name and must have
+ *  a public no-argument constructor.
+ */
+public class AppStateScreenFactory implements ScreenFactory {
+
+    private final Class<? extends AppState> type;
+    private AppState state;
+
+    public AppStateScreenFactory( Class<? extends AppState> type ) {
+        this.type = type;
+    }
+
+    public static AppStateScreenFactory forName( String className ) {
+        try {
+            Class<?> type = Class.forName(className);
+            return new AppStateScreenFactory(type.asSubclass(AppState.class));
+        } catch( ClassNotFoundException e ) {
+            throw new IllegalArgumentException("Screen class not found:" + className, e);
+        }
+    }
+
+    public Class<? extends AppState> getType() {
+        return type;
+    }
+
+    @Override
+    public void createScreen( Application app ) {
+        try {
+            state = type.newInstance();
+        } catch( InstantiationException | IllegalAccessException e ) {
+            throw new RuntimeException("Error creating screen state:" + type, e);
+        }
+        app.getStateManager().attach(state);
+    }
+
+    @Override
+    public void destroyScreen( Application app ) {
+        if( state != null ) {
+            app.getStateManager().detach(state);
+            state = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + type.getName() + "]";
+    }
+}
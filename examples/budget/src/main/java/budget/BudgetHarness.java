@@ -0,0 +1,341 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package budget;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+
+import com.jme3.app.*;
+import com.jme3.app.state.AppState;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.style.BaseStyles;
+
+
+/**
+ *  Boots a headless application with the null renderer, builds each
+ *  configured screen, runs it for a number of frames and reports the
+ *  geometries, materials, textures, vertices and triangles it draws
+ *  along with the render thread allocations and the CPU time spent in
+ *  each app state.  Exits with status 1 when any screen goes over
+ *  its budget so that it can fail a build.
+ *
+ *  <p>Usage: BudgetHarness [--record out.properties] [budget.properties]</p>
+ *
+ *  <p>Without a budget file, budgets.properties is loaded from the
+ *  classpath.  With --record, the measured values are written to the
+ *  output file as the new budgets and the run only fails if it could
+ *  not complete.</p>
+ */
+public class BudgetHarness extends SimpleApplication {
+
+    private final List<ScreenBudget> budgets;
+    private final Iterator<ScreenBudget> pending;
+    private final TimingAppStateManager timing;
+    private final FrameStats frameStats = new FrameStats();
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    private final com.sun.management.ThreadMXBean allocations;
+
+    private ScreenBudget current;
+    private int frame;
+    private volatile boolean finished;
+    private volatile Throwable error;
+
+    public static void main( String... args ) throws Exception {
+        String record = null;
+        String file = null;
+        for( int i = 0; i < args.length; i++ ) {
+            if( "--record".equals(args[i]) && i + 1 < args.length ) {
+                record = args[++i];
+            } else {
+                file = args[i];
+            }
+        }
+        Properties props = loadBudgets(file);
+
+        List<ScreenBudget> budgets = new ArrayList<>();
+        for( String name : props.getProperty("screens", "").split(",") ) {
+            name = name.trim();
+            if( !name.isEmpty() ) {
+                budgets.add(ScreenBudget.fromProperties(name, props));
+            }
+        }
+        if( budgets.isEmpty() ) {
+            System.err.println("No screens configured.");
+            System.exit(2);
+        }
+
+        BudgetHarness harness = new BudgetHarness(budgets);
+        AppSettings settings = new AppSettings(true);
+        settings.setWidth(1280);
+        settings.setHeight(720);
+        settings.setFrameRate(-1);
+        settings.setAudioRenderer(null);
+        harness.setSettings(settings);
+        harness.setShowSettings(false);
+        harness.start(JmeContext.Type.Headless);
+
+        boolean ok = harness.waitForResults(System.out);
+        if( record != null ) {
+            ok = harness.isComplete();
+            if( ok ) {
+                harness.recordBudgets(new File(record));
+                System.out.println("Recorded budgets to:" + record);
+            }
+        }
+        System.exit(ok ? 0 : 1);
+    }
+
+    protected static Properties loadBudgets( String file ) throws IOException {
+        Properties props = new Properties();
+        InputStream in;
+        if( file != null ) {
+            in = new FileInputStream(file);
+        } else {
+            in = BudgetHarness.class.getResourceAsStream("/budgets.properties");
+            if( in == null ) {
+                throw new FileNotFoundException("budgets.properties not found on the classpath");
+            }
+        }
+        try {
+            props.load(in);
+        } finally {
+            in.close();
+        }
+        return props;
+    }
+
+    public BudgetHarness( List<ScreenBudget> budgets ) {
+        // No default states... we only want to measure Lemur and the
+        // screens themselves.
+        super((AppState[])null);
+        this.budgets = budgets;
+        this.pending = budgets.iterator();
+
+        // Replace the state manager before anything else is attached so
+        // that every state gets timed.  This drops the internal
+        // statistics reset state but the null renderer has no
+        // statistics worth resetting.
+        this.timing = new TimingAppStateManager(this);
+        this.stateManager = timing;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if( threads instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean)threads).isThreadAllocatedMemorySupported() ) {
+            this.allocations = (com.sun.management.ThreadMXBean)threads;
+            allocations.setThreadAllocatedMemoryEnabled(true);
+        } else {
+            this.allocations = null;
+        }
+    }
+
+    @Override
+    public void simpleInitApp() {
+        setPauseOnLostFocus(false);
+
+        // Use the full GuiGlobals setup, popups, focus, and so on,
+        // even though the context is headless.
+        GuiGlobals.setInstance(new HeadlessGuiGlobals(this));
+
+        BaseStyles.loadGlassStyle();
+        GuiGlobals.getInstance().getStyles().setDefaultStyle("glass");
+    }
+
+    protected long allocatedBytes() {
+        if( allocations == null ) {
+            return -1;
+        }
+        return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @Override
+    public void update() {
+        long start = allocatedBytes();
+        super.update();
+        long end = allocatedBytes();
+        if( !finished ) {
+            nextFrame(start < 0 ? -1 : end - start);
+        }
+    }
+
+    protected void nextFrame( long allocated ) {
+        if( current == null ) {
+            if( !pending.hasNext() ) {
+                finished = true;
+                stop();
+                return;
+            }
+            current = pending.next();
+            current.getFactory().createScreen(this);
+            timing.resetTimes();
+            frame = 0;
+            return;
+        }
+
+        frame++;
+        if( frame <= current.getWarmupFrames() ) {
+            if( frame == current.getWarmupFrames() ) {
+                timing.resetTimes();
+            }
+            return;
+        }
+
+        frameStats.clear();
+        frameStats.addViewPorts(renderManager.getPreViews());
+        frameStats.addViewPorts(renderManager.getMainViews());
+        frameStats.addViewPorts(renderManager.getPostViews());
+        current.addFrame(frameStats, allocated);
+
+        if( frame >= current.getWarmupFrames() + current.getFrames() ) {
+            current.addStateTimes(timing.getTimes());
+            current.getFactory().destroyScreen(this);
+            current = null;
+        }
+    }
+
+    @Override
+    public void handleError( String errMsg, Throwable t ) {
+        error = t != null ? t : new RuntimeException(errMsg);
+        super.handleError(errMsg, t);
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            super.destroy();
+        } finally {
+            done.countDown();
+        }
+    }
+
+    /**
+     *  Waits for the application to finish running all of the screens,
+     *  prints the report, and returns true if every screen was within
+     *  its budget.
+     */
+    public boolean waitForResults( PrintStream out ) throws InterruptedException {
+        done.await();
+        if( error != null || !finished ) {
+            out.println("Budget run did not complete:" + error);
+            return false;
+        }
+
+        List<String> failures = new ArrayList<>();
+        for( ScreenBudget budget : budgets ) {
+            budget.report(out);
+            failures.addAll(budget.check());
+        }
+        if( !timing.isCpuTime() ) {
+            out.println("Note: thread CPU time is not supported, app state times are wall time.");
+        }
+        if( failures.isEmpty() ) {
+            out.println("All screens within budget.");
+            return true;
+        }
+        out.println("Over budget:");
+        for( String failure : failures ) {
+            out.println("  " + failure);
+        }
+        return false;
+    }
+
+    /**
+     *  Returns true if every screen was run.  Only valid after
+     *  waitForResults().
+     */
+    public boolean isComplete() {
+        return error == null && finished;
+    }
+
+    /**
+     *  Writes the measured values of every screen to the specified
+     *  file as a budgets.properties file.
+     */
+    public void recordBudgets( File file ) throws IOException {
+        PrintStream out = new PrintStream(new FileOutputStream(file), false, "ISO-8859-1");
+        try {
+            out.println("#");
+            out.println("# Per-screen budgets for the headless BudgetHarness, recorded with");
+            out.println("# 'gradle budgetRecord' on " + new Date() + " with");
+            out.println("# Java " + System.getProperty("java.version") + " on " + System.getProperty("os.name")
+                        + " " + System.getProperty("os.arch") + ".");
+            out.println("#");
+            out.println("# Counts are the worst measured frame.  Allocations are the measured");
+            out.println("# average times " + ScreenBudget.ALLOCATION_MARGIN + " and app state times are the slowest");
+            out.println("# measured state times " + ScreenBudget.TIME_MARGIN + ".  See ScreenBudget for the");
+            out.println("# meaning of each setting.");
+            out.println("#");
+            out.println();
+            StringBuilder names = new StringBuilder();
+            for( ScreenBudget budget : budgets ) {
+                if( names.length() > 0 ) {
+                    names.append(",");
+                }
+                names.append(budget.getName());
+            }
+            out.println("screens=" + names);
+            for( ScreenBudget budget : budgets ) {
+                out.println();
+                budget.record(out);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     *  GuiGlobals skips input, focus, and popup support for headless
+     *  contexts.  The screens need those so we only fall back to the
+     *  minimal setup when there is really no input manager.
+     */
+    private static class HeadlessGuiGlobals extends GuiGlobals {
+        public HeadlessGuiGlobals( Application app ) {
+            super(app);
+        }
+
+        @Override
+        protected boolean isHeadless( Application app ) {
+            return app.getInputManager() == null;
+        }
+    }
+}
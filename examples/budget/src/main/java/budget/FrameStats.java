@@ -0,0 +1,156 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package budget;
+
+import java.util.*;
+
+import com.jme3.material.MatParam;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.Spatial.CullHint;
+import com.jme3.texture.Texture;
+
+
+/**
+ *  Counts what a set of viewports would draw in a single frame.
+ *  The null renderer draws nothing so the counts are taken from
+ *  the scene graph directly.  Subtrees that are always culled are
+ *  skipped but no frustum culling is done so the geometry count is
+ *  an upper bound on the real draw calls.  GUI screens are generally
+ *  completely on screen anyway.
+ */
+public class FrameStats {
+
+    private final Set<Material> materials = Collections.newSetFromMap(new IdentityHashMap<Material, Boolean>());
+    private final Set<Texture> textures = Collections.newSetFromMap(new IdentityHashMap<Texture, Boolean>());
+
+    private int geometries;
+    private long vertices;
+    private long triangles;
+
+    public FrameStats() {
+    }
+
+    public void clear() {
+        materials.clear();
+        textures.clear();
+        geometries = 0;
+        vertices = 0;
+        triangles = 0;
+    }
+
+    public void addViewPorts( Collection<ViewPort> viewPorts ) {
+        for( ViewPort vp : viewPorts ) {
+            if( !vp.isEnabled() ) {
+                continue;
+            }
+            for( Spatial scene : vp.getScenes() ) {
+                addSpatial(scene);
+            }
+        }
+    }
+
+    public void addSpatial( Spatial s ) {
+        if( s.getCullHint() == CullHint.Always ) {
+            return;
+        }
+        if( s instanceof Node ) {
+            for( Spatial child : ((Node)s).getChildren() ) {
+                addSpatial(child);
+            }
+        } else if( s instanceof Geometry ) {
+            addGeometry((Geometry)s);
+        }
+    }
+
+    protected void addGeometry( Geometry geom ) {
+        Mesh mesh = geom.getMesh();
+        if( mesh == null ) {
+            return;
+        }
+        geometries++;
+        vertices += mesh.getVertexCount();
+        triangles += mesh.getTriangleCount();
+
+        Material material = geom.getMaterial();
+        if( material != null && materials.add(material) ) {
+            for( MatParam param : material.getParams() ) {
+                if( param instanceof MatParamTexture ) {
+                    Texture texture = ((MatParamTexture)param).getTextureValue();
+                    if( texture != null ) {
+                        textures.add(texture);
+                    }
+                }
+            }
+        }
+    }
+
+    public int getGeometryCount() {
+        return geometries;
+    }
+
+    public int getMaterialCount() {
+        return materials.size();
+    }
+
+    public int getTextureCount() {
+        return textures.size();
+    }
+
+    public long getVertexCount() {
+        return vertices;
+    }
+
+    public long getTriangleCount() {
+        return triangles;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[geometries=" + geometries
+                + ", materials=" + materials.size()
+                + ", textures=" + textures.size()
+                + ", vertices=" + vertices
+                + ", triangles=" + triangles
+                + "]";
+    }
+}
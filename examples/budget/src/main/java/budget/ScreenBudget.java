@@ -0,0 +1,310 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package budget;
+
+import java.io.PrintStream;
+import java.util.*;
+
+import com.jme3.app.state.AppState;
+
+
+/**
+ *  The configured limits for one screen along with the values
+ *  measured while the screen was running.  Counts keep the worst
+ *  frame and allocation and app state times are averaged over the
+ *  measured frames.
+ */
+public class ScreenBudget {
+
+    public static final String GEOMETRIES = "maxGeometries";
+    public static final String MATERIALS = "maxMaterials";
+    public static final String TEXTURES = "maxTextures";
+    public static final String VERTICES = "maxVertices";
+    public static final String TRIANGLES = "maxTriangles";
+    public static final String ALLOCATED_BYTES = "maxAllocatedBytes";
+    public static final String STATE_MICROS = "maxStateMicros";
+
+    private static final String[] LIMITS = {
+        GEOMETRIES, MATERIALS, TEXTURES, VERTICES, TRIANGLES, ALLOCATED_BYTES, STATE_MICROS
+    };
+
+    /**
+     *  Recorded allocation and app state time limits are the measured
+     *  values times these margins.  Counts are deterministic with the
+     *  null renderer so they are recorded exactly.
+     */
+    public static final double ALLOCATION_MARGIN = 1.5;
+    public static final double TIME_MARGIN = 2.0;
+
+    private final String name;
+    private final String factoryName;
+    private final ScreenFactory factory;
+    private final int warmupFrames;
+    private final int frames;
+    private final Map<String, Long> limits = new HashMap<>();
+
+    private int measured;
+    private final Map<String, Long> worst = new HashMap<>();
+    private long totalAllocated;
+    private boolean allocationSupported = true;
+    private final Map<String, Long> stateNanos = new LinkedHashMap<>();
+
+    public ScreenBudget( String name, ScreenFactory factory, int warmupFrames, int frames ) {
+        this(name, null, factory, warmupFrames, frames);
+    }
+
+    protected ScreenBudget( String name, String factoryName, ScreenFactory factory,
+                            int warmupFrames, int frames ) {
+        this.name = name;
+        this.factoryName = factoryName;
+        this.factory = factory;
+        this.warmupFrames = warmupFrames;
+        this.frames = frames;
+    }
+
+    /**
+     *  Creates the budget for the named screen from properties of
+     *  the form &lt;name&gt;.&lt;setting&gt;.  See budgets.properties.
+     */
+    public static ScreenBudget fromProperties( String name, Properties props ) {
+        String factoryName = props.getProperty(name + ".factory");
+        if( factoryName == null ) {
+            throw new IllegalArgumentException("No factory specified for screen:" + name);
+        }
+        factoryName = factoryName.trim();
+        ScreenBudget result = new ScreenBudget(name, factoryName, createFactory(factoryName),
+                                               getInt(props, name + ".warmupFrames", 30),
+                                               getInt(props, name + ".frames", 120));
+        for( String limit : LIMITS ) {
+            String value = props.getProperty(name + "." + limit);
+            if( value != null ) {
+                result.setLimit(limit, Long.parseLong(value.trim()));
+            }
+        }
+        return result;
+    }
+
+    protected static ScreenFactory createFactory( String className ) {
+        Class<?> type;
+        try {
+            type = Class.forName(className);
+        } catch( ClassNotFoundException e ) {
+            throw new IllegalArgumentException("Screen factory not found:" + className, e);
+        }
+        if( AppState.class.isAssignableFrom(type) ) {
+            return new AppStateScreenFactory(type.asSubclass(AppState.class));
+        }
+        try {
+            return type.asSubclass(ScreenFactory.class).newInstance();
+        } catch( ClassCastException | InstantiationException | IllegalAccessException e ) {
+            throw new IllegalArgumentException("Not a ScreenFactory or AppState:" + className, e);
+        }
+    }
+
+    private static int getInt( Properties props, String key, int defaultValue ) {
+        String value = props.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ScreenFactory getFactory() {
+        return factory;
+    }
+
+    public int getWarmupFrames() {
+        return warmupFrames;
+    }
+
+    public int getFrames() {
+        return frames;
+    }
+
+    public void setLimit( String limit, long value ) {
+        limits.put(limit, value);
+    }
+
+    public Long getLimit( String limit ) {
+        return limits.get(limit);
+    }
+
+    /**
+     *  Adds the stats of one measured frame.  A negative allocation
+     *  means that the JVM can't measure thread allocations.
+     */
+    public void addFrame( FrameStats stats, long allocatedBytes ) {
+        measured++;
+        max(GEOMETRIES, stats.getGeometryCount());
+        max(MATERIALS, stats.getMaterialCount());
+        max(TEXTURES, stats.getTextureCount());
+        max(VERTICES, stats.getVertexCount());
+        max(TRIANGLES, stats.getTriangleCount());
+        if( allocatedBytes < 0 ) {
+            allocationSupported = false;
+        } else {
+            totalAllocated += allocatedBytes;
+        }
+    }
+
+    /**
+     *  Adds the per-state update() times accumulated over the
+     *  measured frames.
+     */
+    public void addStateTimes( Map<AppState, Long> times ) {
+        for( Map.Entry<AppState, Long> e : times.entrySet() ) {
+            String key = e.getKey().getClass().getName();
+            Long existing = stateNanos.get(key);
+            stateNanos.put(key, existing == null ? e.getValue() : existing + e.getValue());
+        }
+    }
+
+    private void max( String key, long value ) {
+        Long existing = worst.get(key);
+        if( existing == null || value > existing ) {
+            worst.put(key, value);
+        }
+    }
+
+    public int getMeasuredFrames() {
+        return measured;
+    }
+
+    public long getWorst( String key ) {
+        Long result = worst.get(key);
+        return result == null ? 0 : result;
+    }
+
+    public long getAverageAllocatedBytes() {
+        return measured == 0 ? 0 : totalAllocated / measured;
+    }
+
+    public Map<String, Long> getAverageStateMicros() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for( Map.Entry<String, Long> e : stateNanos.entrySet() ) {
+            result.put(e.getKey(), measured == 0 ? 0 : e.getValue() / measured / 1000);
+        }
+        return result;
+    }
+
+    /**
+     *  Returns a description of every limit that the measured values
+     *  exceeded or an empty list if the screen is within budget.
+     */
+    public List<String> check() {
+        List<String> result = new ArrayList<>();
+        for( String limit : new String[] { GEOMETRIES, MATERIALS, TEXTURES, VERTICES, TRIANGLES } ) {
+            check(limit, getWorst(limit), result);
+        }
+        if( allocationSupported ) {
+            check(ALLOCATED_BYTES, getAverageAllocatedBytes(), result);
+        }
+        Long maxMicros = limits.get(STATE_MICROS);
+        if( maxMicros != null ) {
+            for( Map.Entry<String, Long> e : getAverageStateMicros().entrySet() ) {
+                if( e.getValue() > maxMicros ) {
+                    result.add(name + ": " + e.getKey() + " update took " + e.getValue()
+                               + " us per frame, budget is " + maxMicros + " us");
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Writes this screen's settings in budgets.properties form with
+     *  the limits replaced by the measured values plus their margins.
+     */
+    public void record( PrintStream out ) {
+        out.println(name + ".factory=" + (factoryName != null ? factoryName : factory.getClass().getName()));
+        out.println(name + ".warmupFrames=" + warmupFrames);
+        out.println(name + ".frames=" + frames);
+        for( String limit : new String[] { GEOMETRIES, MATERIALS, TEXTURES, VERTICES, TRIANGLES } ) {
+            out.println(name + "." + limit + "=" + getWorst(limit));
+        }
+        if( allocationSupported ) {
+            out.println(name + "." + ALLOCATED_BYTES + "="
+                        + (long)Math.ceil(getAverageAllocatedBytes() * ALLOCATION_MARGIN));
+        }
+        long maxMicros = 0;
+        for( Long micros : getAverageStateMicros().values() ) {
+            maxMicros = Math.max(maxMicros, micros);
+        }
+        // Very small times are mostly noise so give them at least a millisecond
+        out.println(name + "." + STATE_MICROS + "=" + Math.max(1000, (long)Math.ceil(maxMicros * TIME_MARGIN)));
+    }
+
+    private void check( String limit, long value, List<String> results ) {
+        Long max = limits.get(limit);
+        if( max != null && value > max ) {
+            results.add(name + ": " + limit + " exceeded, measured " + value + " > " + max);
+        }
+    }
+
+    public void report( PrintStream out ) {
+        out.println("Screen:" + name + "  (" + factory + ")");
+        out.println("  frames measured:" + measured + "  warmup:" + warmupFrames);
+        out.println("  geometries: " + format(GEOMETRIES, getWorst(GEOMETRIES)));
+        out.println("  materials:  " + format(MATERIALS, getWorst(MATERIALS)));
+        out.println("  textures:   " + format(TEXTURES, getWorst(TEXTURES)));
+        out.println("  vertices:   " + format(VERTICES, getWorst(VERTICES)));
+        out.println("  triangles:  " + format(TRIANGLES, getWorst(TRIANGLES)));
+        if( allocationSupported ) {
+            out.println("  allocated bytes/frame: " + format(ALLOCATED_BYTES, getAverageAllocatedBytes()));
+        } else {
+            out.println("  allocated bytes/frame: not supported by this JVM");
+        }
+        out.println("  app state update, us/frame:");
+        for( Map.Entry<String, Long> e : getAverageStateMicros().entrySet() ) {
+            out.println("    " + e.getKey() + ": " + format(STATE_MICROS, e.getValue()));
+        }
+    }
+
+    private String format( String limit, long value ) {
+        Long max = limits.get(limit);
+        if( max == null ) {
+            return String.valueOf(value);
+        }
+        return value + " / " + max + (value > max ? "  OVER BUDGET" : "");
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + ", " + factory + "]";
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package budget;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.AbstractAppState;
+import com.jme3.app.state.AppState;
+import com.jme3.app.state.AppStateManager;
+
+
+/**
+ *  An AppStateManager that records the CPU time that each attached
+ *  app state spends in update().  AppStateManager keeps its state list
+ *  private so a small marker state is attached in front of every real
+ *  state.  The time between one marker and the next is charged to the
+ *  state that follows the first marker.  Thread CPU time is used when
+ *  the JVM supports it and wall time otherwise.
+ */
+public class TimingAppStateManager extends AppStateManager {
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final boolean cpuTime;
+
+    private final Map<AppState, Marker> markers = new IdentityHashMap<>();
+    private final Map<AppState, long[]> times = new LinkedHashMap<>();
+
+    private AppState current;
+    private long last;
+
+    public TimingAppStateManager( Application app ) {
+        super(app);
+        this.cpuTime = threads.isCurrentThreadCpuTimeSupported();
+        if( cpuTime && !threads.isThreadCpuTimeEnabled() ) {
+            threads.setThreadCpuTimeEnabled(true);
+        }
+    }
+
+    public boolean isCpuTime() {
+        return cpuTime;
+    }
+
+    @Override
+    public boolean attach( AppState state ) {
+        if( state instanceof Marker || markers.containsKey(state) ) {
+            return super.attach(state);
+        }
+        Marker marker = new Marker(state);
+        if( !super.attach(marker) ) {
+            return false;
+        }
+        markers.put(state, marker);
+        return super.attach(state);
+    }
+
+    @Override
+    public void attachAll( AppState... states ) {
+        for( AppState state : states ) {
+            attach(state);
+        }
+    }
+
+    @Override
+    public void attachAll( Iterable<AppState> states ) {
+        for( AppState state : states ) {
+            attach(state);
+        }
+    }
+
+    @Override
+    public boolean detach( AppState state ) {
+        Marker marker = markers.remove(state);
+        if( marker != null ) {
+            super.detach(marker);
+        }
+        return super.detach(state);
+    }
+
+    @Override
+    public void update( float tpf ) {
+        current = null;
+        super.update(tpf);
+        // Charge whatever ran after the last marker to the last state
+        mark(null);
+    }
+
+    /**
+     *  Returns the accumulated update() nanos per state since the last
+     *  call to resetTimes().  States that were detached in the mean time
+     *  are still included.
+     */
+    public Map<AppState, Long> getTimes() {
+        Map<AppState, Long> result = new LinkedHashMap<>();
+        for( Map.Entry<AppState, long[]> e : times.entrySet() ) {
+            result.put(e.getKey(), e.getValue()[0]);
+        }
+        return result;
+    }
+
+    public void resetTimes() {
+        times.clear();
+    }
+
+    protected long now() {
+        return cpuTime ? threads.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    protected void mark( AppState next ) {
+        long time = now();
+        if( current != null ) {
+            long[] total = times.get(current);
+            if( total == null ) {
+                total = new long[1];
+                times.put(current, total);
+            }
+            total[0] += time - last;
+        }
+        current = next;
+        last = time;
+    }
+
+    private class Marker extends AbstractAppState {
+        private final AppState state;
+
+        public Marker( AppState state ) {
+            this.state = state;
+        }
+
+        @Override
+        public void update( float tpf ) {
+            // Only time states that the manager will actually update
+            mark(state.isInitialized() && state.isEnabled() ? state : null);
+        }
+
+        @Override
+        public String toString() {
+            return "Marker[" + state + "]";
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package demo;
+
+import com.jme3.app.Application;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.AppState;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.system.AppSettings;
+import com.jme3.system.JmeContext;
+
+import com.simsilica.lemur.Container;
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.Label;
+import com.simsilica.lemur.core.GuiUpdateState;
+
+
+/**
+ *  A headless benchmark that compares the frame cost of a GUI with
+ *  about 10,000 GuiControls with and without the GuiUpdateState.
+ *  A few labels change their text every frame so that there is always
+ *  some layout work to do.  The changes are made from an app state that
+ *  runs before the GuiUpdateState, the way application states usually
+ *  change the GUI, so that they are laid out in the same frame in both
+ *  modes.  Results are printed to stdout and the
+ *  application exits when it is done.
+ */
+public class GuiUpdateBenchmark extends SimpleApplication {
+
+    private static final int CONTAINERS = 100;
+    private static final int LABELS_PER_CONTAINER = 99;
+    private static final int CHANGES_PER_FRAME = 10;
+    private static final int WARMUP_FRAMES = 200;
+    private static final int MEASURED_FRAMES = 1000;
+
+    private GuiUpdateState updateState;
+    private Label[] labels;
+
+    private int phase;
+    private int frame;
+    private long total;
+    private long best = Long.MAX_VALUE;
+    private long worst;
+
+    public static void main( String... args ) {
+        GuiUpdateBenchmark main = new GuiUpdateBenchmark();
+        AppSettings settings = new AppSettings(true);
+        settings.setFrameRate(-1);
+        main.setSettings(settings);
+        main.setShowSettings(false);
+        main.start(JmeContext.Type.Headless);
+    }
+
+    public GuiUpdateBenchmark() {
+        super((AppState[])null);
+    }
+
+    @Override
+    public void simpleInitApp() {
+        GuiGlobals.initialize(this);
+
+        // Must be attached before the update state
+        stateManager.attach(new LabelChanger());
+
+        updateState = new GuiUpdateState();
+        updateState.setEnabled(false);
+        stateManager.attach(updateState);
+
+        labels = new Label[CONTAINERS * LABELS_PER_CONTAINER];
+        int count = 0;
+        for( int i = 0; i < CONTAINERS; i++ ) {
+            Container c = new Container();
+            c.setLocalTranslation(i * 10, 700, 0);
+            for( int j = 0; j < LABELS_PER_CONTAINER; j++ ) {
+                labels[count++] = c.addChild(new Label("Label " + j));
+            }
+            guiNode.attachChild(c);
+        }
+        System.out.println("GuiControls:" + (count + CONTAINERS));
+    }
+
+    @Override
+    public void update() {
+        long start = System.nanoTime();
+        super.update();
+        long time = System.nanoTime() - start;
+
+        if( updateState == null ) {
+            // Not initialized yet
+            return;
+        }
+
+        frame++;
+        if( frame <= WARMUP_FRAMES ) {
+            return;
+        }
+        total += time;
+        best = Math.min(best, time);
+        worst = Math.max(worst, time);
+        if( frame < WARMUP_FRAMES + MEASURED_FRAMES ) {
+            return;
+        }
+
+        System.out.println((updateState.isEnabled() ? "GuiUpdateState" : "controlUpdate")
+                            + " avg:" + (total / MEASURED_FRAMES / 1000.0) + " us"
+                            + " best:" + (best / 1000.0) + " us"
+                            + " worst:" + (worst / 1000.0) + " us");
+        phase++;
+        if( phase >= 4 ) {
+            stop();
+            return;
+        }
+
+        // Alternate between the two modes so that JIT warmup
+        // doesn't favor one of them.
+        updateState.setEnabled(!updateState.isEnabled());
+        frame = 0;
+        total = 0;
+        best = Long.MAX_VALUE;
+        worst = 0;
+    }
+
+    private class LabelChanger extends BaseAppState {
+
+        @Override
+        protected void initialize( Application app ) {
+        }
+
+        @Override
+        protected void cleanup( Application app ) {
+        }
+
+        @Override
+        protected void onEnable() {
+        }
+
+        @Override
+        public void update( float tpf ) {
+            if( labels == null ) {
+                return;
+            }
+            for( int i = 0; i < CHANGES_PER_FRAME; i++ ) {
+                Label label = labels[(int)(Math.random() * labels.length)];
+                label.setText("Label " + timer.getTimeInSeconds());
+            }
+        }
+
+        @Override
+        protected void onDisable() {
+        }
+    }
+}
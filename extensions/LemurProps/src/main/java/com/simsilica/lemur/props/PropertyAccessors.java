@@ -0,0 +1,330 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.props;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.simsilica.lemur.core.MethodInvokers;
+
+
+/**
+ *  Shared per-class cache of bean property descriptors and the
+ *  compiled MethodHandle accessors used to read and write them.
+ *  Bean info for a class is introspected only once and each property
+ *  or field accessor is created only once no matter how many
+ *  PropertyPanels bind it.
+ *
+ *  <p>Accessors have primitive-specialized getDouble()/setDouble() and
+ *  getBoolean()/setBoolean() paths for numeric and boolean types so that
+ *  panels can refresh their values every frame without boxing.</p>
+ */
+public class PropertyAccessors {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    private static final MethodType OBJECT_GETTER = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType OBJECT_SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodType DOUBLE_GETTER = MethodType.methodType(double.class, Object.class);
+    private static final MethodType DOUBLE_SETTER = MethodType.methodType(void.class, Object.class, double.class);
+    private static final MethodType BOOLEAN_GETTER = MethodType.methodType(boolean.class, Object.class);
+    private static final MethodType BOOLEAN_SETTER = MethodType.methodType(void.class, Object.class, boolean.class);
+
+    private static final ConcurrentMap<Class, Map<String, PropertyDescriptor>> descriptors = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, Accessor> properties = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Field, Accessor> fields = new ConcurrentHashMap<>();
+
+    /**
+     *  Returns the property descriptor for the specified property of
+     *  the specified type or null if the type has no such property.
+     */
+    public static PropertyDescriptor getPropertyDescriptor( Class type, String name ) {
+        return getDescriptors(type).get(name);
+    }
+
+    protected static Map<String, PropertyDescriptor> getDescriptors( Class type ) {
+        Map<String, PropertyDescriptor> result = descriptors.get(type);
+        if( result != null ) {
+            return result;
+        }
+        try {
+            BeanInfo info = Introspector.getBeanInfo(type);
+            result = new HashMap<>();
+            for( PropertyDescriptor pd : info.getPropertyDescriptors() ) {
+                result.put(pd.getName(), pd);
+            }
+            result = Collections.unmodifiableMap(result);
+        } catch( IntrospectionException e ) {
+            throw new RuntimeException("Error introspecting object", e);
+        }
+        Map<String, PropertyDescriptor> existing = descriptors.putIfAbsent(type, result);
+        return existing != null ? existing : result;
+    }
+
+    /**
+     *  Returns the cached accessor for the specified read/write bean property.
+     */
+    public static Accessor getAccessor( PropertyDescriptor pd ) {
+        Method read = pd.getReadMethod();
+        Method write = pd.getWriteMethod();
+        if( read == null ) {
+            throw new IllegalArgumentException("Property has no read method:" + pd.getName());
+        }
+        if( write == null ) {
+            throw new IllegalArgumentException("Property has no write method:" + pd.getName());
+        }
+        Accessor result = properties.get(read);
+        if( result != null ) {
+            return result;
+        }
+        result = new Accessor(pd.getName(), pd.getPropertyType(),
+                              MethodInvokers.getHandle(read),
+                              MethodInvokers.getHandle(write));
+        Accessor existing = properties.putIfAbsent(read, result);
+        return existing != null ? existing : result;
+    }
+
+    /**
+     *  Returns the cached accessor for the specified field.  Final fields
+     *  are allowed but the accessor will throw an exception when set.
+     *  Static fields are allowed and ignore the bean passed to the accessor.
+     */
+    public static Accessor getAccessor( Field field ) {
+        Accessor result = fields.get(field);
+        if( result != null ) {
+            return result;
+        }
+        try {
+            if( !field.isAccessible() ) {
+                field.setAccessible(true);
+            }
+            MethodHandle getter = lookup.unreflectGetter(field);
+            MethodHandle setter = null;
+            if( !Modifier.isFinal(field.getModifiers()) ) {
+                setter = lookup.unreflectSetter(field);
+            }
+            if( Modifier.isStatic(field.getModifiers()) ) {
+                // Static field handles take no instance so add a leading
+                // bean parameter that is simply ignored
+                getter = MethodHandles.dropArguments(getter, 0, Object.class);
+                if( setter != null ) {
+                    setter = MethodHandles.dropArguments(setter, 0, Object.class);
+                }
+            }
+            result = new Accessor(field.getName(), field.getType(), getter, setter);
+        } catch( IllegalAccessException e ) {
+            throw new RuntimeException("Cannot access field:" + field, e);
+        }
+        Accessor existing = fields.putIfAbsent(field, result);
+        return existing != null ? existing : result;
+    }
+
+    /**
+     *  Converts the specified double value to the specified numeric
+     *  type, boxed if the type is primitive.
+     */
+    public static Object toNumber( Class type, double value ) {
+        if( type == Double.class || type == double.class ) {
+            return value;
+        } else if( type == Float.class || type == float.class ) {
+            return (float)value;
+        } else if( type == Long.class || type == long.class ) {
+            return (long)value;
+        } else if( type == Integer.class || type == int.class ) {
+            return (int)value;
+        } else if( type == Short.class || type == short.class ) {
+            return (short)value;
+        } else if( type == Byte.class || type == byte.class ) {
+            return (byte)value;
+        }
+        throw new IllegalArgumentException("Not a numeric type:" + type);
+    }
+
+    private static boolean isNumber( Class type ) {
+        return type == double.class || type == float.class || type == long.class
+            || type == int.class || type == short.class || type == byte.class;
+    }
+
+    private static RuntimeException rethrow( String message, Throwable t ) {
+        if( t instanceof RuntimeException ) {
+            return (RuntimeException)t;
+        }
+        if( t instanceof Error ) {
+            throw (Error)t;
+        }
+        return new RuntimeException(message, t);
+    }
+
+    /**
+     *  Reads and writes a single property or field of a bean through
+     *  MethodHandles.  The generic get()/set() box primitive values but
+     *  getDouble()/setDouble() and getBoolean()/setBoolean() call
+     *  primitive properties directly.
+     */
+    public static final class Accessor {
+        private final String name;
+        private final Class type;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle doubleGetter;
+        private final MethodHandle doubleSetter;
+        private final MethodHandle booleanGetter;
+        private final MethodHandle booleanSetter;
+
+        Accessor( String name, Class type, MethodHandle getter, MethodHandle setter ) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter.asType(OBJECT_GETTER);
+            this.setter = setter == null ? null : setter.asType(OBJECT_SETTER);
+            if( isNumber(type) ) {
+                // Explicit casts let us widen or narrow between the
+                // property's own primitive type and double.
+                this.doubleGetter = MethodHandles.explicitCastArguments(getter, DOUBLE_GETTER);
+                this.doubleSetter = setter == null ? null : MethodHandles.explicitCastArguments(setter, DOUBLE_SETTER);
+            } else {
+                this.doubleGetter = null;
+                this.doubleSetter = null;
+            }
+            if( type == boolean.class ) {
+                this.booleanGetter = getter.asType(BOOLEAN_GETTER);
+                this.booleanSetter = setter == null ? null : setter.asType(BOOLEAN_SETTER);
+            } else {
+                this.booleanGetter = null;
+                this.booleanSetter = null;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class getType() {
+            return type;
+        }
+
+        public boolean isReadOnly() {
+            return setter == null;
+        }
+
+        public Object get( Object bean ) {
+            try {
+                return (Object)getter.invokeExact(bean);
+            } catch( Throwable t ) {
+                throw rethrow("Error getting value", t);
+            }
+        }
+
+        public void set( Object bean, Object value ) {
+            checkWritable();
+            try {
+                setter.invokeExact(bean, value);
+            } catch( Throwable t ) {
+                throw rethrow("Error setting value", t);
+            }
+        }
+
+        public double getDouble( Object bean ) {
+            if( doubleGetter == null ) {
+                return ((Number)get(bean)).doubleValue();
+            }
+            try {
+                return (double)doubleGetter.invokeExact(bean);
+            } catch( Throwable t ) {
+                throw rethrow("Error getting value", t);
+            }
+        }
+
+        public void setDouble( Object bean, double value ) {
+            if( doubleSetter == null ) {
+                set(bean, toNumber(type, value));
+                return;
+            }
+            try {
+                doubleSetter.invokeExact(bean, value);
+            } catch( Throwable t ) {
+                throw rethrow("Error setting value", t);
+            }
+        }
+
+        public boolean getBoolean( Object bean ) {
+            if( booleanGetter == null ) {
+                return (Boolean)get(bean);
+            }
+            try {
+                return (boolean)booleanGetter.invokeExact(bean);
+            } catch( Throwable t ) {
+                throw rethrow("Error getting value", t);
+            }
+        }
+
+        public void setBoolean( Object bean, boolean value ) {
+            if( booleanSetter == null ) {
+                set(bean, value);
+                return;
+            }
+            try {
+                booleanSetter.invokeExact(bean, value);
+            } catch( Throwable t ) {
+                throw rethrow("Error setting value", t);
+            }
+        }
+
+        private void checkWritable() {
+            if( setter == null ) {
+                throw new UnsupportedOperationException("Value is read-only:" + name);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[" + name + ", type=" + type + "]";
+        }
+    }
+}
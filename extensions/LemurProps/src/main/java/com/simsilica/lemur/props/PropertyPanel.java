@@ -54,12 +54,10 @@ import com.simsilica.lemur.core.VersionedObject;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -88,6 +86,14 @@ public class PropertyPanel extends Panel
     private PropertyDescriptor enabledProperty;
     
     private long version;
+    private final boolean customAccess = overridesAccessHooks(getClass());
+ 
+    private boolean autoRefresh;
+    private int refreshBatchSize;
+    private long refreshBudgetNanos;
+    private int refreshIndex;
+    private int lastRefreshCount;
+    private int lastChangedCount;
     
     public PropertyPanel( String style ) {
         this(true, ELEMENT_ID, style);
@@ -134,6 +140,95 @@ public class PropertyPanel extends Panel
         }
     }
 
+    /**
+     *  Set to true to have the panel poll its bound properties for
+     *  changes every frame, updating only the editors whose source
+     *  values have actually changed.  The amount of work done per frame
+     *  can be limited with setRefreshBatchSize() and setRefreshBudget().
+     *  Defaults to false, ie: refresh() must be called manually.
+     */
+    public void setAutoRefresh( boolean autoRefresh ) {
+        this.autoRefresh = autoRefresh;
+    }
+
+    public boolean isAutoRefresh() {
+        return autoRefresh;
+    }
+
+    /**
+     *  Sets the maximum number of properties that auto-refresh will
+     *  check per frame.  Properties are checked round-robin so that
+     *  all of them will eventually be checked.  0, the default, checks
+     *  all properties every frame.
+     */
+    public void setRefreshBatchSize( int refreshBatchSize ) {
+        this.refreshBatchSize = Math.max(0, refreshBatchSize);
+    }
+
+    public int getRefreshBatchSize() {
+        return refreshBatchSize;
+    }
+
+    /**
+     *  Sets the maximum time in microseconds that auto-refresh may spend
+     *  checking properties in a single frame.  At least one property is
+     *  always checked per frame.  0, the default, means no time limit.
+     */
+    public void setRefreshBudget( long micros ) {
+        this.refreshBudgetNanos = Math.max(0, micros) * 1000;
+    }
+
+    public long getRefreshBudget() {
+        return refreshBudgetNanos / 1000;
+    }
+
+    /**
+     *  Returns the number of properties that were checked by auto-refresh
+     *  during the last frame.
+     */
+    public int getLastRefreshCount() {
+        return lastRefreshCount;
+    }
+
+    /**
+     *  Returns the number of properties whose editors were actually updated
+     *  by auto-refresh during the last frame.
+     */
+    public int getLastChangedCount() {
+        return lastChangedCount;
+    }
+
+    /**
+     *  Checks the next batch of properties for source changes,
+     *  stopping early if the time budget has been exceeded.
+     */
+    protected void autoRefresh() {
+        AbstractProperty[] array = getArray();
+        lastRefreshCount = 0;
+        lastChangedCount = 0;
+        if( array.length == 0 ) {
+            return;
+        }
+        int max = refreshBatchSize > 0 ? Math.min(refreshBatchSize, array.length) : array.length;
+        long end = refreshBudgetNanos > 0 ? System.nanoTime() + refreshBudgetNanos : 0;
+        if( refreshIndex >= array.length ) {
+            refreshIndex = 0;
+        }
+        for( int i = 0; i < max; i++ ) {
+            if( array[refreshIndex].refreshIfChanged() ) {
+                lastChangedCount++;
+            }
+            lastRefreshCount++;
+            refreshIndex++;
+            if( refreshIndex >= array.length ) {
+                refreshIndex = 0;
+            }
+            if( end != 0 && System.nanoTime() >= end ) {
+                break;
+            }
+        }
+    }
+
     /**
      *  Returns the raw container within which the property
      *  editors are added.
@@ -143,25 +238,18 @@ public class PropertyPanel extends Panel
     } 
     
     protected PropertyDescriptor findProperty( Object bean, String propertyName ) {
-        try {
-            BeanInfo info = Introspector.getBeanInfo(bean.getClass());
- 
-            for( PropertyDescriptor pd : info.getPropertyDescriptors() ) {
-                if( pd.getName().equals(propertyName) ) {
-                    if( pd.getReadMethod() == null ) {
-                        throw new RuntimeException("Property has no read method:" + propertyName + " on:" + bean.getClass());
-                    }
-                    if( pd.getWriteMethod() == null ) {
-                        throw new RuntimeException("Property has no write method:" + propertyName + " on:" + bean.getClass());
-                    }
-                    return pd;
-                }
-            }
+        // Bean info is introspected once per class and cached
+        PropertyDescriptor pd = PropertyAccessors.getPropertyDescriptor(bean.getClass(), propertyName);
+        if( pd == null ) {
             throw new RuntimeException("No suche property:" + propertyName + " on:" + bean.getClass());
-        } catch( IntrospectionException e ) {
-            throw new RuntimeException("Error introspecting object", e);
         }
-        //return null;        
+        if( pd.getReadMethod() == null ) {
+            throw new RuntimeException("Property has no read method:" + propertyName + " on:" + bean.getClass());
+        }
+        if( pd.getWriteMethod() == null ) {
+            throw new RuntimeException("Property has no write method:" + propertyName + " on:" + bean.getClass());
+        }
+        return pd;
     }
     
     protected Field findField( Object bean, String fieldName ) {
@@ -184,9 +272,16 @@ public class PropertyPanel extends Panel
         if( enabledCheckbox == null ) {
             // Perform setup
             enabledCheckbox = new Checkbox("", enabledModel, getElementId().child("enabled.checkbox"), getStyle());            
-            enabledModel.setChecked((Boolean)getPropertyValue(enabledProperty, enabledBean));                         
-        } else {
+            if( customAccess ) {
+                enabledModel.setChecked(this.<Boolean>getPropertyValue(enabledProperty, enabledBean));
+            } else {
+                enabledModel.setChecked(PropertyAccessors.getAccessor(enabledProperty).getBoolean(enabledBean));
+            }
+        } else if( customAccess ) {
             setPropertyValue(enabledProperty, enabledBean, enabledModel.isChecked());
+        } else {
+            PropertyAccessors.getAccessor(enabledProperty).setBoolean(enabledBean, enabledModel.isChecked());
+            version++;
         }
     }
  
@@ -280,6 +375,34 @@ public class PropertyPanel extends Panel
         for( AbstractProperty p : getArray() ) {
             p.update();
         }
+        if( autoRefresh ) {
+            autoRefresh();
+        }
+    }
+
+    /**
+     *  Returns true if this panel's class overrides any of the
+     *  get/setPropertyValue() or get/setFieldValue() hooks.  When it
+     *  does, all property access goes through the hooks instead of
+     *  the cached accessors.
+     */
+    protected boolean hasCustomAccess() {
+        return customAccess;
+    }
+
+    private static boolean overridesAccessHooks( Class type ) {
+        for( Class c = type; c != PropertyPanel.class && c != null; c = c.getSuperclass() ) {
+            for( Method m : c.getDeclaredMethods() ) {
+                switch( m.getName() ) {
+                    case "getPropertyValue":
+                    case "setPropertyValue":
+                    case "getFieldValue":
+                    case "setFieldValue":
+                        return true;
+                }
+            }
+        }
+        return false;
     }
 
     protected <T> T getPropertyValue( PropertyDescriptor pd, Object bean ) {
@@ -360,11 +483,30 @@ public class PropertyPanel extends Panel
         public void setValue( T value );
         public T getValue();
         public Class getType();
+ 
+        public default double getDouble() {
+            return ((Number)getValue()).doubleValue();
+        }
+        
+        @SuppressWarnings("unchecked")
+        public default void setDouble( double value ) {
+            setValue((T)PropertyAccessors.toNumber(getType(), value));
+        }
+        
+        public default boolean getBoolean() {
+            return (Boolean)getValue();
+        }
+        
+        @SuppressWarnings("unchecked")
+        public default void setBoolean( boolean value ) {
+            setValue((T)Boolean.valueOf(value));
+        }
     }
  
     protected class PropertyAccess<T> implements Access<T> {
         private Object bean;
         private PropertyDescriptor pd;
+        private PropertyAccessors.Accessor accessor;
         
         public PropertyAccess( Object bean, String propertyName ) {
             this.bean = bean;
@@ -372,16 +514,62 @@ public class PropertyPanel extends Panel
             if( this.pd == null ) {
                 throw new IllegalArgumentException("Property not found:" + propertyName + " on:" + bean);
             }
+            this.accessor = PropertyAccessors.getAccessor(pd);
         }
-                    
+
         @Override
         public void setValue( T value ) {
-            setPropertyValue(pd, bean, value);
+            if( customAccess ) {
+                setPropertyValue(pd, bean, value);
+                return;
+            }
+            accessor.set(bean, value);
+            version++;
         }
         
         @Override
+        @SuppressWarnings("unchecked")
         public T getValue() {
-            return getPropertyValue(pd, bean);
+            if( customAccess ) {
+                return getPropertyValue(pd, bean);
+            }
+            return (T)accessor.get(bean);
+        }
+ 
+        @Override
+        public double getDouble() {
+            if( customAccess ) {
+                return Access.super.getDouble();
+            }
+            return accessor.getDouble(bean);
+        }
+        
+        @Override
+        public void setDouble( double value ) {
+            if( customAccess ) {
+                Access.super.setDouble(value);
+                return;
+            }
+            accessor.setDouble(bean, value);
+            version++;
+        }
+        
+        @Override
+        public boolean getBoolean() {
+            if( customAccess ) {
+                return Access.super.getBoolean();
+            }
+            return accessor.getBoolean(bean);
+        }
+        
+        @Override
+        public void setBoolean( boolean value ) {
+            if( customAccess ) {
+                Access.super.setBoolean(value);
+                return;
+            }
+            accessor.setBoolean(bean, value);
+            version++;
         }
 
         @Override        
@@ -393,6 +581,7 @@ public class PropertyPanel extends Panel
     protected class FieldAccess<T> implements Access<T> {
         private Object bean;
         private Field fd;
+        private PropertyAccessors.Accessor accessor;
         
         public FieldAccess( Object bean, String fieldName ) {
             this.bean = bean;
@@ -400,16 +589,62 @@ public class PropertyPanel extends Panel
             if( this.fd == null ) {
                 throw new IllegalArgumentException("Field not found:" + fieldName + " on:" + bean);
             }
+            this.accessor = PropertyAccessors.getAccessor(fd);
         }
 
         @Override
         public void setValue( T value ) {
-            setFieldValue(fd, bean, value);
+            if( customAccess ) {
+                setFieldValue(fd, bean, value);
+                return;
+            }
+            accessor.set(bean, value);
+            version++;
         }
-
+        
         @Override
+        @SuppressWarnings("unchecked")
         public T getValue() {
-            return getFieldValue(fd, bean);
+            if( customAccess ) {
+                return getFieldValue(fd, bean);
+            }
+            return (T)accessor.get(bean);
+        }
+ 
+        @Override
+        public double getDouble() {
+            if( customAccess ) {
+                return Access.super.getDouble();
+            }
+            return accessor.getDouble(bean);
+        }
+        
+        @Override
+        public void setDouble( double value ) {
+            if( customAccess ) {
+                Access.super.setDouble(value);
+                return;
+            }
+            accessor.setDouble(bean, value);
+            version++;
+        }
+        
+        @Override
+        public boolean getBoolean() {
+            if( customAccess ) {
+                return Access.super.getBoolean();
+            }
+            return accessor.getBoolean(bean);
+        }
+        
+        @Override
+        public void setBoolean( boolean value ) {
+            if( customAccess ) {
+                Access.super.setBoolean(value);
+                return;
+            }
+            accessor.setBoolean(bean, value);
+            version++;
         }
         
         @Override        
@@ -431,6 +666,10 @@ public class PropertyPanel extends Panel
             return name;
         }
  
+        protected Access<T> getAccess() {
+            return access;
+        }
+ 
         @Override
         public void setValue( T value ) {
             access.setValue(value);
@@ -446,6 +685,16 @@ public class PropertyPanel extends Panel
         public abstract void update();
         
         public abstract void refresh(); 
+ 
+        /**
+         *  Refreshes the editor only if the source value has changed
+         *  since the editor was last refreshed or edited and returns true
+         *  if it was.  The default implementation always refreshes.
+         */
+        public boolean refreshIfChanged() {
+            refresh();
+            return true;
+        }
     }    
     
     protected class BooleanProperty extends AbstractProperty<Boolean> {
@@ -471,13 +720,25 @@ public class PropertyPanel extends Panel
         @Override
         public void update() {
             if( value.update() ) {
-                super.setValue(check.isChecked());
+                getAccess().setBoolean(check.isChecked());
             }
         }
         
         @Override
         public void refresh() {
-            check.setChecked(getValue());
+            check.setChecked(getAccess().getBoolean());
+        }
+ 
+        @Override
+        public boolean refreshIfChanged() {
+            boolean current = getAccess().getBoolean();
+            if( current == check.isChecked() ) {
+                return false;
+            }
+            check.setChecked(current);
+            // Consume the change so that it isn't written back to the source
+            value.update();
+            return true;
         }
     }
     
@@ -488,6 +749,7 @@ public class PropertyPanel extends Panel
         private RangedValueModel model;
         private float step;        
         private VersionedReference<Double> value;
+        private double lastValue;
         private String format = "%14.3f";
         
         public FloatProperty( String name, Access<Float> access, float min, float max, float step ) {
@@ -522,15 +784,33 @@ public class PropertyPanel extends Panel
         @Override
         public void update() {
             if( value.update() ) {
-                super.setValue((float)model.getValue());
+                getAccess().setDouble(model.getValue());
+                // Read back what the source actually stored (ints truncate, floats round)
+                lastValue = getAccess().getDouble();
                 updateText();
             }
         }
         
         @Override
         public void refresh() {
-            Float current = getValue();
+            lastValue = getAccess().getDouble();
+            model.setValue(lastValue);
+        }
+ 
+        @Override
+        public boolean refreshIfChanged() {
+            // Compare against the last known source value rather than
+            // the model because the model clamps to its range.
+            double current = getAccess().getDouble();
+            if( Double.compare(current, lastValue) == 0 ) {
+                return false;
+            }
+            lastValue = current;
             model.setValue(current);
+            // Consume the change so that it isn't written back to the source
+            value.update();
+            updateText();
+            return true;
         }
     }
  
@@ -541,6 +821,7 @@ public class PropertyPanel extends Panel
         private RangedValueModel model;
         private double step;        
         private VersionedReference<Double> value;
+        private double lastValue;
         private String format = "%14.3f";
         
         public DoubleProperty( String name, Access<Double> access, double min, double max, double step ) {
@@ -575,15 +856,32 @@ public class PropertyPanel extends Panel
         @Override
         public void update() {
             if( value.update() ) {
-                super.setValue((double)model.getValue());
+                getAccess().setDouble(model.getValue());
+                lastValue = getAccess().getDouble();
                 updateText();
             }
         }
         
         @Override
         public void refresh() {
-            Double current = getValue();
+            lastValue = getAccess().getDouble();
+            model.setValue(lastValue);
+        }
+ 
+        @Override
+        public boolean refreshIfChanged() {
+            // Compare against the last known source value rather than
+            // the model because the model clamps to its range.
+            double current = getAccess().getDouble();
+            if( Double.compare(current, lastValue) == 0 ) {
+                return false;
+            }
+            lastValue = current;
             model.setValue(current);
+            // Consume the change so that it isn't written back to the source
+            value.update();
+            updateText();
+            return true;
         }
     }
     
@@ -594,6 +892,7 @@ public class PropertyPanel extends Panel
         private RangedValueModel model;
         private int step;        
         private VersionedReference<Double> value;
+        private double lastValue;
         private String format = "%14d";
         
         public IntProperty( String name, Access<Integer> access, int min, int max, int step ) {
@@ -628,15 +927,32 @@ public class PropertyPanel extends Panel
         @Override
         public void update() {
             if( value.update() ) {
-                super.setValue((int)model.getValue());
+                getAccess().setDouble(model.getValue());
+                lastValue = getAccess().getDouble();
                 updateText();
             }
         }
         
         @Override
         public void refresh() {
-            Integer current = getValue();
+            lastValue = getAccess().getDouble();
+            model.setValue(lastValue);
+        }
+ 
+        @Override
+        public boolean refreshIfChanged() {
+            // Compare against the last known source value rather than
+            // the model because the model clamps to its range.
+            double current = getAccess().getDouble();
+            if( Double.compare(current, lastValue) == 0 ) {
+                return false;
+            }
+            lastValue = current;
             model.setValue(current);
+            // Consume the change so that it isn't written back to the source
+            value.update();
+            updateText();
+            return true;
         }
     }
     
@@ -693,5 +1009,18 @@ public class PropertyPanel extends Panel
             int index = current.ordinal();
             model.setValue(index);
         }
+ 
+        @Override
+        public boolean refreshIfChanged() {
+            Enum current = getValue();
+            if( current.ordinal() == (int)model.getValue() ) {
+                return false;
+            }
+            model.setValue(current.ordinal());
+            // Consume the change so that it isn't written back to the source
+            value.update();
+            updateText();
+            return true;
+        }
     }
 }
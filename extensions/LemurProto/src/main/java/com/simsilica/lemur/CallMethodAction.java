@@ -36,12 +36,16 @@
 
 package com.simsilica.lemur;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.simsilica.lemur.core.MethodInvokers;
+
 
 /**
  *
@@ -52,9 +56,13 @@ public class CallMethodAction extends Action {
 
     static Logger log = LoggerFactory.getLogger(CallMethodAction.class);
 
+    private static final MethodType EXECUTE_TYPE = MethodType.methodType(void.class, Button.class, Action.class);
+
     private String methodName;
     private Object object;
     private Method method;
+    private MethodHandle handle;
+    private MethodHandle spreadHandle;
     
     public CallMethodAction() {
     }
@@ -146,12 +154,10 @@ public class CallMethodAction extends Action {
  
             // Else it matches           
             this.method = m;
-            
-            // Make sure we can call it
-            if( !m.isAccessible() ) {
-                m.setAccessible(true);
+            this.handle = bindMethod(m);
+            if( handle == null ) {
+                this.spreadHandle = bindSpreader(m);
             }
-            
             break;
         }
         if( method == null && type != Object.class ) {
@@ -163,12 +169,52 @@ public class CallMethodAction extends Action {
         }        
     }    
     
+    /**
+     *  Binds the method to a (Button, Action) handle with the arguments
+     *  arranged however the method wants them.  Returns null if the method
+     *  takes arguments that a subclass knows how to provide but that aren't
+     *  a Button or Action, in which case execute() falls back to calling 
+     *  toParm() for each argument.
+     */
+    protected MethodHandle bindMethod( Method m ) {
+        Class[] parms = m.getParameterTypes();
+        Class[] types = new Class[parms.length];
+        int[] reorder = new int[parms.length];
+        for( int i = 0; i < parms.length; i++ ) {
+            if( Button.class.isAssignableFrom(parms[i]) ) {
+                types[i] = Button.class;
+                reorder[i] = 0;
+            } else if( Action.class.isAssignableFrom(parms[i]) ) {
+                types[i] = Action.class;
+                reorder[i] = 1;
+            } else {
+                return null;
+            }
+        }
+        MethodHandle mh = MethodInvokers.bind(object, m, 0);
+        mh = mh.asType(MethodType.methodType(void.class, types));
+        return MethodHandles.permuteArguments(mh, EXECUTE_TYPE, reorder);
+    }
+
+    /**
+     *  Binds the method to an (Object[])void handle for the slow path where 
+     *  toParm() supplies the arguments.
+     */
+    protected MethodHandle bindSpreader( Method m ) {
+        int count = m.getParameterTypes().length;
+        MethodHandle mh = MethodInvokers.bind(object, m, 0).asSpreader(Object[].class, count);
+        return mh.asType(MethodType.methodType(void.class, Object[].class));
+    }
+ 
     public void setMethod( Object object, String methodName ) {
         if( Objects.equals(this.object, object) && Objects.equals(this.methodName, methodName) ) {
             return;
         }
         this.object = object;
         this.methodName = methodName;
+        this.method = null;
+        this.handle = null;
+        this.spreadHandle = null;
         findMethod(); 
         incrementVersion();       
     }
@@ -186,14 +232,24 @@ public class CallMethodAction extends Action {
         if( method == null ) {
             throw new RuntimeException("No method specified.");
         }
+        if( handle != null ) {
+            try {
+                handle.invokeExact(source, (Action)this);
+            } catch( Throwable e ) {
+                throw new RuntimeException("Error invoking action method:" + methodName, e);
+            }
+            return;
+        }
+        
+        // Else the slow way
         Class[] parmTypes = method.getParameterTypes(); 
         Object[] args = new Object[parmTypes.length];
         for( int i = 0; i < args.length; i++ ) {
             args[i] = toParm(source, parmTypes[i]);
         }
         try {
-            method.invoke(object, args);
-        } catch( IllegalArgumentException e ) {
+            spreadHandle.invokeExact(args);
+        } catch( ClassCastException e ) {
             // The JDK gives basically no info so it's up to us.
             StringBuilder sb = new StringBuilder();
             for( int i = 0; i < args.length; i++ ) {
@@ -204,7 +260,7 @@ public class CallMethodAction extends Action {
                 sb.append(args[i]);
             }
             throw new RuntimeException("Error calling:" + method + " with parameters [" + sb + "]", e); 
-        } catch( IllegalAccessException | InvocationTargetException e ) {
+        } catch( Throwable e ) {
             throw new RuntimeException("Error invoking action method:" + methodName, e);
         }
     }
@@ -42,7 +42,6 @@ import com.jme3.scene.Node;
 import com.jme3.scene.Spatial;
 import com.jme3.texture.Image;
 import com.jme3.texture.Texture2D;
-import com.jme3.texture.image.ImageRaster;
 import com.jme3.util.BufferUtils;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.IconComponent;
@@ -57,7 +56,11 @@ import com.simsilica.lemur.event.CursorEventControl;
 import com.simsilica.lemur.event.DefaultCursorListener;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
-import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 
 /**
@@ -76,21 +79,30 @@ public class ColorChooser extends Panel {
     
     public static final String DEFAULT_CROSSHAIR = "com/simsilica/lemur/icons/tiny-crosshair.png";
 
-    public static final Texture2D defaultTexture = new Texture2D(256, 256, Image.Format.RGBA8);
-    static {
-        defaultTexture.getImage().setData(BufferUtils.createByteBuffer(256 * 256 * 4));
-        ImageRaster raster = ImageRaster.create(defaultTexture.getImage());
-        for( int i = 0; i < 256; i++ ) {
-            for( int j = 0; j < 256; j++ ) {
-                Color hsb = Color.getHSBColor(i/255f, j/255f, 0.5f);
-                raster.setPixel(i, j, toJmeColor(hsb));
+    public static final int DEFAULT_RESOLUTION = 256;
+    
+    /**
+     *  The number of distinct brightness levels for which swatch
+     *  textures are generated.  Requested brightness values are
+     *  snapped to the nearest level.  The default swatch cache holds
+     *  every level of one resolution so that dragging the brightness
+     *  slider never regenerates a texture after the first pass.
+     */
+    public static final int BRIGHTNESS_LEVELS = 32;
+ 
+    private static final int PARALLEL_ROWS = 128;
+    private static int swatchCacheSize = BRIGHTNESS_LEVELS;
+    private static final Map<Integer, Texture2D> swatchCache = new LinkedHashMap<Integer, Texture2D>(BRIGHTNESS_LEVELS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<Integer, Texture2D> eldest ) {
+                return size() > swatchCacheSize;
             }
-        }
-    }
+        };
 
     private VersionedObject<ColorRGBA> model;
     private VersionedReference<ColorRGBA> modelRef;
     private Texture2D swatchTexture;
+    private int swatchResolution = DEFAULT_RESOLUTION;
 
     private Panel value;
     private Container colorPanel;
@@ -126,7 +138,7 @@ public class ColorChooser extends Panel {
                             ElementId elementId, String style ) {
         super(false, elementId.child(CONTAINER_ID), style);
 
-        this.swatchTexture = defaultTexture;
+        this.swatchTexture = getDefaultTexture();
 
         SpringGridLayout layout = new SpringGridLayout();
         getControl(GuiControl.class).setLayout(layout);
@@ -172,6 +184,92 @@ public class ColorChooser extends Panel {
         setModel(model);
     }
 
+    /**
+     *  Returns the shared hue/saturation swatch texture at the default
+     *  resolution and half brightness, generating it if needed.
+     */
+    public static Texture2D getDefaultTexture() {
+        return getSwatchTexture(DEFAULT_RESOLUTION, 0.5f);
+    }
+ 
+    /**
+     *  Returns a shared, cached hue/saturation swatch texture of the
+     *  specified resolution and brightness.  Hue varies along x and
+     *  saturation along y.  Brightness is snapped to one of
+     *  BRIGHTNESS_LEVELS levels and the most recently used textures are
+     *  kept so that switching between brightnesses does not regenerate them.
+     *  A resolution of 1 produces a single pixel swatch at hue 0 and
+     *  saturation 0.
+     */
+    public static Texture2D getSwatchTexture( int resolution, float brightness ) {
+        if( resolution < 1 ) {
+            throw new IllegalArgumentException("Invalid swatch resolution:" + resolution);
+        }
+        int level = Math.round(Math.max(0, Math.min(1, brightness)) * (BRIGHTNESS_LEVELS - 1));
+        Integer key = resolution * BRIGHTNESS_LEVELS + level;
+        synchronized( swatchCache ) {
+            Texture2D result = swatchCache.get(key);
+            if( result == null ) {
+                result = createSwatchTexture(resolution, (float)level / (BRIGHTNESS_LEVELS - 1));
+                swatchCache.put(key, result);
+            }
+            return result;
+        }
+    }
+ 
+    /**
+     *  Sets the maximum number of swatch textures that are kept in the
+     *  shared cache.  Defaults to BRIGHTNESS_LEVELS, ie: every brightness
+     *  level of a single resolution.  Sizes smaller than that will cause
+     *  textures to be regenerated while the brightness is dragged.
+     */
+    public static void setSwatchCacheSize( int size ) {
+        synchronized( swatchCache ) {
+            swatchCacheSize = Math.max(1, size);
+        }
+    }
+ 
+    public static int getSwatchCacheSize() {
+        return swatchCacheSize;
+    }
+ 
+    /**
+     *  Generates a new hue/saturation swatch texture of the specified
+     *  resolution and brightness.  Pixels are written directly to the
+     *  image buffer and large images are filled in parallel by row.
+     */
+    protected static Texture2D createSwatchTexture( int resolution, float brightness ) {
+        ByteBuffer data = BufferUtils.createByteBuffer(resolution * resolution * 4);
+        SwatchFill fill = new SwatchFill(data, resolution, brightness, 0, resolution);
+        if( resolution >= PARALLEL_ROWS ) {
+            ForkJoinPool.commonPool().invoke(fill);
+        } else {
+            fill.compute();
+        }
+        Texture2D result = new Texture2D(resolution, resolution, Image.Format.RGBA8);
+        result.getImage().setData(data);
+        return result;
+    }
+ 
+    /**
+     *  Sets the resolution of the hue/saturation swatch texture.
+     *  Defaults to DEFAULT_RESOLUTION.
+     */
+    public void setSwatchResolution( int resolution ) {
+        if( resolution < 1 ) {
+            throw new IllegalArgumentException("Invalid swatch resolution:" + resolution);
+        }
+        if( this.swatchResolution == resolution ) {
+            return;
+        }
+        this.swatchResolution = resolution;
+        resetSwatch();
+    }
+ 
+    public int getSwatchResolution() {
+        return swatchResolution;
+    }
+
     public void setModel( VersionedObject<ColorRGBA> model ) {
         if( this.model != null ) {
             // clean up whatever
@@ -219,20 +317,125 @@ public class ColorChooser extends Panel {
         this.sIndex = s;
         this.bIndex = b;
 
-        Color awtColor = Color.getHSBColor(hIndex, sIndex, bIndex);
-        ((VersionedHolder<ColorRGBA>)model).setObject(toJmeColor(awtColor));
+        ((VersionedHolder<ColorRGBA>)model).setObject(hsbToColor(hIndex, sIndex, bIndex, null));
     }
 
     protected void updateBrightness() {
         float v = (float)(brightness.getModel().getValue()/100);
         updateModelValue(hIndex, sIndex, v);
+        resetSwatch();
+    }
+ 
+    protected void resetSwatch() {
+        Texture2D texture = getSwatchTexture(swatchResolution, bIndex);
+        if( texture == swatchTexture ) {
+            return;
+        }
+        this.swatchTexture = texture;
+        swatchComponent.setTexture(texture);
     }
 
-    protected static ColorRGBA toJmeColor( Color clr ) {
-        float r = clr.getRed() / 255f;
-        float g = clr.getGreen() / 255f;
-        float b = clr.getBlue() / 255f;
-        return new ColorRGBA(r, g, b, 1);
+    /**
+     *  Converts the specified hue, saturation, brightness values to 
+     *  an opaque ColorRGBA using the same 8-bit-per-component rounding as
+     *  java.awt.Color.HSBtoRGB().
+     */
+    public static ColorRGBA hsbToColor( float h, float s, float b, ColorRGBA store ) {
+        if( store == null ) {
+            store = new ColorRGBA();
+        }
+        int rgb = hsbToRgb(h, s, b);
+        return store.set(((rgb >> 16) & 0xff) / 255f, ((rgb >> 8) & 0xff) / 255f, (rgb & 0xff) / 255f, 1);
+    }
+ 
+    /**
+     *  Converts the specified hue, saturation, brightness values to 
+     *  a packed 0xRRGGBB value the same way java.awt.Color.HSBtoRGB()
+     *  does but without requiring AWT.
+     */
+    public static int hsbToRgb( float hue, float saturation, float brightness ) {
+        int r = 0;
+        int g = 0;
+        int b = 0;
+        if( saturation == 0 ) {
+            r = g = b = (int)(brightness * 255.0f + 0.5f);
+        } else {
+            float h = (hue - (float)Math.floor(hue)) * 6.0f;
+            float f = h - (float)Math.floor(h);
+            float p = brightness * (1.0f - saturation);
+            float q = brightness * (1.0f - saturation * f);
+            float t = brightness * (1.0f - (saturation * (1.0f - f)));
+            switch( (int)h ) {
+                case 0:
+                    r = (int)(brightness * 255.0f + 0.5f);
+                    g = (int)(t * 255.0f + 0.5f);
+                    b = (int)(p * 255.0f + 0.5f);
+                    break;
+                case 1:
+                    r = (int)(q * 255.0f + 0.5f);
+                    g = (int)(brightness * 255.0f + 0.5f);
+                    b = (int)(p * 255.0f + 0.5f);
+                    break;
+                case 2:
+                    r = (int)(p * 255.0f + 0.5f);
+                    g = (int)(brightness * 255.0f + 0.5f);
+                    b = (int)(t * 255.0f + 0.5f);
+                    break;
+                case 3:
+                    r = (int)(p * 255.0f + 0.5f);
+                    g = (int)(q * 255.0f + 0.5f);
+                    b = (int)(brightness * 255.0f + 0.5f);
+                    break;
+                case 4:
+                    r = (int)(t * 255.0f + 0.5f);
+                    g = (int)(p * 255.0f + 0.5f);
+                    b = (int)(brightness * 255.0f + 0.5f);
+                    break;
+                case 5:
+                    r = (int)(brightness * 255.0f + 0.5f);
+                    g = (int)(p * 255.0f + 0.5f);
+                    b = (int)(q * 255.0f + 0.5f);
+                    break;
+            }
+        }
+        return (r << 16) | (g << 8) | b;
+    }
+ 
+    /**
+     *  Converts the specified 0-255 RGB components to hue, saturation, and
+     *  brightness the same way java.awt.Color.RGBtoHSB() does but without
+     *  requiring AWT.
+     */
+    public static float[] rgbToHsb( int r, int g, int b, float[] store ) {
+        if( store == null ) {
+            store = new float[3];
+        }
+        int cmax = Math.max(r, Math.max(g, b));
+        int cmin = Math.min(r, Math.min(g, b));
+        float hue;
+        float saturation = cmax != 0 ? (float)(cmax - cmin) / cmax : 0;
+        if( saturation == 0 ) {
+            hue = 0;
+        } else {
+            float redc = (float)(cmax - r) / (cmax - cmin);
+            float greenc = (float)(cmax - g) / (cmax - cmin);
+            float bluec = (float)(cmax - b) / (cmax - cmin);
+            if( r == cmax ) {
+                hue = bluec - greenc;
+            } else if( g == cmax ) {
+                hue = 2.0f + redc - bluec;
+            } else {
+                hue = 4.0f + greenc - redc;
+            }
+            hue = hue / 6.0f;
+            if( hue < 0 ) {
+                hue = hue + 1.0f;
+            }
+        }
+        store[0] = hue;
+        store[1] = saturation;
+        store[2] = cmax / 255f;
+        return store;
     }
 
     protected void updateColorView() {
@@ -242,19 +445,19 @@ public class ColorChooser extends Panel {
         int r = (int)Math.round(c.getRed() * 255);
         int g = (int)Math.round(c.getGreen() * 255);
         int b = (int)Math.round(c.getBlue() * 255);
-        float[] hsb = Color.RGBtoHSB(r, g, b, null);
+        float[] hsb = rgbToHsb(r, g, b, null);
 
         this.hIndex = hsb[0];
         this.sIndex = hsb[1];
         this.bIndex = hsb[2];
 
         updateColorView(hsb[0], hsb[1], hsb[2]);
+        resetSwatch();
     }
 
     protected void updateColorView( float h, float s, float v ) {
 
-        Color awtColor = Color.getHSBColor(h, s, v);
-        valueColor.setColor(toJmeColor(awtColor));
+        valueColor.setColor(hsbToColor(h, s, v, null));
 
         // Now we need to get the B of the HSB to set that one
         brightness.getModel().setValue(v * 100);
@@ -276,4 +479,48 @@ public class ColorChooser extends Panel {
             updateModelValue(h, s, bIndex);
         }
     }
+ 
+    /**
+     *  Fills a range of swatch rows, splitting itself across the
+     *  fork/join pool when the range is large.
+     */
+    private static class SwatchFill extends RecursiveAction {
+        private final ByteBuffer data;
+        private final int resolution;
+        private final float brightness;
+        private final int startRow;
+        private final int endRow;
+ 
+        public SwatchFill( ByteBuffer data, int resolution, float brightness, int startRow, int endRow ) {
+            this.data = data;
+            this.resolution = resolution;
+            this.brightness = brightness;
+            this.startRow = startRow;
+            this.endRow = endRow;
+        }
+ 
+        @Override
+        protected void compute() {
+            if( endRow - startRow > PARALLEL_ROWS / 4 && resolution >= PARALLEL_ROWS ) {
+                int mid = (startRow + endRow) >>> 1;
+                invokeAll(new SwatchFill(data, resolution, brightness, startRow, mid),
+                          new SwatchFill(data, resolution, brightness, mid, endRow));
+                return;
+            }
+            // A single pixel swatch has nothing to spread the range across
+            float scale = resolution > 1 ? 1f / (resolution - 1) : 0;
+            for( int y = startRow; y < endRow; y++ ) {
+                // Saturation varies by row and hue by column
+                float s = y * scale;
+                int index = y * resolution * 4;
+                for( int x = 0; x < resolution; x++ ) {
+                    int rgb = hsbToRgb(x * scale, s, brightness);
+                    data.put(index++, (byte)(rgb >> 16));
+                    data.put(index++, (byte)(rgb >> 8));
+                    data.put(index++, (byte)rgb);
+                    data.put(index++, (byte)0xff);
+                }
+            }
+        }
+    }
 }
@@ -248,8 +248,8 @@ public class OptionPanel extends Panel {
      *  to provide different close behavior.
      */   
     public void close() {
-        if( hasEffect(EFFECT_CLOSE) ) {
-            runEffect(EFFECT_CLOSE);
+        if( hasEffect(EFFECT_CLOSE) && runEffect(EFFECT_CLOSE) ) {
+            // The effect will remove us
         } else if( getParent() instanceof Container ) {
             ((Container)getParent()).removeChild(this);
         } else {
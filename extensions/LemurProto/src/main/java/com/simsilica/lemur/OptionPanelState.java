@@ -156,7 +156,7 @@ public class OptionPanelState extends BaseAppState {
  
     /**
      *  Modally shows the specified OptionPanel in the guiNode as defined by
-     *  getGuiNode().  An invisible blocker geometry is placed behind it
+     *  getGuiNode().  An invisible pick barrier is placed behind it
      *  to catch all mouse events until the panel is closed.  The option 
      *  panel will be visible until the user clicks a response or until 
      *  close() is called. 
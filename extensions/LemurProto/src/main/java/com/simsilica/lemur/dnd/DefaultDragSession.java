@@ -57,6 +57,12 @@ public class DefaultDragSession implements DragSession {
     private Spatial dropTarget;
     private Vector2f dragLocation;
     private CollisionResult collision;
+    private DropTargetIndex dropTargetIndex;
+    
+    // The last target and position bucket that got a dragOver
+    private Spatial dragOverTarget;
+    private int dragOverX;
+    private int dragOverY;
 
     public DefaultDragSession( Spatial source, Vector2f dragLocation ) {
         this.source = source;
@@ -159,6 +165,7 @@ public class DefaultDragSession implements DragSession {
             this.dropTarget.getControl(DragAndDropControl.class).fireExit(event);
         }
         this.dropTarget = dropTarget;
+        this.dragOverTarget = null;
         if( this.dropTarget != null ) {
             // Set an initial status to indicate the we're over a target
             // but we'll let the listeners decide how valid it is
@@ -188,4 +195,34 @@ public class DefaultDragSession implements DragSession {
     public CollisionResult getDropCollision() {
         return collision;
     }   
+ 
+    protected void setDropTargetIndex( DropTargetIndex dropTargetIndex ) {
+        this.dropTargetIndex = dropTargetIndex;
+    }
+ 
+    /**
+     *  Returns the index of drop targets that was captured when the
+     *  drag started or null if targets are found by the regular cursor
+     *  picking.
+     */
+    public DropTargetIndex getDropTargetIndex() {
+        return dropTargetIndex;
+    }
+ 
+    /**
+     *  Returns true if the target or the granularity sized bucket that
+     *  contains the location is different than the last time this
+     *  returned true.
+     */
+    protected boolean updateDragOver( Spatial target, float x, float y, float granularity ) {
+        int bx = (int)Math.floor(x / granularity);
+        int by = (int)Math.floor(y / granularity);
+        if( target == dragOverTarget && bx == dragOverX && by == dragOverY ) {
+            return false;
+        }
+        this.dragOverTarget = target;
+        this.dragOverX = bx;
+        this.dragOverY = by;
+        return true;
+    }
 }
@@ -73,6 +73,13 @@ public class DragAndDropControl extends AbstractControl {
     private DefaultDragSession currentSession;    
  
     private static DefaultDragSession globalSession;
+ 
+    // All of the controls currently attached to a spatial, the candidate
+    // drop targets for a drop target index.
+    private static final Map<DragAndDropControl, Boolean> registered = new WeakHashMap<>();
+    private static boolean dropTargetIndexEnabled = true;
+ 
+    private float dragOverGranularity = 1;
     
     public DragAndDropControl( DragAndDropListener... initialListeners ) {
         listeners.addAll(Arrays.asList(initialListeners));
@@ -85,6 +92,41 @@ public class DragAndDropControl extends AbstractControl {
     public void removeDragAndDropListener( DragAndDropListener l ) {
         listeners.remove(l);
     } 
+ 
+    /**
+     *  Sets whether new drag sessions capture the drop targets into a
+     *  DropTargetIndex when the drag starts.  When enabled, the drop target
+     *  is found from the index on each drag motion instead of from the
+     *  regular cursor picking, and targets outside of the drag source's
+     *  viewport still use the regular picking.  Targets covered by other
+     *  cursor consumers, like popups or windows, are not found.  See
+     *  DropTargetIndex.setOcclusionCheck().  Defaults to true. 
+     */
+    public static void setDropTargetIndexEnabled( boolean f ) {
+        dropTargetIndexEnabled = f;
+    }
+    
+    public static boolean isDropTargetIndexEnabled() {
+        return dropTargetIndexEnabled;
+    }
+ 
+    /**
+     *  Sets the size, in pixels, of the cursor movement buckets for
+     *  drags over this control's spatial.  onDragOver() is only called
+     *  when the cursor enters this target or moves to a different bucket.
+     *  Defaults to 1.  This only applies to targets found through the
+     *  session's DropTargetIndex. 
+     */
+    public void setDragOverGranularity( float granularity ) {
+        if( granularity <= 0 ) {
+            throw new IllegalArgumentException("Granularity must be greater than 0:" + granularity);
+        }
+        this.dragOverGranularity = granularity;
+    }
+    
+    public float getDragOverGranularity() {
+        return dragOverGranularity;
+    }
     
     @Override       
     public void setSpatial( Spatial s ) {
@@ -102,10 +144,33 @@ public class DragAndDropControl extends AbstractControl {
  
     protected void detach( Spatial s ) {
         CursorEventControl.removeListenersFromSpatial(s, listener);
+        synchronized( registered ) {
+            registered.remove(this);
+        }
     }
     
     protected void attach( Spatial s ) {
         CursorEventControl.addListenersToSpatial(s, listener);
+        synchronized( registered ) {
+            registered.put(this, Boolean.TRUE);
+        }
+    }
+ 
+    /**
+     *  Creates an index of all of the registered drop targets in the
+     *  specified viewport.
+     */
+    protected DropTargetIndex createDropTargetIndex( ViewPort viewPort ) {
+        List<Spatial> targets = new ArrayList<>();
+        synchronized( registered ) {
+            // Controls may be attached to spatials built on other threads
+            for( DragAndDropControl control : registered.keySet() ) {
+                if( control.isEnabled() && control.getSpatial() != null ) {
+                    targets.add(control.getSpatial());
+                }
+            }
+        }
+        return DropTargetIndex.create(viewPort, targets);
     }
     
     protected DefaultDragSession getSession( AbstractCursorEvent event ) {
@@ -169,6 +234,12 @@ public class DragAndDropControl extends AbstractControl {
         }
  
         currentSession.setDraggable(draggable);
+        if( dropTargetIndexEnabled && event.getViewPort() != null ) {
+            DropTargetIndex index = createDropTargetIndex(event.getViewPort());
+            if( index.contains(getSpatial()) ) {
+                currentSession.setDropTargetIndex(index);
+            }
+        }
         draggingActive = true;
         globalSession = currentSession;
 
@@ -203,11 +274,20 @@ public class DragAndDropControl extends AbstractControl {
         //          container2 (ContainerNode), 
         //          container1 (ContainerNode))
 
+        DropTargetIndex index = session.getDropTargetIndex();
+ 
         // If this is the event for the original drag source
         if( target == capture && target == getSpatial() ) {
             // Update the draggable's location
             session.getDraggable().setLocation(event.getX(), event.getY());
  
+            if( index != null ) {
+                // The source gets every motion event so it can find the
+                // target for the whole session
+                draggingIndexed(session, index, event);
+                return;
+            }
+            
             // If we aren't currently over anything           
             if( event.getCollision() == null ) {
                 // Nothing more to do 
@@ -215,6 +295,11 @@ public class DragAndDropControl extends AbstractControl {
             }
         }
  
+        if( index != null && index.contains(getSpatial()) ) {
+            // Already handled through the drag source's events
+            return;
+        }
+ 
         if( target != getSpatial() ) {
             // nothing to deliver as we are getting an event for a different 
             // container somehow that doesn't match the above
@@ -239,6 +324,34 @@ public class DragAndDropControl extends AbstractControl {
         }        
     }  
     
+    /**
+     *  Finds the drop target under the cursor in the session's index
+     *  and delivers enter/exit/dragOver to it as needed.
+     */
+    protected void draggingIndexed( DefaultDragSession session, DropTargetIndex index, 
+                                    CursorMotionEvent event ) {
+        CollisionResult collision = index.pick(event.getX(), event.getY());
+        Spatial dropTarget = collision == null ? null : index.findTarget(collision.getGeometry());
+        if( dropTarget == null ) {
+            // Leave targets from other viewports to the regular picking
+            if( session.getDropTarget() != null && index.contains(session.getDropTarget()) ) {
+                session.setDropTarget(null, new DragEvent(session, event, null, session.getDropTarget()));
+                session.setDropCollision(null);
+            }
+            return;
+        }
+        
+        DragEvent dragEvent = new DragEvent(session, event, collision, dropTarget);
+        session.setDropTarget(dropTarget, dragEvent);
+        session.setDropCollision(collision);
+        
+        DragAndDropControl control = dropTarget.getControl(DragAndDropControl.class);
+        if( session.updateDragOver(dropTarget, event.getX(), event.getY(), 
+                                   control.getDragOverGranularity()) ) {
+            control.fireDragOver(dragEvent);
+        }
+    }
+    
     protected void dragStopped( CursorButtonEvent event, CursorMotionEvent lastMotion, 
                                 Spatial target, Spatial capture ) {
         if( !draggingActive ) {
@@ -267,6 +380,12 @@ public class DragAndDropControl extends AbstractControl {
             return;
         }
         
+        DropTargetIndex index = session.getDropTargetIndex(); 
+        if( index != null && index.contains(getSpatial()) ) {
+            // The index decides when we've left an indexed target
+            return;
+        }
+        
         // Double check that we should be clearing the drop target
         if( session.getDropTarget() == getSpatial() ) {
             DragEvent dragEvent = new DragEvent(session, event);
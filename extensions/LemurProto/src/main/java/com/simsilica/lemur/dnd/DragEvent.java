@@ -55,6 +55,7 @@ public class DragEvent {
     private DragSession session;
     private AbstractCursorEvent cursorEvent;
     private CollisionResult collision;
+    private Spatial target;
     
     public DragEvent( DragSession session, AbstractCursorEvent cursorEvent ) {
         this(session, cursorEvent, cursorEvent.getCollision());
@@ -66,6 +67,17 @@ public class DragEvent {
         this.cursorEvent = cursorEvent;
         this.collision = collision;                      
     }
+
+    /**
+     *  Creates a drag event for a target that was found some other way
+     *  than the cursor event's own pick, for example from the session's
+     *  DropTargetIndex.
+     */
+    public DragEvent( DragSession session, AbstractCursorEvent cursorEvent, 
+                      CollisionResult collision, Spatial target ) {
+        this(session, cursorEvent, collision);
+        this.target = target;
+    }
     
     public DragSession getSession() {
         return session;
@@ -92,7 +104,7 @@ public class DragEvent {
     }
     
     public Spatial getTarget() {
-        return cursorEvent.getTarget();
+        return target != null ? target : cursorEvent.getTarget();
     }
  
     @Override   
@@ -0,0 +1,467 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.dnd;
+
+import java.util.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.CollisionResult;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.Spatial.CullHint;
+
+import com.simsilica.lemur.event.BoundsPick;
+import com.simsilica.lemur.event.CursorEventControl;
+import com.simsilica.lemur.event.MouseEventControl;
+import com.simsilica.lemur.event.PickBarrier;
+import com.simsilica.lemur.event.PickableRegistry;
+
+/**
+ *  A snapshot of the drop targets in a viewport, bucketed into
+ *  a screen-space grid by their projected world bounds.  The drag
+ *  session builds one when the drag starts so that each motion event
+ *  only needs to collide with the few targets whose cells contain
+ *  the cursor instead of picking through the whole scene.
+ *
+ *  <p>Targets that move after the snapshot are not tracked.  Call
+ *  rebuild() if the targets change during a drag.</p>
+ *
+ *  <p>Only the drop targets are indexed but anything else that would
+ *  normally consume the cursor, like a popup, a window, or a PickBarrier,
+ *  can be in front of them.  So by default the hit from the index is
+ *  checked against the registered pickables and attached PickBarriers
+ *  of the target's scene and no target is returned if something else
+ *  is closer.</p>
+ */
+public class DropTargetIndex {
+
+    public static final float DEFAULT_CELL_SIZE = 64;
+
+    private final ViewPort viewPort;
+    private final float cellSize;
+    private final Map<Spatial, Target> targets = new IdentityHashMap<>();
+    private final Map<Long, List<Target>> cells = new HashMap<>();
+    private final List<Target> unbounded = new ArrayList<>();
+    private float guiTop;
+    private boolean occlusionCheck = true;
+
+    private final CollisionResults results = new CollisionResults();
+    private final Set<Target> candidates = Collections.newSetFromMap(new IdentityHashMap<Target, Boolean>());
+
+    public DropTargetIndex( ViewPort viewPort ) {
+        this(viewPort, DEFAULT_CELL_SIZE);
+    }
+
+    public DropTargetIndex( ViewPort viewPort, float cellSize ) {
+        if( cellSize <= 0 ) {
+            throw new IllegalArgumentException("Cell size must be greater than 0:" + cellSize);
+        }
+        this.viewPort = viewPort;
+        this.cellSize = cellSize;
+    }
+
+    /**
+     *  Creates an index of the specified targets that are currently
+     *  part of one of the viewport's scenes.
+     */
+    public static DropTargetIndex create( ViewPort viewPort, Collection<Spatial> targets ) {
+        DropTargetIndex result = new DropTargetIndex(viewPort);
+        for( Spatial s : targets ) {
+            result.add(s);
+        }
+        return result;
+    }
+
+    public ViewPort getViewPort() {
+        return viewPort;
+    }
+
+    public float getCellSize() {
+        return cellSize;
+    }
+
+    /**
+     *  Adds the target if it is visible in one of the viewport's scenes
+     *  and returns true if it was added.
+     */
+    public boolean add( Spatial target ) {
+        if( targets.containsKey(target) ) {
+            return true;
+        }
+        Spatial root = getSceneRoot(target);
+        if( root == null ) {
+            return false;
+        }
+        Target t = new Target(target, root.getQueueBucket() == Bucket.Gui);
+        targets.put(target, t);
+        insert(t);
+        return true;
+    }
+
+    public boolean contains( Spatial target ) {
+        return targets.containsKey(target);
+    }
+
+    public int size() {
+        return targets.size();
+    }
+
+    /**
+     *  Sets whether pick() checks for other cursor consumers in front
+     *  of the target it found.  Defaults to true.
+     */
+    public void setOcclusionCheck( boolean f ) {
+        this.occlusionCheck = f;
+    }
+
+    public boolean getOcclusionCheck() {
+        return occlusionCheck;
+    }
+
+    /**
+     *  Recalculates the screen bounds of all of the indexed targets.
+     */
+    public void rebuild() {
+        cells.clear();
+        unbounded.clear();
+        guiTop = 0;
+        for( Target t : targets.values() ) {
+            insert(t);
+        }
+    }
+
+    /**
+     *  Returns the closest collision with any of the targets at the
+     *  specified screen location or null if there is none or if
+     *  something that is not a drop target is in front of it.
+     */
+    public CollisionResult pick( float x, float y ) {
+        candidates.clear();
+        List<Target> cell = cells.get(cellKey(cellIndex(x), cellIndex(y)));
+        if( cell != null ) {
+            for( Target t : cell ) {
+                if( t.contains(x, y) ) {
+                    candidates.add(t);
+                }
+            }
+        }
+        candidates.addAll(unbounded);
+        if( candidates.isEmpty() ) {
+            return null;
+        }
+
+        Ray guiRay = null;
+        Ray viewRay = null;
+        CollisionResult result = null;
+        Target resultTarget = null;
+        for( Target t : candidates ) {
+            Ray ray;
+            if( t.gui ) {
+                if( guiRay == null ) {
+                    guiRay = new Ray(new Vector3f(x, y, guiTop + 1), new Vector3f(0, 0, -1));
+                }
+                ray = guiRay;
+            } else {
+                if( viewRay == null ) {
+                    viewRay = getViewRay(x, y);
+                    if( viewRay == null ) {
+                        continue;
+                    }
+                }
+                ray = viewRay;
+            }
+            results.clear();
+            BoundsPick.collideWith(t.spatial, ray, results);
+            if( results.size() == 0 ) {
+                continue;
+            }
+            CollisionResult closest = results.getClosestCollision();
+            if( result == null || closest.getDistance() < result.getDistance() ) {
+                result = closest;
+                resultTarget = t;
+            }
+        }
+        results.clear();
+        if( result != null && occlusionCheck && isOccluded(resultTarget, x, y, result) ) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     *  Returns true if any registered pickable that isn't part of the
+     *  target, or any PickBarrier with listeners, is closer along the
+     *  cursor ray than the target's collision.
+     */
+    private boolean isOccluded( Target t, float x, float y, CollisionResult hit ) {
+        Spatial root = t.spatial;
+        while( root.getParent() != null ) {
+            root = root.getParent();
+        }
+
+        Ray ray;
+        if( t.gui ) {
+            // Start above everything in the GUI scene, not just the targets
+            BoundingVolume bv = root.getWorldBound();
+            float top = guiTop;
+            if( bv instanceof BoundingBox ) {
+                top = Math.max(top, ((BoundingBox)bv).getMax(null).z);
+            } else if( bv instanceof BoundingSphere ) {
+                top = Math.max(top, bv.getCenter().z + ((BoundingSphere)bv).getRadius());
+            }
+            ray = new Ray(new Vector3f(x, y, top + 1), new Vector3f(0, 0, -1));
+        } else {
+            ray = getViewRay(x, y);
+            if( ray == null ) {
+                return false;
+            }
+        }
+        float limit = ray.getOrigin().distance(hit.getContactPoint());
+
+        results.clear();
+        try {
+            PickableRegistry.getInstance().collideWith(root, ray, results);
+            for( int i = 0; i < results.size(); i++ ) {
+                CollisionResult cr = results.getCollision(i);
+                if( cr.getDistance() >= limit ) {
+                    break;
+                }
+                if( !isUnder(cr.getGeometry(), t.spatial) ) {
+                    return true;
+                }
+            }
+        } finally {
+            results.clear();
+        }
+
+        for( PickBarrier barrier : PickBarrier.getAttachedBarriers() ) {
+            if( barrier.getControl(CursorEventControl.class) == null
+                && barrier.getControl(MouseEventControl.class) == null ) {
+                continue;
+            }
+            if( !isUnder(barrier, root) ) {
+                continue;
+            }
+            float distance = barrier.getDistance(ray);
+            if( Float.isNaN(distance) || (distance < 0 && !t.gui) ) {
+                continue;
+            }
+            if( distance < limit ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isUnder( Spatial s, Spatial ancestor ) {
+        for( Spatial p = s; p != null; p = p.getParent() ) {
+            if( p == ancestor ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Returns the innermost indexed target containing the specified
+     *  spatial, usually the geometry of a collision from pick().
+     */
+    public Spatial findTarget( Spatial s ) {
+        for( Spatial p = s; p != null; p = p.getParent() ) {
+            if( targets.containsKey(p) ) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    protected Ray getViewRay( float x, float y ) {
+        Camera cam = viewPort.getCamera();
+        Vector2f cursor = new Vector2f(x, y);
+        Vector3f near = cam.getWorldCoordinates(cursor, 0);
+        Vector3f far = cam.getWorldCoordinates(cursor, 1);
+        Vector3f dir = far.subtractLocal(near).normalizeLocal();
+        if( !dir.isUnitVector() ) {
+            return null;
+        }
+        return new Ray(near, dir);
+    }
+
+    protected Spatial getSceneRoot( Spatial s ) {
+        if( s.getCullHint() == CullHint.Always ) {
+            return null;
+        }
+        Spatial root = s;
+        while( root.getParent() != null ) {
+            root = root.getParent();
+        }
+        for( Spatial scene : viewPort.getScenes() ) {
+            if( scene == root ) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    private int cellIndex( float v ) {
+        return (int)Math.floor(v / cellSize);
+    }
+
+    private static long cellKey( int x, int y ) {
+        return ((long)x << 32) | (y & 0xffffffffL);
+    }
+
+    private void insert( Target t ) {
+        if( !t.updateBounds() ) {
+            return;
+        }
+        if( t.unbounded ) {
+            unbounded.add(t);
+            return;
+        }
+        int xStart = cellIndex(t.xMin);
+        int xEnd = cellIndex(t.xMax);
+        int yStart = cellIndex(t.yMin);
+        int yEnd = cellIndex(t.yMax);
+        for( int y = yStart; y <= yEnd; y++ ) {
+            for( int x = xStart; x <= xEnd; x++ ) {
+                long key = cellKey(x, y);
+                List<Target> list = cells.get(key);
+                if( list == null ) {
+                    list = new ArrayList<>();
+                    cells.put(key, list);
+                }
+                list.add(t);
+            }
+        }
+    }
+
+    private class Target {
+        private final Spatial spatial;
+        private final boolean gui;
+        private boolean unbounded;
+        private float xMin, yMin, xMax, yMax;
+
+        public Target( Spatial spatial, boolean gui ) {
+            this.spatial = spatial;
+            this.gui = gui;
+        }
+
+        public boolean contains( float x, float y ) {
+            return x >= xMin && x <= xMax && y >= yMin && y <= yMax;
+        }
+
+        /**
+         *  Projects the world bounds into screen space and clips them
+         *  to the camera.  Returns false if the target can't be under
+         *  the cursor at all.
+         */
+        public boolean updateBounds() {
+            unbounded = false;
+            BoundingVolume bv = spatial.getWorldBound();
+            Vector3f center;
+            Vector3f extent;
+            if( bv instanceof BoundingBox ) {
+                BoundingBox bb = (BoundingBox)bv;
+                center = bb.getCenter();
+                extent = bb.getExtent(null);
+            } else if( bv instanceof BoundingSphere ) {
+                BoundingSphere bs = (BoundingSphere)bv;
+                float r = bs.getRadius();
+                center = bs.getCenter();
+                extent = new Vector3f(r, r, r);
+            } else {
+                // Nothing we can bucket, let the collision sort it out
+                unbounded = bv != null;
+                return unbounded;
+            }
+
+            if( gui ) {
+                xMin = center.x - extent.x;
+                xMax = center.x + extent.x;
+                yMin = center.y - extent.y;
+                yMax = center.y + extent.y;
+                guiTop = Math.max(guiTop, center.z + extent.z);
+            } else {
+                Camera cam = viewPort.getCamera();
+                xMin = yMin = Float.POSITIVE_INFINITY;
+                xMax = yMax = Float.NEGATIVE_INFINITY;
+                Vector3f corner = new Vector3f();
+                Vector3f relative = new Vector3f();
+                Vector3f store = new Vector3f();
+                for( int i = 0; i < 8; i++ ) {
+                    corner.set((i & 1) == 0 ? -extent.x : extent.x,
+                               (i & 2) == 0 ? -extent.y : extent.y,
+                               (i & 4) == 0 ? -extent.z : extent.z).addLocal(center);
+                    relative.set(corner).subtractLocal(cam.getLocation());
+                    if( relative.dot(cam.getDirection()) < cam.getFrustumNear() ) {
+                        // Crosses the near plane so the projection is
+                        // meaningless.
+                        unbounded = true;
+                        return true;
+                    }
+                    cam.getScreenCoordinates(corner, store);
+                    xMin = Math.min(xMin, store.x);
+                    xMax = Math.max(xMax, store.x);
+                    yMin = Math.min(yMin, store.y);
+                    yMax = Math.max(yMax, store.y);
+                }
+            }
+
+            // Clip to the screen since the cursor can't be anywhere else
+            Camera cam = viewPort.getCamera();
+            xMin = Math.max(xMin, 0);
+            yMin = Math.max(yMin, 0);
+            xMax = Math.min(xMax, cam.getWidth());
+            yMax = Math.min(yMax, cam.getHeight());
+            return xMin <= xMax && yMin <= yMax;
+        }
+
+        @Override
+        public String toString() {
+            return "Target[" + spatial + ", " + xMin + ", " + yMin + " -> " + xMax + ", " + yMax + "]";
+        }
+    }
+}
@@ -41,6 +41,7 @@ import com.simsilica.lemur.style.StyleAttribute;
 import com.simsilica.lemur.style.Styles;
 import com.simsilica.lemur.core.GuiComponent;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedListener;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.component.QuadBackgroundComponent;
 import com.simsilica.lemur.component.IconComponent;
@@ -62,6 +63,7 @@ public class Checkbox extends Button {
 
     private CheckboxModel model;
     private VersionedReference<Boolean> state;
+    private StateWatcher stateWatcher = new StateWatcher();
     private GuiComponent onView;
     private GuiComponent offView;
 
@@ -126,6 +128,9 @@ public class Checkbox extends Button {
         if( this.model == model )
             return;
         this.model = model;
+        if( state != null ) {
+            state.unwatch();
+        }
         this.state = model.createReference();
         resetStateView();
     }
@@ -145,8 +150,11 @@ public class Checkbox extends Button {
     @Override
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
-        if( state.update() ) {
-            resetStateView();
+        if( !state.isWatched() ) {
+            if( state.update() ) {
+                resetStateView();
+            }
+            state.watch(stateWatcher);
         }
     }
 
@@ -200,7 +208,11 @@ public class Checkbox extends Button {
             }
         }
     }
-}
-
-
 
+    private class StateWatcher implements VersionedListener<Boolean> {
+        @Override
+        public void versionChanged( VersionedReference<Boolean> ref ) {
+            resetStateView();
+        }
+    }
+}
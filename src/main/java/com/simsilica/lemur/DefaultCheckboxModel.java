@@ -34,7 +34,9 @@
 
 package com.simsilica.lemur;
 
+import com.simsilica.lemur.core.VersionedNotifier;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedWatchers;
 
 
 /**
@@ -44,9 +46,10 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DefaultCheckboxModel implements CheckboxModel {
+public class DefaultCheckboxModel implements CheckboxModel, VersionedNotifier<Boolean> {
 
     private long version;
+    private VersionedWatchers<Boolean> watchers;
     private boolean state;
 
     public DefaultCheckboxModel() {
@@ -61,13 +64,20 @@ public class DefaultCheckboxModel implements CheckboxModel {
         if( this.state == state )
             return;
         this.state = state;
-        version++;
+        incrementVersion();
     }
 
     public boolean isChecked() {
         return state;
     }
 
+    protected void incrementVersion() {
+        version++;
+        if( watchers != null ) {
+            watchers.notifyWatchers();
+        }
+    }
+
     public long getVersion() {
         return version;
     }
@@ -76,6 +86,21 @@ public class DefaultCheckboxModel implements CheckboxModel {
         return state;
     }
 
+    @Override
+    public void addWatcher( VersionedReference<Boolean> ref ) {
+        if( watchers == null ) {
+            watchers = new VersionedWatchers<>();
+        }
+        watchers.add(ref);
+    }
+
+    @Override
+    public void removeWatcher( VersionedReference<Boolean> ref ) {
+        if( watchers != null ) {
+            watchers.remove(ref);
+        }
+    }
+
     public VersionedReference<Boolean> createReference() {
         return new VersionedReference<Boolean>(this);
     }
@@ -34,7 +34,9 @@
 
 package com.simsilica.lemur;
 
+import com.simsilica.lemur.core.VersionedNotifier;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedWatchers;
 
 
 /**
@@ -45,9 +47,10 @@ import com.simsilica.lemur.core.VersionedReference;
  *
  *  @author    Paul Speed
  */
-public class DefaultRangedValueModel implements RangedValueModel {
+public class DefaultRangedValueModel implements RangedValueModel, VersionedNotifier<Double> {
 
     private long version;
+    private VersionedWatchers<Double> watchers;
     private double min;
     private double max;
     private double value;
@@ -63,6 +66,13 @@ public class DefaultRangedValueModel implements RangedValueModel {
         checkRange();
     }
 
+    protected void incrementVersion() {
+        version++;
+        if( watchers != null ) {
+            watchers.notifyWatchers();
+        }
+    }
+
     public long getVersion() {
         return version;
     }
@@ -71,6 +81,21 @@ public class DefaultRangedValueModel implements RangedValueModel {
         return getValue();
     }
 
+    @Override
+    public void addWatcher( VersionedReference<Double> ref ) {
+        if( watchers == null ) {
+            watchers = new VersionedWatchers<>();
+        }
+        watchers.add(ref);
+    }
+
+    @Override
+    public void removeWatcher( VersionedReference<Double> ref ) {
+        if( watchers != null ) {
+            watchers.remove(ref);
+        }
+    }
+
     public VersionedReference<Double> createReference() {
         return new VersionedReference<Double>(this);
     }
@@ -84,7 +109,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         if( this.value == value )
             return;
         this.value = value;
-        version++;
+        incrementVersion();
         checkRange();
     }
 
@@ -110,7 +135,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         if( this.max == max ) 
             return;
         this.max = max;
-        version++;
+        incrementVersion();
         checkRange();
     }
 
@@ -122,7 +147,7 @@ public class DefaultRangedValueModel implements RangedValueModel {
         if( this.min == min ) 
             return;
         this.min = min;
-        version++;
+        incrementVersion();
         checkRange();
     }
 
@@ -50,6 +50,7 @@ import com.jme3.material.Material;
 import com.jme3.math.ColorRGBA;
 import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
+import com.jme3.renderer.Caps;
 import com.jme3.renderer.ViewPort;
 import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
@@ -61,8 +62,10 @@ import com.simsilica.lemur.anim.AnimationState;
 import com.simsilica.lemur.component.Text2d;
 import com.simsilica.lemur.component.TextComponent;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.GuiMetrics;
 import com.simsilica.lemur.core.UnshadedMaterialAdapter;
 import com.simsilica.lemur.core.LightingMaterialAdapter;
+import com.simsilica.lemur.core.NineSliceMaterialAdapter;
 import com.simsilica.lemur.event.KeyListener;
 import com.simsilica.lemur.event.KeyInterceptState;
 import com.simsilica.lemur.event.MouseAppState;
@@ -109,6 +112,12 @@ public class GuiGlobals {
 
     static Logger log = LoggerFactory.getLogger(GuiGlobals.class);
 
+    /**
+     *  The asset path of the material definition used for GPU-side
+     *  nine-slice backgrounds.
+     */
+    public static final String NINE_SLICE_MATDEF = "com/simsilica/lemur/matdefs/NineSlice.j3md";
+
     private static GuiGlobals instance;
 
     private AssetManager assets;
@@ -127,6 +136,7 @@ public class GuiGlobals {
     private Styles styles;
 
     private boolean gammaEnabled;
+    private boolean nineSliceSupported;
 
     public static void initialize( Application app ) {
         setInstance(new GuiGlobals(app));
@@ -215,6 +225,8 @@ public class GuiGlobals {
         setCursorEventsEnabled(true);
 
         gammaEnabled = app.getContext().getSettings().isGammaCorrection();
+        nineSliceSupported = app.getRenderer() != null
+                             && app.getRenderer().getCaps().contains(Caps.GLSL100);
     }
 
     protected AssetManager getAssetManager() {
@@ -273,6 +285,14 @@ public class GuiGlobals {
         return popupState;
     }
 
+    /**
+     *  Returns the GuiMetrics that Lemur's layout, styling, picking, text,
+     *  animation, and input code report to when they are enabled.
+     */
+    public GuiMetrics getMetrics() {
+        return GuiMetrics.getInstance();
+    }
+
     public FocusManagerState getFocusManagerState() {
         return focusState;
     }
@@ -356,6 +376,35 @@ public class GuiGlobals {
         return mat;
     }
 
+    /**
+     *  Returns true if the renderer supports the shaders needed for
+     *  createNineSliceMaterial() and the material definition could be
+     *  loaded the last time it was tried.
+     */
+    public boolean isNineSliceSupported() {
+        return nineSliceSupported;
+    }
+
+    /**
+     *  Creates an unlit material that does nine-slice texture stretching
+     *  in the shader or returns null if that is not supported, in which
+     *  case the caller should fall back to a TbtQuad mesh.
+     */
+    public NineSliceMaterialAdapter createNineSliceMaterial( Texture texture ) {
+        if( !nineSliceSupported ) {
+            return null;
+        }
+        try {
+            NineSliceMaterialAdapter mat = new NineSliceMaterialAdapter(new Material(assets, NINE_SLICE_MATDEF));
+            mat.setTexture(texture);
+            return mat;
+        } catch( RuntimeException e ) {
+            log.warn("Error loading:" + NINE_SLICE_MATDEF + ", falling back to mesh-based nine-slice", e);
+            nineSliceSupported = false;
+            return null;
+        }
+    }
+
     public Texture loadDefaultIcon( String name ) {
         return loadTexture(iconBase + "/" + name, false, false);
     }
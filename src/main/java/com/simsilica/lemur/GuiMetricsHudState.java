@@ -0,0 +1,465 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import java.nio.FloatBuffer;
+import java.util.*;
+
+import com.jme3.app.Application;
+import com.jme3.app.SimpleApplication;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.util.BufferUtils;
+
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiMetrics;
+import com.simsilica.lemur.event.PopupState;
+import com.simsilica.lemur.style.ElementId;
+
+
+/**
+ *  A debug overlay that shows where the GUI is spending its time.
+ *  It is built from Lemur's own widgets and the GuiMetrics, and shows:
+ *  <ul>
+ *  <li>the average time per frame spent in layout, picking, styling,
+ *      text rebuilds, and animation, as progress bars against the frame
+ *      budget.</li>
+ *  <li>the slowest GuiControl revalidations since the last refresh,
+ *      by ElementId.</li>
+ *  <li>counts of the panels, geometries, and materials in the GUI.</li>
+ *  <li>a rolling graph of the recent frame times.</li>
+ *  </ul>
+ *
+ *  <p>GuiMetrics are enabled while this state is enabled.  The HUD itself
+ *  is excluded from the metrics so that its own layout and text updates
+ *  do not show up in its numbers.  Each frame only reads the metric totals
+ *  and writes the new frame time into the graph's fixed vertex buffer.
+ *  The text and the object counts are only updated every refresh interval,
+ *  0.25 seconds by default.</p>
+ *
+ *  <p>The HUD is attached to the GUI node passed to the constructor or,
+ *  by default, to SimpleApplication.getGuiNode() or the PopupState's
+ *  GUI node.</p>
+ */
+public class GuiMetricsHudState extends BaseAppState {
+
+    public static final String ELEMENT_ID = "metricsHud";
+    public static final String GRAPH_ID = "graph";
+
+    private static final int FRAME_SAMPLES = 120;
+
+    private GuiMetrics metrics;
+    private Node guiNode;
+    private Node countRoot;
+    private String style;
+
+    private float refreshInterval = 0.25f;
+    private int topCount = 5;
+    private float frameBudget = 1 / 60f;
+    private float graphWidth = 240;
+    private float graphHeight = 48;
+
+    private Container hud;
+    private Label summary;
+    private Category[] categories;
+    private Label slowest;
+    private Label counts;
+    private FloatBuffer graphPositions;
+    private VertexBuffer graphBuffer;
+
+    private float[] frameTimes = new float[FRAME_SAMPLES];
+    private int frameIndex;
+    private float intervalTime;
+    private int intervalFrames;
+    private float intervalMax;
+
+    private final Map<String, Slow> slowControls = new HashMap<>();
+    private final LayoutTimer layoutTimer = new LayoutTimer();
+
+    public GuiMetricsHudState() {
+        this(null, null);
+    }
+
+    public GuiMetricsHudState( String style ) {
+        this(null, style);
+    }
+
+    public GuiMetricsHudState( Node guiNode, String style ) {
+        this.guiNode = guiNode;
+        this.style = style;
+        this.metrics = GuiMetrics.getInstance();
+    }
+
+    /**
+     *  Sets the time in seconds between updates of the text and
+     *  object counts.  Defaults to 0.25 seconds.
+     */
+    public void setRefreshInterval( float refreshInterval ) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public float getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     *  Sets how many of the slowest GuiControl layouts are listed.
+     *  Defaults to 5.
+     */
+    public void setTopCount( int topCount ) {
+        this.topCount = topCount;
+    }
+
+    public int getTopCount() {
+        return topCount;
+    }
+
+    /**
+     *  Sets the frame time in seconds that the progress bars and graph
+     *  are scaled to.  Defaults to 1/60th of a second.
+     */
+    public void setFrameBudget( float frameBudget ) {
+        this.frameBudget = frameBudget;
+    }
+
+    public float getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     *  Sets the scene whose panels, geometries, and materials are
+     *  counted.  Defaults to the GUI node.
+     */
+    public void setCountRoot( Node countRoot ) {
+        this.countRoot = countRoot;
+    }
+
+    public Node getCountRoot() {
+        return countRoot;
+    }
+
+    public Container getHud() {
+        return hud;
+    }
+
+    /**
+     *  Sets the GUI node that the HUD is attached to.  By default, this
+     *  is SimpleApplication.getGuiNode() or the PopupState's GUI node.
+     */
+    public void setGuiNode( Node guiNode ) {
+        if( this.guiNode == guiNode ) {
+            return;
+        }
+        this.guiNode = guiNode;
+        if( isEnabled() ) {
+            hud.removeFromParent();
+            Node root = getGuiNode();
+            if( root != null ) {
+                root.attachChild(hud);
+            }
+        }
+    }
+
+    public Node getGuiNode() {
+        if( guiNode != null ) {
+            return guiNode;
+        }
+        Application app = getApplication();
+        if( app instanceof SimpleApplication ) {
+            this.guiNode = ((SimpleApplication)app).getGuiNode();
+        } else if( GuiGlobals.getInstance() != null ) {
+            PopupState popups = GuiGlobals.getInstance().getPopupState();
+            if( popups != null ) {
+                this.guiNode = popups.getGuiNode();
+            }
+        }
+        return guiNode;
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+        ElementId id = new ElementId(ELEMENT_ID);
+        hud = new Container(id, style);
+        summary = hud.addChild(new Label("", id.child("summary"), style));
+
+        categories = new Category[] {
+                new Category("Layout", metrics.layoutRevalidate),
+                new Category("Picking", metrics.pickCursorMoved),
+                new Category("Style", metrics.styleApply),
+                new Category("Text", metrics.textRebuilds),
+                new Category("Animation", metrics.animUpdate)
+            };
+        for( Category c : categories ) {
+            c.bar = hud.addChild(new ProgressBar(id.child("bar"), style));
+        }
+
+        hud.addChild(createGraph(id.child(GRAPH_ID)));
+        slowest = hud.addChild(new Label("", id.child("slowest"), style));
+        counts = hud.addChild(new Label("", id.child("counts"), style));
+    }
+
+    protected Panel createGraph( ElementId id ) {
+        Panel panel = new Panel(graphWidth, graphHeight, id, style);
+
+        // One line strip vertex per frame sample, rewritten in place
+        // every frame.
+        graphPositions = BufferUtils.createFloatBuffer(FRAME_SAMPLES * 3);
+        Mesh mesh = new Mesh();
+        mesh.setMode(Mesh.Mode.LineStrip);
+        mesh.setBuffer(VertexBuffer.Type.Position, 3, graphPositions);
+        graphBuffer = mesh.getBuffer(VertexBuffer.Type.Position);
+        graphBuffer.setUsage(VertexBuffer.Usage.Stream);
+
+        // The graph never leaves its box so the bounds never change
+        float hw = graphWidth * 0.5f;
+        float hh = graphHeight * 0.5f;
+        mesh.setBound(new BoundingBox(new Vector3f(hw, -hh, 0), hw, hh, 0));
+
+        Geometry geom = new Geometry("frameGraph", mesh);
+        Material mat = GuiGlobals.getInstance().createMaterial(ColorRGBA.Green, false).getMaterial();
+        geom.setMaterial(mat);
+        geom.setLocalTranslation(0, 0, 0.1f);
+        panel.attachChild(geom);
+        updateGraph();
+        return panel;
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+    }
+
+    @Override
+    protected void onEnable() {
+        Node root = getGuiNode();
+        if( root == null ) {
+            throw new IllegalStateException("No GUI node found.  Use setGuiNode() or the"
+                                            + " GuiMetricsHudState(Node, String) constructor.");
+        }
+        metrics.enable();
+        metrics.addExcludedRoot(hud);
+        for( Category c : categories ) {
+            c.last = c.metric.getNanos();
+            c.interval = 0;
+        }
+        metrics.addLayoutTimingListener(layoutTimer);
+        resetInterval();
+
+        Camera cam = getApplication().getCamera();
+        hud.setLocalTranslation(10, cam.getHeight() - 10, 100);
+        root.attachChild(hud);
+    }
+
+    @Override
+    public void update( float tpf ) {
+        for( Category c : categories ) {
+            long nanos = c.metric.getNanos();
+            // Publishing resets the metrics so a smaller value
+            // means everything since the reset is new.
+            c.interval += nanos >= c.last ? nanos - c.last : nanos;
+            c.last = nanos;
+        }
+
+        frameTimes[frameIndex] = tpf;
+        frameIndex = (frameIndex + 1) % FRAME_SAMPLES;
+        updateGraph();
+
+        intervalTime += tpf;
+        intervalFrames++;
+        intervalMax = Math.max(intervalMax, tpf);
+        if( intervalTime >= refreshInterval ) {
+            refreshText();
+            resetInterval();
+        }
+    }
+
+    protected void updateGraph() {
+        float max = frameBudget * 2;
+        float step = graphWidth / (FRAME_SAMPLES - 1);
+        graphPositions.rewind();
+        for( int i = 0; i < FRAME_SAMPLES; i++ ) {
+            // Oldest first
+            float t = frameTimes[(frameIndex + i) % FRAME_SAMPLES];
+            float y = Math.min(t / max, 1) * graphHeight;
+            graphPositions.put(i * step).put(y - graphHeight).put(0);
+        }
+        graphPositions.rewind();
+        graphBuffer.setUpdateNeeded();
+    }
+
+    protected void resetInterval() {
+        for( Category c : categories ) {
+            c.interval = 0;
+        }
+        intervalTime = 0;
+        intervalFrames = 0;
+        intervalMax = 0;
+        synchronized( slowControls ) {
+            slowControls.clear();
+        }
+    }
+
+    protected void refreshText() {
+        int frames = Math.max(1, intervalFrames);
+        summary.setText(String.format("Frame: %.2f ms avg, %.2f ms max",
+                                      intervalTime * 1000 / frames, intervalMax * 1000));
+
+        double budget = frameBudget * 1000.0;
+        for( Category c : categories ) {
+            double ms = c.interval / 1000000.0 / frames;
+            c.bar.setProgressPercent(Math.min(1, ms / budget));
+            c.bar.setMessage(String.format("%s: %.3f ms", c.name, ms));
+        }
+
+        List<Slow> list;
+        synchronized( slowControls ) {
+            list = new ArrayList<>(slowControls.values());
+        }
+        Collections.sort(list);
+        StringBuilder sb = new StringBuilder("Slowest layouts:");
+        for( int i = 0; i < topCount && i < list.size(); i++ ) {
+            Slow s = list.get(i);
+            sb.append(String.format("\n  %s %.3f ms (x%d)", s.id, s.nanos / 1000000.0, s.count));
+        }
+        slowest.setText(sb.toString());
+
+        ObjectCounter counter = new ObjectCounter();
+        counter.count(countRoot != null ? countRoot : getGuiNode());
+        counts.setText("Panels: " + counter.panels
+                       + "  Geometries: " + counter.geometries
+                       + "  Materials: " + counter.materials.size());
+    }
+
+    @Override
+    protected void onDisable() {
+        hud.removeFromParent();
+        metrics.removeLayoutTimingListener(layoutTimer);
+        metrics.removeExcludedRoot(hud);
+        metrics.disable();
+    }
+
+    protected static String getId( GuiControl control ) {
+        Node node = control.getNode();
+        if( node instanceof Panel ) {
+            return String.valueOf(((Panel)node).getElementId());
+        }
+        return node == null ? String.valueOf(control) : node.getName();
+    }
+
+    private static class Category {
+        String name;
+        GuiMetrics.Metric metric;
+        ProgressBar bar;
+        long last;
+        long interval;
+
+        public Category( String name, GuiMetrics.Metric metric ) {
+            this.name = name;
+            this.metric = metric;
+        }
+    }
+
+    private static class Slow implements Comparable<Slow> {
+        String id;
+        long nanos;
+        int count;
+
+        public Slow( String id ) {
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo( Slow other ) {
+            return Long.compare(other.nanos, nanos);
+        }
+    }
+
+    /**
+     *  Collects the layout time per ElementId.  Layout can happen on
+     *  other threads so the map is synchronized.
+     */
+    private class LayoutTimer implements GuiMetrics.LayoutTimingListener {
+        @Override
+        public void layoutTimed( GuiControl control, long time ) {
+            String id = getId(control);
+            synchronized( slowControls ) {
+                Slow s = slowControls.get(id);
+                if( s == null ) {
+                    s = new Slow(id);
+                    slowControls.put(id, s);
+                }
+                s.nanos += time;
+                s.count++;
+            }
+        }
+    }
+
+    /**
+     *  Walks a scene counting the things that tend to make a GUI
+     *  expensive to update and render.
+     */
+    private class ObjectCounter {
+        int panels;
+        int geometries;
+        Set<Material> materials = Collections.newSetFromMap(new IdentityHashMap<Material, Boolean>());
+
+        public void count( Spatial s ) {
+            if( s == null || s == hud ) {
+                return;
+            }
+            if( s instanceof Panel ) {
+                panels++;
+            }
+            if( s instanceof Geometry ) {
+                geometries++;
+                materials.add(((Geometry)s).getMaterial());
+            } else if( s instanceof Node ) {
+                for( Spatial child : ((Node)s).getChildren() ) {
+                    count(child);
+                }
+            }
+        }
+    }
+}
@@ -34,13 +34,15 @@
 
 package com.simsilica.lemur;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Method;
 
+import com.simsilica.lemur.core.MethodInvokers;
+
 
 /**
  *  A Command implementation that calls a configured
- *  no-argument method through reflection.
+ *  no-argument method through a cached MethodHandle.
  *
  *  @author    Paul Speed
  */
@@ -48,28 +50,27 @@ public class MethodCommand<S> implements Command<S> {
 
     private Object delegate;
     private Method method;
+    private MethodHandle handle;
 
     public MethodCommand( Object delegate, String methodName ) {
         this.delegate = delegate;
-
-        try {
-            this.method = delegate.getClass().getMethod(methodName);
-        } catch( NoSuchMethodException e ) {
-            throw new RuntimeException("Cannot find method:" + methodName + " on " + delegate.getClass(), e);
+        this.method = MethodInvokers.findMethod(delegate.getClass(), methodName);
+        if( method == null ) {
+            throw new RuntimeException("Cannot find method:" + methodName + " on " + delegate.getClass());
         }
+        this.handle = MethodInvokers.bindAll(delegate, method);
     }
 
     public MethodCommand( Object delegate, Method method ) {
         this.delegate = delegate;
         this.method = method;
+        this.handle = MethodInvokers.bindAll(delegate, method);
     }
 
     public void execute( S source ) {
         try {
-            method.invoke(delegate);
-        } catch( InvocationTargetException e ) {
-            throw new RuntimeException("Error delegating to:" + method, e);
-        } catch( IllegalAccessException e ) {
+            handle.invokeExact();
+        } catch( Throwable e ) {
             throw new RuntimeException("Error delegating to:" + method, e);
         }
     }
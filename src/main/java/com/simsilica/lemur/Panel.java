@@ -302,6 +302,10 @@ public class Panel extends Node {
                 ((ColoredComponent)c).setAlpha(alpha);
             }
         }
+        // Only a panel whose children faded with it is really invisible.
+        // A non-recursive fade of a container's background to 0 must not
+        // suspend the layout of its still visible children.
+        getControl(GuiControl.class).setFullyTransparent(alpha <= 0 && (recursive || !hasGuiChildren()));
  
         if( recursive ) {       
             // also do any children that are panels
@@ -311,6 +315,15 @@ public class Panel extends Node {
         }        
     }
     
+    private boolean hasGuiChildren() {
+        for( Spatial s : getChildren() ) {
+            if( s.getControl(GuiControl.class) != null ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected void setChildAlpha( Spatial child, float alpha ) {
         if( child instanceof Panel ) {
             ((Panel)child).setAlpha(alpha, true);
@@ -359,7 +372,8 @@ public class Panel extends Node {
      *  has specified a channel.  Otherwise all effects are run independently.
      *
      *  @return True if the effect existed and was run.  False if no effect
-     *          was found.
+     *          was found or if a higher priority effect running on the same
+     *          channel kept it from running.
      */
     public boolean runEffect( String effectName ) {
         EffectControl<Panel> effects = getEffectControl();
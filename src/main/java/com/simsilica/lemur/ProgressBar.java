@@ -41,6 +41,7 @@ import com.simsilica.lemur.component.QuadBackgroundComponent;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.AbstractGuiControlListener;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedListener;
 import com.simsilica.lemur.style.Attributes;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.StyleDefaults;
@@ -67,6 +68,7 @@ public class ProgressBar extends Panel {
     
     private RangedValueModel model;
     private VersionedReference<Double> state;
+    private StateWatcher stateWatcher = new StateWatcher();
  
     public ProgressBar() {
         this(new DefaultRangedValueModel(), true, new ElementId(ELEMENT_ID), null);
@@ -177,6 +179,9 @@ public class ProgressBar extends Panel {
             model = new DefaultRangedValueModel();
         }
         this.model = model;
+        if( state != null ) {
+            state.unwatch();
+        }
         this.state = null;
     }
  
@@ -223,8 +228,16 @@ public class ProgressBar extends Panel {
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
 
-        if( state == null || state.update() ) {
+        // Watched states will call resetStateView() themselves when
+        // the model changes.  Otherwise we poll and try to start watching
+        // again in case a VersionedUpdateState has been (re)enabled.
+        if( state == null ) {
             resetStateView();
+        } else if( !state.isWatched() ) {
+            if( state.update() ) {
+                resetStateView();
+            }
+            state.watch(stateWatcher);
         }
     }
 
@@ -251,4 +264,11 @@ public class ProgressBar extends Panel {
             resetStateView();
         }
     }
+
+    private class StateWatcher implements VersionedListener<Double> {
+        @Override
+        public void versionChanged( VersionedReference<Double> ref ) {
+            resetStateView();
+        }
+    }
 }
@@ -39,6 +39,7 @@ import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedListener;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
 
@@ -57,6 +58,7 @@ public class RollupPanel extends Panel {
     private Panel contents;
     private CheckboxModel openModel = new OpenCheckboxModel(true);
     private VersionedReference<Boolean> openRef = openModel.createReference();
+    private OpenWatcher openWatcher = new OpenWatcher();
 
     public RollupPanel( String title, String style ) {
         this(title, null, true, new ElementId("rollup"), style);
@@ -191,6 +193,7 @@ public class RollupPanel extends Panel {
             return;
         }
         this.openModel = cm;
+        openRef.unwatch();
         this.openRef = openModel.createReference();
         resetOpen();
     }
@@ -207,8 +210,11 @@ public class RollupPanel extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
 
-        if( openRef != null && openRef.update() ) {
-            resetOpen();
+        if( openRef != null && !openRef.isWatched() ) {
+            if( openRef.update() ) {
+                resetOpen();
+            }
+            openRef.watch(openWatcher);
         }
     }
 
@@ -244,4 +250,11 @@ public class RollupPanel extends Panel {
             resetOpen();
         }
     }
+
+    private class OpenWatcher implements VersionedListener<Boolean> {
+        @Override
+        public void versionChanged( VersionedReference<Boolean> ref ) {
+            resetOpen();
+        }
+    }
 }
@@ -0,0 +1,655 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import java.util.*;
+
+import org.slf4j.*;
+
+import com.jme3.material.MatParamOverride;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Vector3f;
+import com.jme3.math.Vector4f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.shader.VarType;
+
+import com.simsilica.lemur.component.AbstractGuiComponent;
+import com.simsilica.lemur.component.BorderLayout;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiLayout;
+import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.event.CursorEventControl;
+import com.simsilica.lemur.event.CursorMotionEvent;
+import com.simsilica.lemur.event.DefaultCursorListener;
+import com.simsilica.lemur.event.PickClip;
+import com.simsilica.lemur.style.ElementId;
+import com.simsilica.lemur.style.StyleAttribute;
+import com.simsilica.lemur.style.Styles;
+
+
+/**
+ *  A container that stacks its children vertically and shows them
+ *  through a viewport that can be scrolled with the slider on the
+ *  side or the mouse wheel.  Children are stretched to the width
+ *  of the viewport.
+ *
+ *  <p>Children that are completely outside of the viewport (plus the
+ *  optional preload margin) are detached from the scene.  They are not
+ *  rendered, picked, updated, or laid out.  Their preferred sizes are
+ *  cached and only checked again when they scroll back into view, so
+ *  the cost of a frame depends on the number of visible children and
+ *  not the total number of children.</p>
+ *
+ *  <p>Children that are only partially visible are clipped two ways.
+ *  The PickEventSession ignores hits outside of the viewport because the
+ *  viewport is a PickClip.  For rendering, the viewport sets ClipRect and
+ *  ClipMatrix material parameter overrides for its whole subtree.  Any
+ *  material whose definition declares those parameters discards the pixels
+ *  outside of the viewport.  Lemur's NineSlice and SdfText materials do
+ *  but JME's stock materials, including the Unshaded material that
+ *  GuiGlobals.createMaterial() uses, do not.  So by default only children
+ *  that fit completely are shown.  An application whose children all use
+ *  clipping materials can call setShowPartialChildren(true).</p>
+ */
+public class ScrollPanel extends Panel {
+
+    static Logger log = LoggerFactory.getLogger(ScrollPanel.class);
+
+    public static final String ELEMENT_ID = "scrollPanel";
+    public static final String CONTAINER_ID = "container";
+    public static final String VIEWPORT_ID = "viewport";
+    public static final String SLIDER_ID = "slider";
+
+    /**
+     *  The Vector4 material parameter holding the viewport's
+     *  x1, y1, x2, y2 visible rectangle in viewport space.
+     */
+    public static final String CLIP_RECT = "ClipRect";
+
+    /**
+     *  The Matrix4 material parameter holding the transform from
+     *  world space to viewport space.
+     */
+    public static final String CLIP_MATRIX = "ClipMatrix";
+
+    private BorderLayout layout;
+    private Viewport viewport;
+    private ViewportLayout viewLayout;
+    private Slider slider;
+    private RangedValueModel scrollModel;
+    private VersionedReference<Double> scrollRef;
+    private float maxViewHeight;
+    private float preloadMargin;
+    private boolean showPartialChildren = false;
+    private boolean scrollOnHover = true;
+    private float scrollStep = 20;
+    private BackgroundListener backgroundListener = new BackgroundListener();
+
+    public ScrollPanel() {
+        this(true, new ElementId(ELEMENT_ID), null);
+    }
+
+    public ScrollPanel( String style ) {
+        this(true, new ElementId(ELEMENT_ID), style);
+    }
+
+    public ScrollPanel( ElementId elementId ) {
+        this(true, elementId, null);
+    }
+
+    public ScrollPanel( ElementId elementId, String style ) {
+        this(true, elementId, style);
+    }
+
+    protected ScrollPanel( boolean applyStyles, ElementId elementId, String style ) {
+        super(false, elementId.child(CONTAINER_ID), style);
+
+        this.layout = new BorderLayout();
+        getControl(GuiControl.class).setLayout(layout);
+
+        viewLayout = new ViewportLayout();
+        viewport = new Viewport(elementId.child(VIEWPORT_ID), style);
+        viewport.getControl(GuiControl.class).setLayout(viewLayout);
+        layout.addChild(viewport, BorderLayout.Position.Center);
+
+        scrollModel = new DefaultRangedValueModel(0, 0, 0);
+        scrollRef = scrollModel.createReference();
+        slider = new Slider(scrollModel, Axis.Y, elementId.child(SLIDER_ID), style);
+        slider.setDelta(scrollStep);
+        layout.addChild(slider, BorderLayout.Position.East);
+
+        if( applyStyles ) {
+            Styles styles = GuiGlobals.getInstance().getStyles();
+            styles.applyStyles(this, getElementId(), style);
+        }
+
+        // Listen to our own mouse events that don't hit something else
+        CursorEventControl.addListenersToSpatial(this, backgroundListener);
+    }
+
+    @Override
+    public void updateLogicalState( float tpf ) {
+        super.updateLogicalState(tpf);
+
+        if( scrollRef.update() ) {
+            viewLayout.refreshView(false);
+        }
+    }
+
+    public <T extends Node> T addChild( T child ) {
+        return viewLayout.addChild(child);
+    }
+
+    public void removeChild( Node child ) {
+        viewLayout.removeChild(child);
+    }
+
+    public void clearChildren() {
+        viewLayout.clearChildren();
+    }
+
+    /**
+     *  Returns all of the children managed by this scroll panel whether
+     *  they are currently visible or not.
+     */
+    public Collection<Node> getScrollChildren() {
+        return viewLayout.getChildren();
+    }
+
+    /**
+     *  Returns the number of children that are currently attached
+     *  because they are in or near the viewport.
+     */
+    public int getShownCount() {
+        return viewLayout.shown.size();
+    }
+
+    public Panel getViewport() {
+        return viewport;
+    }
+
+    public Slider getSlider() {
+        return slider;
+    }
+
+    /**
+     *  Sets the distance from the top of the content to the
+     *  top of the viewport.
+     */
+    public void setScroll( float offset ) {
+        scrollModel.setValue(scrollModel.getMaximum() - offset);
+    }
+
+    public float getScroll() {
+        return (float)(scrollModel.getMaximum() - scrollModel.getValue());
+    }
+
+    /**
+     *  Scrolls the minimum amount needed to make the specified child
+     *  completely visible, if it fits.
+     */
+    public void scrollTo( Node child ) {
+        Entry e = viewLayout.index.get(child);
+        if( e == null || e.pref == null ) {
+            return;
+        }
+        float scroll = getScroll();
+        if( e.top < scroll ) {
+            setScroll(e.top);
+        } else if( e.top + e.pref.y > scroll + viewLayout.viewHeight ) {
+            setScroll(e.top + e.pref.y - viewLayout.viewHeight);
+        }
+    }
+
+    /**
+     *  Sets the maximum height that this scroll panel will ask for
+     *  as its preferred size.  Defaults to 0, meaning that the viewport
+     *  prefers to be as tall as all of its content and will only scroll
+     *  if its parent or setPreferredSize() gives it less room.
+     */
+    @StyleAttribute(value="maxViewHeight", lookupDefault=false)
+    public void setMaxViewHeight( float maxViewHeight ) {
+        this.maxViewHeight = maxViewHeight;
+        viewLayout.invalidate();
+    }
+
+    public float getMaxViewHeight() {
+        return maxViewHeight;
+    }
+
+    /**
+     *  Sets the distance above and below the viewport within which
+     *  children are kept attached and laid out even though they can't
+     *  be seen yet.  This can smooth out scrolling through children that
+     *  are expensive to lay out.  Defaults to 0.
+     */
+    public void setPreloadMargin( float preloadMargin ) {
+        this.preloadMargin = preloadMargin;
+        viewLayout.refreshView(false);
+    }
+
+    public float getPreloadMargin() {
+        return preloadMargin;
+    }
+
+    /**
+     *  Set to true to also show children that only partially fit in
+     *  the viewport.  Only do this when all of the children use materials
+     *  that support the ClipRect parameter, otherwise they will draw
+     *  outside of the viewport.  Defaults to false.
+     */
+    public void setShowPartialChildren( boolean showPartialChildren ) {
+        this.showPartialChildren = showPartialChildren;
+        viewLayout.refreshView(false);
+    }
+
+    public boolean getShowPartialChildren() {
+        return showPartialChildren;
+    }
+
+    /**
+     *  Set to true to enable mouse-wheel style scrolling when the
+     *  mouse is hovering over the scroll panel.
+     */
+    @StyleAttribute(value="scrollOnHover", lookupDefault=false)
+    public void setScrollOnHover( boolean f ) {
+        this.scrollOnHover = f;
+    }
+
+    public boolean getScrollOnHover() {
+        return scrollOnHover;
+    }
+
+    /**
+     *  Sets the distance that one mouse wheel notch or slider
+     *  button press scrolls.  Defaults to 20.
+     */
+    @StyleAttribute(value="scrollStep", lookupDefault=false)
+    public void setScrollStep( float scrollStep ) {
+        this.scrollStep = scrollStep;
+        slider.setDelta(scrollStep);
+    }
+
+    public float getScrollStep() {
+        return scrollStep;
+    }
+
+    protected void scroll( int amount ) {
+        scrollModel.setValue(scrollModel.getValue() + scrollStep * amount);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[elementId=" + getElementId() + "]";
+    }
+
+    private static class Entry {
+        Node node;
+        Vector3f pref;
+        float top;
+        boolean attached;
+        boolean keep;
+
+        public Entry( Node node ) {
+            this.node = node;
+        }
+    }
+
+    /**
+     *  Lays out only the children that are in or near the viewport
+     *  and attaches/detaches the others as the view scrolls.
+     */
+    private class ViewportLayout extends AbstractGuiComponent
+                                 implements GuiLayout, Cloneable {
+        private GuiControl parent;
+        private List<Node> children = new ArrayList<>();
+        private List<Entry> entries = new ArrayList<>();
+        private Map<Node, Entry> index = new HashMap<>();
+        private List<Entry> shown = new ArrayList<>();
+        private List<Entry> nextShown = new ArrayList<>();
+        private Vector3f origin = new Vector3f();
+        private float contentWidth;
+        private float contentHeight;
+        private float contentDepth;
+        private float viewWidth;
+        private float viewHeight;
+        private float viewDepth;
+
+        @Override
+        public ViewportLayout clone() {
+            ViewportLayout result = (ViewportLayout)super.clone();
+            result.parent = null;
+            result.children = new ArrayList<>();
+            result.entries = new ArrayList<>();
+            result.index = new HashMap<>();
+            result.shown = new ArrayList<>();
+            result.nextShown = new ArrayList<>();
+            result.origin = new Vector3f();
+            return result;
+        }
+
+        @Override
+        protected void invalidate() {
+            if( parent != null ) {
+                parent.invalidate();
+            }
+        }
+
+        protected void measure( Entry e ) {
+            e.pref = e.node.getControl(GuiControl.class).getPreferredSize().clone();
+        }
+
+        protected void refreshTops() {
+            float y = 0;
+            float width = 0;
+            float depth = 0;
+            for( Entry e : entries ) {
+                if( e.pref == null ) {
+                    // First time we've seen it
+                    measure(e);
+                }
+                e.top = y;
+                y += e.pref.y;
+                width = Math.max(width, e.pref.x);
+                depth = Math.max(depth, e.pref.z);
+            }
+            contentWidth = width;
+            contentHeight = y;
+            contentDepth = depth;
+        }
+
+        @Override
+        public void calculatePreferredSize( Vector3f size ) {
+            // Attached children may have changed since we last looked
+            // at them.  The rest keep their cached sizes until they
+            // scroll back into view.
+            for( Entry e : shown ) {
+                measure(e);
+            }
+            refreshTops();
+
+            float height = contentHeight;
+            if( maxViewHeight > 0 ) {
+                height = Math.min(height, maxViewHeight);
+            }
+            size.set(contentWidth, height, contentDepth);
+        }
+
+        @Override
+        public void reshape( Vector3f pos, Vector3f size ) {
+            origin.set(pos);
+            viewWidth = size.x;
+            viewHeight = size.y;
+            viewDepth = size.z;
+            viewport.setClipRect(pos.x, pos.y - size.y, pos.x + size.x, pos.y);
+
+            refreshTops();
+            refreshView(true);
+        }
+
+        protected void resetRange() {
+            float offset = getScroll();
+            float max = Math.max(0, contentHeight - viewHeight);
+            scrollModel.setMinimum(0);
+            scrollModel.setMaximum(max);
+            scrollModel.setValue(max - Math.min(offset, max));
+
+            // We're already taking care of it
+            scrollRef.update();
+        }
+
+        /**
+         *  Returns the index of the first entry whose bottom is
+         *  below the specified content position.
+         */
+        protected int findFirst( float y ) {
+            int low = 0;
+            int high = entries.size();
+            while( low < high ) {
+                int mid = (low + high) >>> 1;
+                Entry e = entries.get(mid);
+                if( e.top + e.pref.y <= y ) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        protected void refreshView( boolean resize ) {
+            if( parent == null ) {
+                return;
+            }
+            resetRange();
+
+            boolean remeasured = false;
+            float scroll = getScroll();
+            float visibleTop = scroll;
+            float visibleBottom = scroll + viewHeight;
+            float top = visibleTop - preloadMargin;
+            float bottom = visibleBottom + preloadMargin;
+
+            nextShown.clear();
+            for( int i = findFirst(top); i < entries.size(); i++ ) {
+                Entry e = entries.get(i);
+                if( e.top >= bottom ) {
+                    break;
+                }
+                if( !showPartialChildren && (e.top < visibleTop || e.top + e.pref.y > visibleBottom) ) {
+                    continue;
+                }
+                e.keep = true;
+                nextShown.add(e);
+            }
+
+            // Detach anything that scrolled out of view
+            Node self = parent.getNode();
+            for( Entry e : shown ) {
+                if( !e.keep ) {
+                    self.detachChild(e.node);
+                    e.attached = false;
+                }
+            }
+
+            for( Entry e : nextShown ) {
+                e.keep = false;
+                boolean sizeChild = resize;
+                if( !e.attached ) {
+                    self.attachChild(e.node);
+                    e.attached = true;
+                    sizeChild = true;
+
+                    // It may have changed while it was detached
+                    float lastHeight = e.pref.y;
+                    measure(e);
+                    if( e.pref.y != lastHeight ) {
+                        remeasured = true;
+                    }
+                }
+                e.node.setLocalTranslation(origin.x, origin.y - (e.top - scroll), origin.z);
+                if( sizeChild ) {
+                    e.node.getControl(GuiControl.class).setSize(new Vector3f(viewWidth, e.pref.y, viewDepth));
+                }
+            }
+
+            List<Entry> temp = shown;
+            shown = nextShown;
+            nextShown = temp;
+
+            if( remeasured ) {
+                // Children that came back into view changed size while
+                // they were detached so everything below them moved.
+                refreshTops();
+                refreshView(true);
+            }
+        }
+
+        @Override
+        public <T extends Node> T addChild( T n, Object... constraints ) {
+            if( n.getControl(GuiControl.class) == null )
+                throw new IllegalArgumentException("Child is not GUI element.");
+            if( constraints != null && constraints.length > 0 )
+                throw new IllegalArgumentException("Scroll panel layout does not take constraints.");
+            if( index.containsKey(n) ) {
+                return n;
+            }
+            Entry e = new Entry(n);
+            entries.add(e);
+            index.put(n, e);
+            children.add(n);
+
+            // It will be attached when it scrolls into view
+            invalidate();
+            return n;
+        }
+
+        @Override
+        public void removeChild( Node n ) {
+            Entry e = index.remove(n);
+            if( e == null ) {
+                return;
+            }
+            entries.remove(e);
+            children.remove(n);
+            shown.remove(e);
+            if( e.attached ) {
+                n.removeFromParent();
+                e.attached = false;
+            }
+            invalidate();
+        }
+
+        @Override
+        public Collection<Node> getChildren() {
+            return Collections.unmodifiableList(children);
+        }
+
+        @Override
+        public void clearChildren() {
+            for( Entry e : shown ) {
+                e.node.removeFromParent();
+                e.attached = false;
+            }
+            shown.clear();
+            entries.clear();
+            index.clear();
+            children.clear();
+            invalidate();
+        }
+
+        @Override
+        public void attach( GuiControl parent ) {
+            this.parent = parent;
+            // Children are attached as they scroll into view
+        }
+
+        @Override
+        public void detach( GuiControl parent ) {
+            for( Entry e : shown ) {
+                e.node.removeFromParent();
+                e.attached = false;
+            }
+            shown.clear();
+            this.parent = null;
+        }
+    }
+
+    /**
+     *  The panel that holds the visible children.  It clips picking
+     *  to its bounds and provides the ClipRect and ClipMatrix material
+     *  parameter overrides to everything below it.
+     */
+    private static class Viewport extends Panel implements PickClip {
+        private Vector4f clipRect = new Vector4f();
+        private Matrix4f clipMatrix = new Matrix4f();
+
+        public Viewport( ElementId elementId, String style ) {
+            super(elementId, style);
+            addMatParamOverride(new MatParamOverride(VarType.Vector4, CLIP_RECT, clipRect));
+            addMatParamOverride(new MatParamOverride(VarType.Matrix4, CLIP_MATRIX, clipMatrix));
+        }
+
+        protected void setClipRect( float x1, float y1, float x2, float y2 ) {
+            clipRect.set(x1, y1, x2, y2);
+        }
+
+        @Override
+        public void updateGeometricState() {
+            super.updateGeometricState();
+
+            // Keep the world-to-viewport transform current for the
+            // clipping shaders.
+            getWorldTransform().toTransformMatrix(clipMatrix);
+            clipMatrix.invertLocal();
+        }
+
+        @Override
+        public boolean isPickable( Geometry geom, Vector3f contactPoint ) {
+            if( geom.getParent() == this ) {
+                // The viewport's own component geometry, like its background,
+                // is never clipped.  It may extend into the insets outside
+                // of the clip rect.
+                return true;
+            }
+            Vector3f local = worldToLocal(contactPoint, null);
+            return local.x >= clipRect.x && local.x <= clipRect.z
+                && local.y >= clipRect.y && local.y <= clipRect.w;
+        }
+    }
+
+    /**
+     *  Listens to the whole scroll panel to intercept mouse wheel events.
+     *  This works as long as the children don't consume the motion events.
+     */
+    private class BackgroundListener extends DefaultCursorListener {
+        @Override
+        public void cursorMoved( CursorMotionEvent event, Spatial target, Spatial capture ) {
+            if( event.getScrollDelta() != 0 && scrollOnHover ) {
+                // Same as ListBox, always scroll at least one step
+                // even if the wheel doesn't report multiples of 120.
+                if( event.getScrollDelta() > 0 ) {
+                    scroll(Math.max(1, event.getScrollDelta() / 120));
+                } else {
+                    scroll(Math.min(-1, event.getScrollDelta() / 120));
+                }
+            }
+        }
+    }
+}
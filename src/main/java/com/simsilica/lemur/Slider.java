@@ -39,6 +39,7 @@ import com.simsilica.lemur.style.Attributes;
 import com.simsilica.lemur.style.ElementId;
 import com.simsilica.lemur.style.Styles;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedListener;
 import com.simsilica.lemur.core.GuiControl;
 import com.jme3.input.MouseInput;
 import com.jme3.math.Vector2f;
@@ -86,6 +87,7 @@ public class Slider extends Panel {
     private RangedValueModel model;
     private double delta = 1.0f;
     private VersionedReference<Double> state;
+    private StateWatcher stateWatcher = new StateWatcher();
 
     public Slider() {
         this(new DefaultRangedValueModel(), Axis.X, true, new ElementId(ELEMENT_ID), null);
@@ -205,6 +207,9 @@ public class Slider extends Panel {
         if( this.model == model )
             return;
         this.model = model;
+        if( state != null ) {
+            state.unwatch();
+        }
         this.state = null;
     }
 
@@ -279,8 +284,16 @@ public class Slider extends Panel {
     public void updateLogicalState(float tpf) {
         super.updateLogicalState(tpf);
 
-        if( state == null || state.update() ) {
+        // Watched states will call resetStateView() themselves when
+        // the model changes.  Otherwise we poll and try to start watching
+        // again in case a VersionedUpdateState has been (re)enabled.
+        if( state == null ) {
             resetStateView();
+        } else if( !state.isWatched() ) {
+            if( state.update() ) {
+                resetStateView();
+            }
+            state.watch(stateWatcher);
         }
     }
 
@@ -411,4 +424,11 @@ public class Slider extends Panel {
             event.setConsumed();
         }
     }
+
+    private class StateWatcher implements VersionedListener<Double> {
+        @Override
+        public void versionChanged( VersionedReference<Double> ref ) {
+            resetStateView();
+        }
+    }
 }
@@ -43,6 +43,7 @@ import com.jme3.math.ColorRGBA;
 import com.simsilica.lemur.core.VersionedHolder;
 import com.simsilica.lemur.core.VersionedObject;
 import com.simsilica.lemur.core.VersionedReference;
+import com.simsilica.lemur.core.VersionedListener;
 import com.simsilica.lemur.component.BorderLayout;
 import com.simsilica.lemur.component.SpringGridLayout;
 import com.simsilica.lemur.core.GuiControl;
@@ -69,6 +70,7 @@ public class TabbedPanel extends Panel {
     
     private VersionedHolder<Tab> selectionModel = new VersionedHolder<>();
     private VersionedReference<Tab> selectionRef = selectionModel.createReference();  
+    private SelectionWatcher selectionWatcher = new SelectionWatcher();
     private Tab displayedTab;
     
     private ColorRGBA activationColor = ColorRGBA.Cyan;    
@@ -257,8 +259,11 @@ public class TabbedPanel extends Panel {
     public void updateLogicalState( float tpf ) {
         super.updateLogicalState(tpf);
 
-        if( selectionRef != null && selectionRef.update() ) {
-            setDisplayedTab(selectionRef.get());
+        if( selectionRef != null && !selectionRef.isWatched() ) {
+            if( selectionRef.update() ) {
+                setDisplayedTab(selectionRef.get());
+            }
+            selectionRef.watch(selectionWatcher);
         }
     }
  
@@ -322,4 +327,11 @@ public class TabbedPanel extends Panel {
             setSelectedTab(tab);
         }
     }
+
+    private class SelectionWatcher implements VersionedListener<Tab> {
+        @Override
+        public void versionChanged( VersionedReference<Tab> ref ) {
+            setDisplayedTab(ref.get());
+        }
+    }
 }
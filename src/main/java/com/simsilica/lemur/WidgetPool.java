@@ -0,0 +1,555 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur;
+
+import java.util.*;
+
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.control.Control;
+
+import com.simsilica.lemur.Button.ButtonAction;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiLayout;
+import com.simsilica.lemur.effect.Effect;
+import com.simsilica.lemur.effect.EffectControl;
+import com.simsilica.lemur.event.CursorEventControl;
+import com.simsilica.lemur.event.CursorListener;
+import com.simsilica.lemur.event.MouseEventControl;
+import com.simsilica.lemur.event.MouseListener;
+import com.simsilica.lemur.style.ElementId;
+
+
+/**
+ *  Keeps pools of reusable GUI elements per (class, ElementId, style)
+ *  so that frequently created and discarded elements like list rows,
+ *  tool tips, or popup buttons don't pay the full construction and
+ *  styling cost every time.
+ *
+ *  <p>Elements are obtained with acquire() and given back with release().
+ *  The pool tracks every element it has handed out until it is released
+ *  or discard()ed, so callers that decide not to return an element should
+ *  discard() it rather than simply dropping it.
+ *  A snapshot of each element is taken when it is first created and
+ *  release() uses it to undo the per-use changes a caller is likely to
+ *  have made: the element is detached from its parent, its transform,
+ *  alpha, and preferred size are restored, running effects are canceled,
+ *  controls, mouse/cursor listeners, effects, and button commands added
+ *  since creation are removed, label text is cleared, checkboxes are
+ *  unchecked, and container children are removed.  Styled attributes that were changed directly
+ *  (colors, backgrounds, etc.) and GuiControl listeners are not restored
+ *  unless restyling on release is enabled.</p>
+ *
+ *  <p>Factories are registered by class and Panel, Label, Button, Checkbox,
+ *  and Container are registered by default.  Like the rest of Lemur, this
+ *  class is meant to be used from the render thread.</p>
+ */
+public class WidgetPool {
+
+    private final Map<Class, Factory> factories = new HashMap<>();
+    private final Map<PoolKey, ArrayDeque<Panel>> pools = new HashMap<>();
+    // The snapshots refer to controls and listeners that refer back to their
+    // panels so a weak map would never let go.  Entries are removed explicitly
+    // when an element is discarded or cleared.
+    private final Map<Panel, Snapshot> snapshots = new IdentityHashMap<>();
+    private int maxPerKey = 64;
+    private boolean restyle = false;
+
+    private long hits;
+    private long misses;
+    private long releases;
+    private long discards;
+
+    public WidgetPool() {
+        registerDefaults();
+    }
+
+    protected void registerDefaults() {
+        setFactory(Panel.class, new Factory<Panel>() {
+                public Panel create( ElementId elementId, String style ) {
+                    return new Panel(elementId, style);
+                }
+            });
+        setFactory(Label.class, new Factory<Label>() {
+                public Label create( ElementId elementId, String style ) {
+                    return new Label("", elementId, style);
+                }
+            });
+        setFactory(Button.class, new Factory<Button>() {
+                public Button create( ElementId elementId, String style ) {
+                    return new Button("", elementId, style);
+                }
+            });
+        setFactory(Checkbox.class, new Factory<Checkbox>() {
+                public Checkbox create( ElementId elementId, String style ) {
+                    return new Checkbox("", elementId, style);
+                }
+            });
+        setFactory(Container.class, new Factory<Container>() {
+                public Container create( ElementId elementId, String style ) {
+                    return new Container(elementId, style);
+                }
+            });
+    }
+
+    /**
+     *  Sets the factory used to create new instances of the specified type.
+     */
+    public <T extends Panel> void setFactory( Class<T> type, Factory<T> factory ) {
+        factories.put(type, factory);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T extends Panel> Factory<T> getFactory( Class<T> type ) {
+        return (Factory<T>)factories.get(type);
+    }
+
+    /**
+     *  Sets the maximum number of idle elements kept for any one
+     *  (class, ElementId, style) key.  Elements released beyond that are
+     *  discarded.  Defaults to 64.
+     */
+    public void setMaxPerKey( int maxPerKey ) {
+        this.maxPerKey = maxPerKey;
+    }
+
+    public int getMaxPerKey() {
+        return maxPerKey;
+    }
+
+    /**
+     *  Set to true to have released elements restyled from their ElementId
+     *  and style.  This undoes direct changes to styled attributes at the
+     *  cost of the style application that pooling otherwise avoids.
+     *  Defaults to false.
+     */
+    public void setRestyleOnRelease( boolean restyle ) {
+        this.restyle = restyle;
+    }
+
+    public boolean getRestyleOnRelease() {
+        return restyle;
+    }
+
+    /**
+     *  Returns a pooled element for the specified type, ElementId, and
+     *  default style, creating one if necessary.
+     */
+    public <T extends Panel> T acquire( Class<T> type, ElementId elementId ) {
+        return acquire(type, elementId, null);
+    }
+
+    /**
+     *  Returns a pooled element for the specified type, ElementId, and
+     *  style, creating one if necessary.
+     */
+    public <T extends Panel> T acquire( Class<T> type, ElementId elementId, String style ) {
+        ArrayDeque<Panel> pool = pools.get(new PoolKey(type, elementId, style));
+        Panel result = pool == null ? null : pool.poll();
+        if( result != null ) {
+            hits++;
+            snapshots.get(result).idle = false;
+            return type.cast(result);
+        }
+        misses++;
+        return create(type, elementId, style);
+    }
+
+    /**
+     *  Makes sure that at least the specified number of idle elements
+     *  are available for the specified type, ElementId, and style.
+     *  Warmed up elements do not count as misses.
+     */
+    public void warmUp( Class<? extends Panel> type, ElementId elementId, String style, int count ) {
+        PoolKey key = new PoolKey(type, elementId, style);
+        ArrayDeque<Panel> pool = getPool(key);
+        while( pool.size() < count ) {
+            Panel panel = create(type, elementId, style);
+            snapshots.get(panel).idle = true;
+            pool.add(panel);
+        }
+    }
+
+    /**
+     *  Resets the specified element and returns it to its pool.  Returns
+     *  false if the element did not come from this pool or if the pool
+     *  for its key is full, in which case the element is simply detached.
+     *  Releasing an element that is already idle in the pool does nothing
+     *  and returns false.
+     */
+    public boolean release( Panel panel ) {
+        Snapshot snapshot = snapshots.get(panel);
+        if( snapshot == null ) {
+            detach(panel);
+            return false;
+        }
+        if( snapshot.idle ) {
+            // Already released... pooling it again would hand the same
+            // element out to two callers
+            return false;
+        }
+        reset(panel, snapshot);
+        releases++;
+        ArrayDeque<Panel> pool = getPool(snapshot.key);
+        if( pool.size() >= maxPerKey ) {
+            discards++;
+            snapshots.remove(panel);
+            return false;
+        }
+        snapshot.idle = true;
+        pool.add(panel);
+        return true;
+    }
+
+    /**
+     *  Stops tracking an element that was acquired from this pool without
+     *  returning it to the pool.  The element is detached from its parent.
+     *  Returns false if the element was not being tracked by this pool.
+     *  Discarding an element that is idle in the pool also removes it from
+     *  the pool.
+     */
+    public boolean discard( Panel panel ) {
+        detach(panel);
+        Snapshot snapshot = snapshots.remove(panel);
+        if( snapshot == null ) {
+            return false;
+        }
+        if( snapshot.idle ) {
+            ArrayDeque<Panel> pool = pools.get(snapshot.key);
+            if( pool != null ) {
+                pool.remove(panel);
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Returns the number of elements that this pool is currently tracking,
+     *  both idle and acquired.
+     */
+    public int getTrackedCount() {
+        return snapshots.size();
+    }
+
+    /**
+     *  Returns the number of idle elements currently pooled across all keys.
+     */
+    public int getIdleCount() {
+        int result = 0;
+        for( ArrayDeque<Panel> pool : pools.values() ) {
+            result += pool.size();
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the number of idle elements currently pooled for the
+     *  specified key.
+     */
+    public int getIdleCount( Class<? extends Panel> type, ElementId elementId, String style ) {
+        ArrayDeque<Panel> pool = pools.get(new PoolKey(type, elementId, style));
+        return pool == null ? 0 : pool.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getReleases() {
+        return releases;
+    }
+
+    public long getDiscards() {
+        return discards;
+    }
+
+    public void resetStats() {
+        hits = 0;
+        misses = 0;
+        releases = 0;
+        discards = 0;
+    }
+
+    /**
+     *  Drops all idle elements.
+     */
+    public void clear() {
+        for( ArrayDeque<Panel> pool : pools.values() ) {
+            for( Panel p : pool ) {
+                snapshots.remove(p);
+            }
+        }
+        pools.clear();
+    }
+
+    protected ArrayDeque<Panel> getPool( PoolKey key ) {
+        ArrayDeque<Panel> result = pools.get(key);
+        if( result == null ) {
+            result = new ArrayDeque<>();
+            pools.put(key, result);
+        }
+        return result;
+    }
+
+    protected <T extends Panel> T create( Class<T> type, ElementId elementId, String style ) {
+        Factory<T> factory = getFactory(type);
+        if( factory == null ) {
+            throw new IllegalArgumentException("No factory registered for:" + type);
+        }
+        T result = factory.create(elementId, style);
+        snapshots.put(result, new Snapshot(new PoolKey(type, elementId, style), result));
+        return result;
+    }
+
+    /**
+     *  Removes the element from its parent, going through the parent's
+     *  layout if it has one.
+     */
+    protected void detach( Panel panel ) {
+        Node parent = panel.getParent();
+        if( parent == null ) {
+            return;
+        }
+        GuiControl control = parent.getControl(GuiControl.class);
+        GuiLayout layout = control == null ? null : control.getLayout();
+        if( layout != null && layout.getChildren().contains(panel) ) {
+            layout.removeChild(panel);
+        } else {
+            panel.removeFromParent();
+        }
+    }
+
+    /**
+     *  Undoes the per-use changes to the specified element based on its
+     *  creation snapshot.
+     */
+    @SuppressWarnings("unchecked")
+    protected void reset( Panel panel, Snapshot snapshot ) {
+
+        EffectControl<Panel> effects = panel.getEffectControl();
+        if( effects != null ) {
+            effects.cancelEffects();
+        }
+
+        GuiGlobals globals = GuiGlobals.getInstance();
+        if( globals != null && globals.getFocusManagerState() != null ) {
+            for( Spatial s = globals.getCurrentFocus(); s != null; s = s.getParent() ) {
+                if( s == panel ) {
+                    globals.releaseFocus(globals.getCurrentFocus());
+                    break;
+                }
+            }
+        }
+
+        detach(panel);
+        panel.setLocalTransform(Transform.IDENTITY);
+        panel.setCullHint(Spatial.CullHint.Inherit);
+
+        // Remove any controls and listeners that were added after creation
+        for( int i = panel.getNumControls() - 1; i >= 0; i-- ) {
+            Control c = panel.getControl(i);
+            if( !snapshot.controls.contains(c) ) {
+                panel.removeControl(c);
+            }
+        }
+        MouseEventControl mec = panel.getControl(MouseEventControl.class);
+        if( mec != null && snapshot.mouseListeners != null ) {
+            for( MouseListener l : new ArrayList<>(mec.getMouseListeners()) ) {
+                if( !snapshot.mouseListeners.contains(l) ) {
+                    mec.removeMouseListener(l);
+                }
+            }
+        }
+        CursorEventControl cec = panel.getControl(CursorEventControl.class);
+        if( cec != null && snapshot.cursorListeners != null ) {
+            for( CursorListener l : new ArrayList<>(cec.getMouseListeners()) ) {
+                if( !snapshot.cursorListeners.contains(l) ) {
+                    cec.removeMouseListener(l);
+                }
+            }
+        }
+
+        // Restore the effects
+        for( String name : new ArrayList<>(panel.getEffects().keySet()) ) {
+            if( !snapshot.effects.containsKey(name) ) {
+                panel.removeEffect(name);
+            }
+        }
+        for( Map.Entry<String, Effect<? super Panel>> e : snapshot.effects.entrySet() ) {
+            if( panel.getEffects().get(e.getKey()) != e.getValue() ) {
+                panel.addEffect(e.getKey(), e.getValue());
+            }
+        }
+
+        GuiControl control = panel.getControl(GuiControl.class);
+        if( control.getPreferredSizeOverride() != snapshot.preferredSize ) {
+            control.setPreferredSize(snapshot.preferredSize == null ? null : snapshot.preferredSize.clone());
+        }
+
+        if( panel instanceof Button ) {
+            Button button = (Button)panel;
+            button.setButtonCommands(copyCommands(snapshot.buttonCommands));
+            button.setEnabled(snapshot.enabled);
+        }
+        if( panel instanceof Checkbox ) {
+            Checkbox check = (Checkbox)panel;
+            if( check.getModel() != snapshot.checkboxModel ) {
+                check.setModel(snapshot.checkboxModel);
+            }
+            check.setChecked(false);
+        }
+        if( panel instanceof Label ) {
+            ((Label)panel).setText("");
+        }
+        if( panel instanceof Container ) {
+            ((Container)panel).clearChildren();
+        }
+
+        if( restyle && globals != null ) {
+            globals.getStyles().applyStyles(panel, panel.getElementId(), panel.getStyle());
+        }
+
+        if( panel.getAlpha() != snapshot.alpha ) {
+            panel.setAlpha(snapshot.alpha);
+        }
+    }
+
+    private static Map<ButtonAction, List<Command<? super Button>>> copyCommands( Map<ButtonAction, List<Command<? super Button>>> map ) {
+        Map<ButtonAction, List<Command<? super Button>>> result = new EnumMap<>(ButtonAction.class);
+        for( Map.Entry<ButtonAction, List<Command<? super Button>>> e : map.entrySet() ) {
+            result.put(e.getKey(), new ArrayList<>(e.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     *  Creates new pooled elements of a particular type.
+     */
+    public interface Factory<T extends Panel> {
+        public T create( ElementId elementId, String style );
+    }
+
+    protected static class PoolKey {
+        private final Class type;
+        private final ElementId elementId;
+        private final String style;
+
+        public PoolKey( Class type, ElementId elementId, String style ) {
+            this.type = type;
+            this.elementId = elementId;
+            this.style = style;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( o == null || o.getClass() != getClass() ) {
+                return false;
+            }
+            PoolKey other = (PoolKey)o;
+            return type == other.type
+                && Objects.equals(elementId, other.elementId)
+                && Objects.equals(style, other.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, elementId, style);
+        }
+
+        @Override
+        public String toString() {
+            return "PoolKey[" + type.getSimpleName() + ", " + elementId + ", " + style + "]";
+        }
+    }
+
+    /**
+     *  The state of an element right after it was created and styled.
+     */
+    protected static class Snapshot {
+        final PoolKey key;
+        final Set<Control> controls = Collections.newSetFromMap(new IdentityHashMap<Control, Boolean>());
+        final List<MouseListener> mouseListeners;
+        final List<CursorListener> cursorListeners;
+        final Map<String, Effect<? super Panel>> effects;
+        final Map<ButtonAction, List<Command<? super Button>>> buttonCommands;
+        final boolean enabled;
+        final CheckboxModel checkboxModel;
+        final Vector3f preferredSize;
+        final float alpha;
+        boolean idle;
+
+        public Snapshot( PoolKey key, Panel panel ) {
+            this.key = key;
+            for( int i = 0; i < panel.getNumControls(); i++ ) {
+                controls.add(panel.getControl(i));
+            }
+            MouseEventControl mec = panel.getControl(MouseEventControl.class);
+            this.mouseListeners = mec == null ? null : new ArrayList<>(mec.getMouseListeners());
+            CursorEventControl cec = panel.getControl(CursorEventControl.class);
+            this.cursorListeners = cec == null ? null : new ArrayList<>(cec.getMouseListeners());
+            this.effects = new HashMap<>(panel.getEffects());
+            if( panel instanceof Button ) {
+                Button button = (Button)panel;
+                Map<ButtonAction, List<Command<? super Button>>> map = new EnumMap<>(ButtonAction.class);
+                for( ButtonAction a : ButtonAction.values() ) {
+                    List<Command<? super Button>> list = button.getCommands(a);
+                    if( list != null && !list.isEmpty() ) {
+                        map.put(a, new ArrayList<>(list));
+                    }
+                }
+                this.buttonCommands = map;
+                this.enabled = button.isEnabled();
+            } else {
+                this.buttonCommands = null;
+                this.enabled = true;
+            }
+            this.checkboxModel = panel instanceof Checkbox ? ((Checkbox)panel).getModel() : null;
+            Vector3f pref = panel.getControl(GuiControl.class).getPreferredSizeOverride();
+            this.preferredSize = pref == null ? null : pref.clone();
+            this.alpha = panel.getAlpha();
+        }
+    }
+}
@@ -41,11 +41,20 @@ import java.util.*;
 import com.jme3.app.Application;
 import com.jme3.app.state.BaseAppState;
 
+import com.simsilica.lemur.core.GuiMetrics;
+
 
 /**
  *  Manages a list of Animation tasks, calling them each once
  *  per frame until done or canceled.
  *
+ *  <p>Animations added through addEffect() are additionally tracked
+ *  as 'effects' with a priority.  If a maximum number of concurrent effects
+ *  has been set then adding an effect beyond that limit will skip the lowest
+ *  priority running effect (or the new one) straight to its end state instead
+ *  of animating it.  Counters for effect activity are available through
+ *  the getEffect*() methods.</p>
+ *
  *  @author    Paul Speed
  */
 public class AnimationState extends BaseAppState {
@@ -55,7 +64,15 @@ public class AnimationState extends BaseAppState {
     private static AnimationState defaultInstance;
 
     private final List<Animation> tasks = new ArrayList<Animation>();
+    private final Set<Animation> taskSet = new HashSet<Animation>();
     private Animation[] array = null;
+ 
+    private final List<EffectTask> effects = new ArrayList<EffectTask>();
+    private int maxEffects = 0;
+    private long effectsStarted;
+    private long effectsCoalesced;
+    private long effectsPreempted;
+    private long effectsSkipped;
     
     private long lastTime;
     
@@ -77,7 +94,7 @@ public class AnimationState extends BaseAppState {
      *  currently running, ie: will be executed this frame.
      */   
     public boolean isRunning( Animation anim ) {
-        return tasks.contains(anim);
+        return taskSet.contains(anim);
     }
 
     /**
@@ -85,6 +102,9 @@ public class AnimationState extends BaseAppState {
      *  animation is returned directly to the caller.
      */
     public <T extends Animation> T add( T anim ) {
+        if( !taskSet.add(anim) ) {
+            return anim; // already running
+        }
         tasks.add(anim);
         array = null;
         return anim;
@@ -100,6 +120,125 @@ public class AnimationState extends BaseAppState {
         return add(anim);
     }
  
+    /**
+     *  Begins executing the specified animation as an effect with the
+     *  specified priority.  If a maximum number of effects has been set
+     *  and is already reached then either the lowest priority running
+     *  effect or, if that has a higher priority than the new one, the new effect 
+     *  itself is skipped to its end instead of being animated.  The passed 
+     *  animation is returned directly to the caller.
+     */
+    public <T extends Animation> T addEffect( T anim, int priority ) {
+        if( isRunning(anim) ) {
+            return anim;
+        }
+        if( maxEffects > 0 && effects.size() >= maxEffects ) {
+            EffectTask lowest = null;
+            for( EffectTask task : effects ) {
+                if( lowest == null || task.priority < lowest.priority ) {
+                    lowest = task;
+                }
+            }
+            effectsSkipped++;
+            if( lowest.priority > priority ) {
+                // Everything running is more important than this one
+                skipToEnd(anim);
+                return anim;
+            }
+            skipToEnd(lowest.anim);
+            remove(lowest.anim);
+        }
+        effectsStarted++;
+        effects.add(new EffectTask(anim, priority));
+        return add(anim);
+    }
+ 
+    /**
+     *  Sets the maximum number of effects that may run at once.  0
+     *  means no limit, which is the default.
+     */
+    public void setMaxEffects( int max ) {
+        this.maxEffects = max;
+    }
+    
+    public int getMaxEffects() {
+        return maxEffects;
+    }
+ 
+    /**
+     *  Returns the number of animations currently running, including effects.
+     */
+    public int getRunningCount() {
+        return tasks.size();
+    }
+ 
+    /**
+     *  Returns the number of animations currently running that were
+     *  added with addEffect().
+     */
+    public int getRunningEffectCount() {
+        return effects.size();
+    }
+
+    /**
+     *  Returns the number of effects that were started since creation
+     *  or the last resetEffectStats().
+     */
+    public long getEffectsStarted() {
+        return effectsStarted;
+    }
+
+    /**
+     *  Returns the number of effect runs that were coalesced into an
+     *  already running effect instead of starting a new animation.
+     */
+    public long getEffectsCoalesced() {
+        return effectsCoalesced;
+    }
+
+    /**
+     *  Returns the number of running effects that were replaced by another
+     *  effect on the same channel before they completed.
+     */
+    public long getEffectsPreempted() {
+        return effectsPreempted;
+    }
+
+    /**
+     *  Returns the number of effects that were skipped to their end
+     *  state because the maximum number of effects was reached.
+     */
+    public long getEffectsSkipped() {
+        return effectsSkipped;
+    }
+
+    public void resetEffectStats() {
+        effectsStarted = 0;
+        effectsCoalesced = 0;
+        effectsPreempted = 0;
+        effectsSkipped = 0;
+    }
+
+    /**
+     *  Called by effect managers like EffectControl to record that an effect 
+     *  run was coalesced into an already running effect.
+     */
+    public void effectCoalesced() {
+        effectsCoalesced++;
+    }
+
+    /**
+     *  Cancels a running effect because another effect is replacing
+     *  it and records it in the effect stats.  If the animation is no
+     *  longer running then this is the same as cancel().
+     */
+    public void preempt( Animation anim ) {
+        if( isRunning(anim) ) {
+            effectsPreempted++;
+        }
+        cancel(anim);
+    }
+ 
     /**
      *  Cancels a currently running animation.
      */   
@@ -108,6 +247,17 @@ public class AnimationState extends BaseAppState {
         remove(anim);
     }
 
+    /**
+     *  Moves the animation to its final state if it's a non-looping 
+     *  TweenAnimation and otherwise just cancels it.
+     */
+    protected void skipToEnd( Animation anim ) {
+        if( anim instanceof TweenAnimation && !((TweenAnimation)anim).isLooping() ) {
+            ((TweenAnimation)anim).fastForwardPercent(1.0);
+        }
+        anim.cancel();
+    }
+
     private Animation[] getArray() {
         if( array == null ) {
             array = new Animation[tasks.size()];
@@ -117,8 +267,17 @@ public class AnimationState extends BaseAppState {
     }
 
     protected void remove( Animation anim ) {
+        if( !taskSet.remove(anim) ) {
+            return;
+        }
         tasks.remove(anim);
         array = null;
+        for( int i = 0; i < effects.size(); i++ ) {
+            if( effects.get(i).anim == anim ) {
+                effects.remove(i);
+                break;
+            }
+        }
     }
 
     @Override
@@ -145,6 +304,7 @@ public class AnimationState extends BaseAppState {
 
     @Override
     public void update( float tpf ) {
+        GuiMetrics metrics = GuiMetrics.getActive();
         long time = System.nanoTime();
         long delta = time - lastTime;
         double t = delta * NANOS_TO_SECONDS;
@@ -155,9 +315,24 @@ public class AnimationState extends BaseAppState {
                 remove(a);
             }
         }          
+
+        if( metrics != null ) {
+            metrics.animUpdate.addTime(System.nanoTime() - time);
+            metrics.animActive.set(tasks.size());
+        }
     }
 
     @Override
     protected void onDisable() {
     }
+    
+    private static class EffectTask {
+        final Animation anim;
+        final int priority;
+        
+        public EffectTask( Animation anim, int priority ) {
+            this.anim = anim;
+            this.priority = priority;
+        }
+    }
 }
@@ -142,6 +142,16 @@ public class TweenAnimation implements Animation {
         animate(t);
     }
 
+    /**
+     *  Resets this animation back to its start so that it can be
+     *  run again, whether it finished, was canceled, or is still running.
+     *  The next animate() call interpolates time 0 again.
+     */
+    public void rewind() {
+        t = -1;
+        running = true;
+    }
+
     /**
      *  Called by the AnimationState to execute this animation.  Generally
      *  user-code should not call this directly.
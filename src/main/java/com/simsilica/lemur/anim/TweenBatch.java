@@ -0,0 +1,530 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.anim;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.Panel;
+
+
+/**
+ *  An Animation that runs many simple move/scale/rotate/fade tweens
+ *  together from flat primitive arrays instead of as individual Tween
+ *  objects.  This is meant for cases like hundreds of floating damage
+ *  numbers or list rows sliding in at once where the per-object overhead
+ *  of separate tweens, sequences, and Vector3f temporaries adds up.
+ *
+ *  <p>Each frame, the batch first computes every running tween's value
+ *  into a float array in one tight loop and then writes the results back
+ *  to the spatials.  For large batches the first pass can optionally be
+ *  split across the common fork/join pool (see setParallelThreshold()).
+ *  The write-back always happens on the calling (render) thread.</p>
+ *
+ *  <p>Adding a tween returns a Handle that can be used to cancel or query
+ *  it.  Handles also implement Tween so a single entry can be seeked or
+ *  run directly the same as any other tween.</p>
+ *
+ *  <p>Typical usage:</p>
+ *  <pre>
+ *  TweenBatch batch = new TweenBatch();
+ *  animationState.add(batch);
+ *  ...
+ *  batch.move(label, start, end, 0.5, TweenBatch.Curve.SmoothStep);
+ *  </pre>
+ */
+public class TweenBatch implements Animation {
+
+    public enum Curve { Linear, SmoothStep, Sine };
+
+    private static final byte MOVE = 0;
+    private static final byte SCALE = 1;
+    private static final byte ROTATE = 2;
+    private static final byte ALPHA = 3;
+
+    private static final int STRIDE = 4;
+    private static final int MIN_SPLIT = 256;
+
+    private double time;
+    private boolean running = true;
+    private int parallelThreshold = 0;
+
+    private int count;
+    private Handle[] handles;
+    private Object[] targets;
+    private byte[] types;
+    private byte[] curves;
+    private double[] starts;
+    private double[] lengths;
+    private float[] from;
+    private float[] to;
+    private float[] values;
+    private boolean[] done;
+
+    private final Quaternion tempRot = new Quaternion();
+
+    public TweenBatch() {
+        this(64);
+    }
+
+    public TweenBatch( int initialCapacity ) {
+        allocate(Math.max(1, initialCapacity));
+    }
+
+    /**
+     *  Sets the number of running tweens above which value calculation
+     *  is split across the fork/join common pool.  A value of 0 or less
+     *  disables parallel calculation, which is the default.
+     */
+    public void setParallelThreshold( int count ) {
+        this.parallelThreshold = count;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     *  Returns the number of tweens currently running in this batch.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     *  Returns the batch's internal clock, ie: the total time it has
+     *  been animated.
+     */
+    public double getTime() {
+        return time;
+    }
+
+    public Handle move( Spatial target, Vector3f fromLoc, Vector3f toLoc, double length ) {
+        return move(target, fromLoc, toLoc, length, Curve.Linear);
+    }
+
+    /**
+     *  Adds a tween that moves the target's local translation from one
+     *  location to another.  Null locations are substituted with the spatial's
+     *  current local translation AT THE TIME OF THIS CALL.
+     */
+    public Handle move( Spatial target, Vector3f fromLoc, Vector3f toLoc, double length, Curve curve ) {
+        fromLoc = fromLoc != null ? fromLoc : target.getLocalTranslation();
+        toLoc = toLoc != null ? toLoc : target.getLocalTranslation();
+        int i = add(target, MOVE, length, curve);
+        set(from, i, fromLoc.x, fromLoc.y, fromLoc.z, 0);
+        set(to, i, toLoc.x, toLoc.y, toLoc.z, 0);
+        return handles[i];
+    }
+
+    public Handle scale( Spatial target, Vector3f fromScale, Vector3f toScale, double length ) {
+        return scale(target, fromScale, toScale, length, Curve.Linear);
+    }
+
+    /**
+     *  Adds a tween that interpolates the target's local scale from one
+     *  value to another.  Null scales are substituted with the spatial's
+     *  current local scale AT THE TIME OF THIS CALL.
+     */
+    public Handle scale( Spatial target, Vector3f fromScale, Vector3f toScale, double length, Curve curve ) {
+        fromScale = fromScale != null ? fromScale : target.getLocalScale();
+        toScale = toScale != null ? toScale : target.getLocalScale();
+        int i = add(target, SCALE, length, curve);
+        set(from, i, fromScale.x, fromScale.y, fromScale.z, 0);
+        set(to, i, toScale.x, toScale.y, toScale.z, 0);
+        return handles[i];
+    }
+
+    public Handle rotate( Spatial target, Quaternion fromRot, Quaternion toRot, double length ) {
+        return rotate(target, fromRot, toRot, length, Curve.Linear);
+    }
+
+    /**
+     *  Adds a tween that slerps the target's local rotation from one
+     *  value to another.  Null rotations are substituted with the spatial's
+     *  current local rotation AT THE TIME OF THIS CALL.
+     */
+    public Handle rotate( Spatial target, Quaternion fromRot, Quaternion toRot, double length, Curve curve ) {
+        fromRot = fromRot != null ? fromRot : target.getLocalRotation();
+        toRot = toRot != null ? toRot : target.getLocalRotation();
+        int i = add(target, ROTATE, length, curve);
+        set(from, i, fromRot.getX(), fromRot.getY(), fromRot.getZ(), fromRot.getW());
+        set(to, i, toRot.getX(), toRot.getY(), toRot.getZ(), toRot.getW());
+        return handles[i];
+    }
+
+    public Handle fade( Panel target, Float fromAlpha, Float toAlpha, double length ) {
+        return fade(target, fromAlpha, toAlpha, length, Curve.Linear);
+    }
+
+    /**
+     *  Adds a tween that interpolates the alpha value of a panel.  Null alpha 
+     *  values are substituted with the Panel's current alpha value AT THE 
+     *  TIME OF THIS CALL.
+     */
+    public Handle fade( Panel target, Float fromAlpha, Float toAlpha, double length, Curve curve ) {
+        float f = fromAlpha != null ? fromAlpha : target.getAlpha();
+        float t = toAlpha != null ? toAlpha : target.getAlpha();
+        int i = add(target, ALPHA, length, curve);
+        set(from, i, f, 0, 0, 0);
+        set(to, i, t, 0, 0, 0);
+        return handles[i];
+    }
+
+    /**
+     *  Cancels all running tweens in this batch, leaving their targets
+     *  wherever they currently are.
+     */
+    public void clear() {
+        for( int i = count - 1; i >= 0; i-- ) {
+            remove(i);
+        }
+    }
+
+    /**
+     *  Called by the AnimationState to execute this animation.  Generally
+     *  user-code should not call this directly.
+     */
+    @Override
+    public boolean animate( double tpf ) {
+        if( !running ) {
+            return false;
+        }
+        time += tpf;
+        if( count == 0 ) {
+            return true;
+        }
+
+        if( parallelThreshold > 0 && count > parallelThreshold ) {
+            ForkJoinPool.commonPool().invoke(new ComputeTask(0, count, time));
+        } else {
+            compute(0, count, time);
+        }
+
+        // Write back in reverse so that swap-removal of finished
+        // entries only ever moves entries we've already applied.
+        for( int i = count - 1; i >= 0; i-- ) {
+            apply(i);
+            if( done[i] ) {
+                remove(i);
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Called by the AnimationState when this animation is canceled.  Generally
+     *  user-code should not call this directly.
+     */
+    @Override
+    public void cancel() {
+        running = false;
+        clear();
+    }
+
+    private int add( Object target, byte type, double length, Curve curve ) {
+        if( target == null ) {
+            throw new IllegalArgumentException("Target cannot be null");
+        }
+        if( count == targets.length ) {
+            grow();
+        }
+        int i = count++;
+        targets[i] = target;
+        types[i] = type;
+        curves[i] = (byte)(curve == null ? Curve.Linear : curve).ordinal();
+        starts[i] = time;
+        lengths[i] = length;
+        done[i] = false;
+        handles[i] = new Handle(i, length);
+        return i;
+    }
+
+    private void remove( int i ) {
+        handles[i].index = -1;
+        int last = --count;
+        if( i != last ) {
+            handles[i] = handles[last];
+            handles[i].index = i;
+            targets[i] = targets[last];
+            types[i] = types[last];
+            curves[i] = curves[last];
+            starts[i] = starts[last];
+            lengths[i] = lengths[last];
+            done[i] = done[last];
+            System.arraycopy(from, last * STRIDE, from, i * STRIDE, STRIDE);
+            System.arraycopy(to, last * STRIDE, to, i * STRIDE, STRIDE);
+            System.arraycopy(values, last * STRIDE, values, i * STRIDE, STRIDE);
+        }
+        handles[last] = null;
+        targets[last] = null;
+    }
+
+    private void allocate( int size ) {
+        handles = new Handle[size];
+        targets = new Object[size];
+        types = new byte[size];
+        curves = new byte[size];
+        starts = new double[size];
+        lengths = new double[size];
+        done = new boolean[size];
+        from = new float[size * STRIDE];
+        to = new float[size * STRIDE];
+        values = new float[size * STRIDE];
+    }
+
+    private void grow() {
+        int size = targets.length * 2;
+        handles = Arrays.copyOf(handles, size);
+        targets = Arrays.copyOf(targets, size);
+        types = Arrays.copyOf(types, size);
+        curves = Arrays.copyOf(curves, size);
+        starts = Arrays.copyOf(starts, size);
+        lengths = Arrays.copyOf(lengths, size);
+        done = Arrays.copyOf(done, size);
+        from = Arrays.copyOf(from, size * STRIDE);
+        to = Arrays.copyOf(to, size * STRIDE);
+        values = Arrays.copyOf(values, size * STRIDE);
+    }
+
+    private static void set( float[] array, int i, float x, float y, float z, float w ) {
+        int base = i * STRIDE;
+        array[base] = x;
+        array[base + 1] = y;
+        array[base + 2] = z;
+        array[base + 3] = w;
+    }
+
+    /**
+     *  Calculates the values for the specified range of entries at the
+     *  specified batch time.  This touches only the primitive arrays so
+     *  it's safe to run for separate ranges in parallel.
+     */
+    private void compute( int start, int end, double now ) {
+        for( int i = start; i < end; i++ ) {
+            double length = lengths[i];
+            double t = length <= 0 ? 1 : (now - starts[i]) / length;
+            if( t >= 1 ) {
+                t = 1;
+                done[i] = true;
+            } else if( t < 0 ) {
+                t = 0;
+            }
+            computeValue(i, (float)curve(curves[i], t));
+        }
+    }
+
+    private void computeValue( int i, float t ) {
+        int base = i * STRIDE;
+        if( types[i] == ROTATE ) {
+            slerp(base, t);
+            return;
+        }
+        for( int j = base; j < base + STRIDE; j++ ) {
+            values[j] = from[j] + (to[j] - from[j]) * t;
+        }
+    }
+
+    /**
+     *  Same math as Quaternion.slerp() but directly on the arrays.
+     */
+    private void slerp( int base, float t ) {
+        float x1 = from[base], y1 = from[base + 1], z1 = from[base + 2], w1 = from[base + 3];
+        float x2 = to[base], y2 = to[base + 1], z2 = to[base + 2], w2 = to[base + 3];
+        float dot = x1 * x2 + y1 * y2 + z1 * z2 + w1 * w2;
+        if( dot < 0 ) {
+            // Take the short way around
+            x2 = -x2;
+            y2 = -y2;
+            z2 = -z2;
+            w2 = -w2;
+            dot = -dot;
+        }
+        float scale0 = 1 - t;
+        float scale1 = t;
+        if( 1 - dot > 0.1f ) {
+            float theta = (float)Math.acos(dot);
+            float invSinTheta = 1f / (float)Math.sin(theta);
+            scale0 = (float)Math.sin((1 - t) * theta) * invSinTheta;
+            scale1 = (float)Math.sin(t * theta) * invSinTheta;
+        }
+        values[base] = scale0 * x1 + scale1 * x2;
+        values[base + 1] = scale0 * y1 + scale1 * y2;
+        values[base + 2] = scale0 * z1 + scale1 * z2;
+        values[base + 3] = scale0 * w1 + scale1 * w2;
+    }
+
+    /**
+     *  Same curves as Tweens.smoothStep() and Tweens.sineStep() keyed
+     *  by Curve ordinal.
+     */
+    private static double curve( int curve, double t ) {
+        switch( curve ) {
+            case 1: // Curve.SmoothStep
+                return t * t * (3 - 2 * t);
+            case 2: // Curve.Sine
+                return (Math.sin(t * Math.PI - Math.PI * 0.5) + 1) * 0.5;
+            default:
+                return t;
+        }
+    }
+
+    private void apply( int i ) {
+        int base = i * STRIDE;
+        switch( types[i] ) {
+            case MOVE:
+                ((Spatial)targets[i]).setLocalTranslation(values[base], values[base + 1], values[base + 2]);
+                break;
+            case SCALE:
+                ((Spatial)targets[i]).setLocalScale(values[base], values[base + 1], values[base + 2]);
+                break;
+            case ROTATE:
+                tempRot.set(values[base], values[base + 1], values[base + 2], values[base + 3]);
+                ((Spatial)targets[i]).setLocalRotation(tempRot);
+                break;
+            case ALPHA:
+                ((Panel)targets[i]).setAlpha(values[base]);
+                break;
+        }
+    }
+
+    private class ComputeTask extends RecursiveAction {
+        private final int start;
+        private final int end;
+        private final double now;
+
+        public ComputeTask( int start, int end, double now ) {
+            this.start = start;
+            this.end = end;
+            this.now = now;
+        }
+
+        @Override
+        protected void compute() {
+            if( end - start <= MIN_SPLIT ) {
+                TweenBatch.this.compute(start, end, now);
+                return;
+            }
+            int mid = (start + end) >>> 1;
+            invokeAll(new ComputeTask(start, mid, now), new ComputeTask(mid, end, now));
+        }
+    }
+
+    /**
+     *  Refers to one tween in the batch.  A handle stays valid after its
+     *  tween completes or is canceled but isRunning() will return false.
+     *  As a Tween, interpolate() will immediately apply the entry's value
+     *  for the specified local time, ie: seeking it, and will complete
+     *  the entry if t is at or past its length.
+     */
+    public class Handle implements Tween {
+        private int index;
+        private final double length;
+
+        private Handle( int index, double length ) {
+            this.index = index;
+            this.length = length;
+        }
+
+        public TweenBatch getBatch() {
+            return TweenBatch.this;
+        }
+
+        public boolean isRunning() {
+            return index >= 0;
+        }
+
+        /**
+         *  Returns how far into this tween the batch has run or the
+         *  length if it is no longer running.
+         */
+        public double getTime() {
+            if( index < 0 ) {
+                return length;
+            }
+            return Math.min(length, time - starts[index]);
+        }
+
+        public double getRemaining() {
+            return Math.max(0, length - getTime());
+        }
+
+        /**
+         *  Stops this tween, leaving the target wherever it currently is.
+         */
+        public void cancel() {
+            if( index >= 0 ) {
+                remove(index);
+            }
+        }
+
+        @Override
+        public double getLength() {
+            return length;
+        }
+
+        @Override
+        public boolean interpolate( double t ) {
+            if( index < 0 ) {
+                return false;
+            }
+            if( t < 0 ) {
+                return true;
+            }
+            // Rebase the start so that the batch continues from here
+            starts[index] = time - t;
+            done[index] = false;
+            compute(index, index + 1, time);
+            apply(index);
+            if( done[index] ) {
+                remove(index);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[index=" + index + ", length=" + length + "]";
+        }
+    }
+}
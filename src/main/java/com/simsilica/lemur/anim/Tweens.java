@@ -36,13 +36,15 @@
 
 package com.simsilica.lemur.anim;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.Arrays;
-import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.google.common.primitives.Primitives;
+
+import com.simsilica.lemur.core.MethodInvokers;
 
 /**
  *  Static utility methods for creating common generic Tween objects.
@@ -404,6 +406,7 @@ public class Tweens {
 
         private Object target;
         private Method method;
+        private MethodHandle handle;
         private Object[] args;        
         
         public CallMethod( Object target, String methodName, Object... args ) {
@@ -411,55 +414,29 @@ public class Tweens {
             if( target == null ) {
                 throw new IllegalArgumentException("Target cannot be null.");
             }
+            if( args == null ) {
+                args = new Object[0];
+            }
             this.target = target;
             this.args = args;
                         
             // Lookup the method
-            if( args == null ) {
-                this.method = findMethod(target.getClass(), methodName); 
-            } else {
-                this.method = findMethod(target.getClass(), methodName, args);
-            }
+            this.method = MethodInvokers.findMethod(target.getClass(), methodName, 
+                                                    MethodInvokers.argTypes(args));
             if( this.method == null ) {
                 throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
             }
-            this.method.setAccessible(true);            
-        }
-
-        @SuppressWarnings("unchecked")        
-        private static Method findMethod( Class type, String name, Object... args ) {
-            for( Method m : type.getDeclaredMethods() ) {
-                if( !Objects.equals(m.getName(), name) ) {
-                    continue;
-                }
-                Class[] paramTypes = m.getParameterTypes();
-                if( paramTypes.length != args.length ) {
-                    continue;
-                }
-                int matches = 0;
-                for( int i = 0; i < args.length; i++ ) {
-                    if( paramTypes[i].isInstance(args[i]) 
-                        || Primitives.wrap(paramTypes[i]).isInstance(args[i]) ) {
-                        matches++;
-                    }    
-                }
-                if( matches == args.length ) {
-                    return m;
-                }                
-            }
-            if( type.getSuperclass() != null ) {
-                return findMethod(type.getSuperclass(), name, args);
-            }
-            return null;
+            
+            // Bind the target and arguments up front so that calling
+            // it is just an invokeExact() with nothing to box.
+            this.handle = MethodInvokers.bindAll(target, method, args);
         }
 
         @Override
         protected void doInterpolate( double t ) {
             try {
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
+                handle.invokeExact(); 
+            } catch( Throwable e ) {
                 throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
             }
         }
@@ -472,11 +449,12 @@ public class Tweens {
     
     private static class CallTweenMethod extends AbstractTween {
 
+        private static final MethodType TWEEN_TYPE = MethodType.methodType(void.class, double.class);
+ 
         private Object target;
         private Method method;
+        private MethodHandle handle;
         private Object[] args;
-        private int tIndex = -1;
-        private boolean isFloat = false;        
         
         public CallTweenMethod( double length, Object target, String methodName, Object... args ) {
             super(length);
@@ -484,113 +462,51 @@ public class Tweens {
                 throw new IllegalArgumentException("Target cannot be null.");
             }
             this.target = target;
+            this.args = args;
                         
-            // Lookup the method
-            this.method = findMethod(target.getClass(), methodName, args);
+            // Lookup the method.  We accept the 't' parameter as either 
+            // first or last so we'll see which one matches.
+            Class[] argTypes = MethodInvokers.argTypes(args);
+            int tIndex = 0;            
+            this.method = findMethod(target.getClass(), methodName, argTypes, true);
+            if( this.method == null ) {
+                tIndex = args.length;
+                this.method = findMethod(target.getClass(), methodName, argTypes, false);
+            }            
             if( this.method == null ) {
                 throw new IllegalArgumentException("Method not found for:" + methodName + " on type:" + target.getClass());            
             }
-            this.method.setAccessible(true);
-            
-            // So now setup the real args list
-            this.args = new Object[args.length + 1];
-            if( tIndex == 0 ) {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i + 1] = args[i];
-                }
-            } else {
-                for( int i = 0; i < args.length; i++ ) {
-                    this.args[i] = args[i];
-                }
-            }            
-        }
-        
-        private static boolean isFloatType( Class type ) {
-            return type == Float.TYPE || type == Float.class;
-        }
-        
-        private static boolean isDoubleType( Class type ) {
-            return type == Double.TYPE || type == Double.class;
-        }
-        
-        private Method findMethod( Class type, String name, Object... args ) {
-            for( Method m : type.getDeclaredMethods() ) {
-                if( !Objects.equals(m.getName(), name) ) {
-                    continue;
-                }
-                Class[] paramTypes = m.getParameterTypes();
-                if( paramTypes.length != args.length + 1 ) {
-                    if( log.isTraceEnabled() ) {
-                        log.trace("Param lengths of [" + m + "] differ.  method arg count:" + paramTypes.length + "  lookging for:" + (args.length + 1));                
-                    }
-                    continue;
-                }
-                
-                // We accept the 't' parameter as either first or last
-                // so we'll see which one matches.
-                if( isFloatType(paramTypes[0]) || isDoubleType(paramTypes[0]) ) {
-                    // Try it as the first parameter 
-                    int matches = 0;
-                     
-                    for( int i = 1; i < paramTypes.length; i++ ) {
-                        if( paramTypes[i].isInstance(args[i-1]) ) {
-                            matches++;
-                        }    
-                    }
-                    if( matches == args.length ) {
-                        // Then this is our method and this is how we are configured
-                        tIndex = 0;
-                        isFloat = isFloatType(paramTypes[0]);                        
-                    } else {
-                        if( log.isTraceEnabled() ) {
-                            log.trace(m + " Leading float check failed because of type mismatches, for:" + m);
-                        }
-                    }
-                }
-                if( tIndex >= 0 ) {
-                    return m;
-                }
-                
-                // Else try it at the end                
-                int last = paramTypes.length - 1;
-                if( isFloatType(paramTypes[last]) || isDoubleType(paramTypes[last]) ) {                
-                    int matches = 0;
-                     
-                    for( int i = 0; i < last; i++ ) {
-                        if( paramTypes[i].isInstance(args[i]) ) {
-                            matches++;
-                        }    
-                    }
-                    if( matches == args.length ) {
-                        // Then this is our method and this is how we are configured
-                        tIndex = last;
-                        isFloat = isFloatType(paramTypes[last]);
-                        return m;                        
-                    } else {
-                        if( log.isTraceEnabled() ) {
-                            log.trace("Trailing float check failed because of type mismatches, for:" + m);
-                        }
-                    }
-                }
+            if( log.isTraceEnabled() ) {
+                log.trace("Found:" + method + " with t at index:" + tIndex);
             }
-            if( type.getSuperclass() != null ) {
-                return findMethod(type.getSuperclass(), name, args);
+ 
+            // Bind the target and the fixed arguments so that the only thing
+            // left is the 't' parameter.  explicitCastArguments() will then 
+            // take care of narrowing double to float if needed and dropping 
+            // any return value.           
+            MethodHandle mh = MethodInvokers.bind(target, method, tIndex == 0 ? 1 : 0, args);
+            this.handle = MethodHandles.explicitCastArguments(mh, TWEEN_TYPE);
+        }
+ 
+        private static Method findMethod( Class type, String name, Class[] argTypes, boolean leading ) {
+            Class[] types = new Class[argTypes.length + 1];
+            System.arraycopy(argTypes, 0, types, leading ? 1 : 0, argTypes.length);
+            int tIndex = leading ? 0 : argTypes.length;
+            
+            types[tIndex] = Float.class;
+            Method result = MethodInvokers.findMethod(type, name, types);
+            if( result == null ) {
+                types[tIndex] = Double.class;
+                result = MethodInvokers.findMethod(type, name, types);
             }
-            return null;
+            return result;
         }
-
+                
         @Override
         protected void doInterpolate( double t ) {
             try {
-                if( isFloat ) {
-                    args[tIndex] = (float)t;
-                } else {
-                    args[tIndex] = t;
-                }
-                method.invoke(target, args); 
-            } catch( IllegalAccessException e ) {
-                throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
-            } catch( InvocationTargetException e ) {
+                handle.invokeExact(t); 
+            } catch( Throwable e ) {
                 throw new RuntimeException("Error running method:" + method + " for object:" + target, e);
             }
         }
@@ -0,0 +1,132 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.component;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.font.BitmapCharacterSet;
+import com.jme3.font.BitmapFont;
+import com.jme3.material.MatParamTexture;
+import com.jme3.material.Material;
+import com.jme3.material.RenderState.BlendMode;
+import com.jme3.texture.Texture;
+
+
+/**
+ *  A BitmapFont whose page textures contain signed distance fields
+ *  instead of regular glyph images, along with the SdfText materials
+ *  used to render it.  The glyph metrics come from the regular .fnt
+ *  file so any AngelCode-format SDF atlas will work, for example the
+ *  'distance field' effect of the Hiero font tool.  Because the atlas
+ *  stores distances instead of coverage, the same atlas can be
+ *  drawn sharply at any size.
+ *
+ *  <p>One material is shared per page by all SdfTextComponents that do
+ *  not use outlines or shadows.  Text color is passed as a vertex attribute
+ *  so labels of different colors can still share it.</p>
+ */
+public class SdfFont {
+
+    public static final String MATDEF = "com/simsilica/lemur/matdefs/SdfText.j3md";
+
+    private AssetManager assets;
+    private BitmapFont font;
+    private Texture[] textures;
+    private Material[] materials;
+
+    public SdfFont( AssetManager assets, BitmapFont font ) {
+        this.assets = assets;
+        this.font = font;
+        this.textures = new Texture[font.getPageSize()];
+        this.materials = new Material[textures.length];
+        for( int i = 0; i < textures.length; i++ ) {
+            MatParamTexture mp = font.getPage(i).getTextureParam("ColorMap");
+            if( mp == null ) {
+                throw new IllegalArgumentException("Font page has no ColorMap:" + i);
+            }
+            textures[i] = mp.getTextureValue();
+            materials[i] = createMaterial(i);
+        }
+    }
+
+    public BitmapFont getBitmapFont() {
+        return font;
+    }
+
+    public BitmapCharacterSet getCharSet() {
+        return font.getCharSet();
+    }
+
+    /**
+     *  Returns the size in pixels at which the glyph metrics were
+     *  rendered.  Text drawn at this size is drawn 1:1.
+     */
+    public float getRenderedSize() {
+        return font.getCharSet().getRenderedSize();
+    }
+
+    public int getPageCount() {
+        return textures.length;
+    }
+
+    public Texture getTexture( int page ) {
+        return textures[page];
+    }
+
+    /**
+     *  Returns the shared material for the specified page.  Callers
+     *  should not modify it.
+     */
+    public Material getMaterial( int page ) {
+        return materials[page];
+    }
+
+    /**
+     *  Creates a new unshared material for the specified page that
+     *  the caller can customize with outline or shadow settings.
+     */
+    public Material createMaterial( int page ) {
+        Material m = new Material(assets, MATDEF);
+        m.setTexture("ColorMap", textures[page]);
+        m.getAdditionalRenderState().setBlendMode(BlendMode.Alpha);
+        return m;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[font=" + font + ", pages=" + textures.length + "]";
+    }
+}
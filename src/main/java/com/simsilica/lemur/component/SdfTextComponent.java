@@ -0,0 +1,758 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.component;
+
+import java.nio.FloatBuffer;
+import java.util.*;
+
+import com.jme3.font.BitmapCharacter;
+import com.jme3.font.BitmapCharacterSet;
+import com.jme3.material.Material;
+import com.jme3.math.*;
+import com.jme3.scene.*;
+import com.jme3.scene.VertexBuffer.Type;
+
+import com.simsilica.lemur.GuiGlobals;
+import com.simsilica.lemur.HAlignment;
+import com.simsilica.lemur.LayerComparator;
+import com.simsilica.lemur.VAlignment;
+import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiMetrics;
+
+
+/**
+ *  A Text2d implementation that draws its glyphs from a signed distance
+ *  field atlas using the SdfText shader.  Unlike TextComponent, which
+ *  magnifies a bitmap atlas, the text stays sharp at any font size
+ *  or world scale from a single atlas.  Outlines and drop shadows are
+ *  done in the same shader pass without any extra geometry.
+ *
+ *  <p>All of the glyphs on the same atlas page are built into one mesh
+ *  so a label is one draw call per page, usually just one.  The text
+ *  color is stored in the vertexes so that labels without outlines or
+ *  shadows all share the SdfFont's material for that page.</p>
+ *
+ *  <p>The easiest way to use it is to install an SdfTextFactory with
+ *  GuiGlobals.setTextFactory() before creating any GUI elements.</p>
+ */
+public class SdfTextComponent extends AbstractGuiComponent
+                              implements ColoredComponent, Text2d {
+
+    private SdfTextFactory factory;
+    private SdfFont font;
+    private String fontName;
+    private String text = "";
+    private float fontSize;
+    private ColorRGBA color = ColorRGBA.White.clone();
+    private float alpha = 1;
+    private HAlignment hAlign = HAlignment.Left;
+    private VAlignment vAlign = VAlignment.Top;
+    private Vector3f offset = null;
+    private int layer;
+    private float maxWidth;
+
+    private ColorRGBA outlineColor;
+    private float outlineWidth = 0.1f;
+    private ColorRGBA shadowColor;
+    private Vector2f shadowOffset = new Vector2f(2, -2);
+    private float shadowSoftness = 0;
+
+    private Node textNode;
+    private Geometry[] pages;
+    private Material[] materials; // null when sharing the font's materials
+    private float boxWidth;
+    private float boxHeight;
+
+    public SdfTextComponent( String text, SdfFont font ) {
+        this.font = font;
+        this.fontSize = font.getRenderedSize();
+        this.textNode = new Node("sdfText");
+        setText(text);
+    }
+
+    public SdfTextComponent( SdfTextFactory factory, String fontName ) {
+        this("", factory.loadFont(fontName));
+        this.factory = factory;
+        this.fontName = fontName;
+    }
+
+    @Override
+    public SdfTextComponent clone() {
+        SdfTextComponent result = (SdfTextComponent)super.clone();
+        result.color = color.clone();
+        result.offset = offset != null ? offset.clone() : null;
+        result.outlineColor = outlineColor != null ? outlineColor.clone() : null;
+        result.shadowColor = shadowColor != null ? shadowColor.clone() : null;
+        result.shadowOffset = shadowOffset.clone();
+        result.textNode = new Node("sdfText");
+        result.pages = null;
+        result.materials = null;
+        result.resetMaterials();
+        result.resetLayer();
+        return result;
+    }
+
+    @Override
+    public void attach( GuiControl parent ) {
+        super.attach(parent);
+        getNode().attachChild(textNode);
+    }
+
+    @Override
+    public void detach( GuiControl parent ) {
+        getNode().detachChild(textNode);
+        super.detach(parent);
+    }
+
+    @Override
+    public void setText( String text ) {
+        if( text == null ) {
+            text = "";
+        }
+        if( text.equals(this.text) ) {
+            return;
+        }
+        this.text = text;
+        invalidate();
+    }
+
+    @Override
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public void setLayer( int layer ) {
+        if( this.layer == layer ) {
+            return;
+        }
+        this.layer = layer;
+        resetLayer();
+    }
+
+    @Override
+    public int getLayer() {
+        return layer;
+    }
+
+    @Override
+    public void setHAlignment( HAlignment a ) {
+        if( hAlign == a )
+            return;
+        hAlign = a;
+        if( pages != null ) {
+            refreshMesh();
+        }
+    }
+
+    @Override
+    public HAlignment getHAlignment() {
+        return hAlign;
+    }
+
+    @Override
+    public void setVAlignment( VAlignment a ) {
+        if( vAlign == a )
+            return;
+        vAlign = a;
+        if( pages != null ) {
+            refreshMesh();
+        }
+    }
+
+    @Override
+    public VAlignment getVAlignment() {
+        return vAlign;
+    }
+
+    /**
+     *  For values greater than 0, this will constrain the maximum
+     *  width of the text box.  Wrapping text will cause the text box
+     *  to grow vertically.
+     */
+    @Override
+    public void setMaxWidth( float f ) {
+        if( this.maxWidth == f ) {
+            return;
+        }
+        this.maxWidth = f;
+        invalidate();
+    }
+
+    @Override
+    public float getMaxWidth() {
+        return maxWidth;
+    }
+
+    public void setFont( SdfFont font ) {
+        if( this.font == font ) {
+            return;
+        }
+        if( fontSize == this.font.getRenderedSize() ) {
+            // The caller hasn't overridden the font size so
+            // we'll take the new font's default.
+            fontSize = font.getRenderedSize();
+        }
+        this.font = font;
+
+        // The pages and any custom materials belong to the old font
+        textNode.detachAllChildren();
+        pages = null;
+        materials = null;
+        resetMaterials();
+
+        invalidate();
+    }
+
+    public SdfFont getFont() {
+        return font;
+    }
+
+    /**
+     *  Sets the font by name using the SdfTextFactory that created this
+     *  component or, if there isn't one, the GuiGlobals text factory if it
+     *  is an SdfTextFactory.
+     */
+    @Override
+    public void setFontName( String fontName ) {
+        if( Objects.equals(fontName, this.fontName) ) {
+            return;
+        }
+        SdfTextFactory loader = factory;
+        if( loader == null && GuiGlobals.getInstance().getTextFactory() instanceof SdfTextFactory ) {
+            loader = (SdfTextFactory)GuiGlobals.getInstance().getTextFactory();
+        }
+        if( loader == null ) {
+            throw new IllegalStateException("No SdfTextFactory available to load font:" + fontName);
+        }
+        this.fontName = fontName;
+        setFont(loader.loadFont(fontName));
+    }
+
+    @Override
+    public String getFontName() {
+        return fontName;
+    }
+
+    @Override
+    public void setFontSize( float size ) {
+        if( fontSize == size )
+            return;
+        fontSize = size;
+        invalidate();
+    }
+
+    @Override
+    public float getFontSize() {
+        return fontSize;
+    }
+
+    @Override
+    public void setColor( ColorRGBA color ) {
+        this.color.set(color != null ? color : ColorRGBA.White);
+        resetColors();
+    }
+
+    @Override
+    public ColorRGBA getColor() {
+        return color;
+    }
+
+    @Override
+    public void setAlpha( float f ) {
+        if( this.alpha == f ) {
+            return;
+        }
+        this.alpha = f;
+        resetColors();
+    }
+
+    @Override
+    public float getAlpha() {
+        return alpha;
+    }
+
+    /**
+     *  Sets the color of an outline drawn just outside of the glyph
+     *  edges or null for no outline.
+     */
+    public void setOutlineColor( ColorRGBA outlineColor ) {
+        this.outlineColor = outlineColor != null ? outlineColor.clone() : null;
+        resetMaterials();
+    }
+
+    public ColorRGBA getOutlineColor() {
+        return outlineColor;
+    }
+
+    /**
+     *  Sets the outline width in distance field units, from 0 to 0.5
+     *  where 0.5 is as wide as the atlas' distance spread allows.  Defaults
+     *  to 0.1.
+     */
+    public void setOutlineWidth( float outlineWidth ) {
+        this.outlineWidth = outlineWidth;
+        resetMaterials();
+    }
+
+    public float getOutlineWidth() {
+        return outlineWidth;
+    }
+
+    /**
+     *  Sets the color of a drop shadow drawn behind the glyphs or
+     *  null for no shadow.
+     */
+    public void setShadowColor( ColorRGBA shadowColor ) {
+        this.shadowColor = shadowColor != null ? shadowColor.clone() : null;
+        resetMaterials();
+    }
+
+    public ColorRGBA getShadowColor() {
+        return shadowColor;
+    }
+
+    /**
+     *  Sets the offset of the drop shadow in atlas pixels.  It is
+     *  clipped to each glyph's quad so it should stay within the padding
+     *  that the atlas has around its glyphs.  Defaults to (2, -2).
+     */
+    public void setShadowOffset( float x, float y ) {
+        this.shadowOffset.set(x, y);
+        resetMaterials();
+    }
+
+    public void setShadowOffset( Vector2f offset ) {
+        setShadowOffset(offset.x, offset.y);
+    }
+
+    public Vector2f getShadowOffset() {
+        return shadowOffset;
+    }
+
+    /**
+     *  Sets how far in distance field units the edge of the drop shadow
+     *  is blurred.  Defaults to 0 for a sharp shadow.
+     */
+    public void setShadowSoftness( float shadowSoftness ) {
+        this.shadowSoftness = shadowSoftness;
+        resetMaterials();
+    }
+
+    public float getShadowSoftness() {
+        return shadowSoftness;
+    }
+
+    @Override
+    public void setOffset( float x, float y, float z ) {
+        if( offset == null ) {
+            offset = new Vector3f(x,y,z);
+        } else {
+            offset.set(x,y,z);
+        }
+        invalidate();
+    }
+
+    @Override
+    public void setOffset( Vector3f offset ) {
+        this.offset = offset.clone();
+        invalidate();
+    }
+
+    @Override
+    public Vector3f getOffset() {
+        return offset;
+    }
+
+    @Override
+    public void reshape( Vector3f pos, Vector3f size ) {
+        // Offsets work the same as in TextComponent, see the notes
+        // there.
+        if( offset != null ) {
+            float effectiveZ = Math.max(0, offset.z);
+            textNode.setLocalTranslation(pos.x + offset.x, pos.y + offset.y, pos.z + effectiveZ);
+            size.x -= Math.abs(offset.x);
+            size.y -= Math.abs(offset.y);
+            size.z -= Math.abs(offset.z);
+            pos.z += Math.abs(offset.z);
+        } else {
+            textNode.setLocalTranslation(pos.x, pos.y, pos.z);
+        }
+        boxWidth = size.x;
+        boxHeight = size.y;
+        refreshMesh();
+    }
+
+    @Override
+    public void calculatePreferredSize( Vector3f size ) {
+        List<Line> lines = layoutLines(maxWidth);
+        float width = 0;
+        for( Line line : lines ) {
+            width = Math.max(width, line.width);
+        }
+        size.x = width;
+        size.y = lines.size() * font.getCharSet().getLineHeight() * getScale();
+
+        if( offset != null ) {
+            size.x += Math.abs(offset.x);
+            size.y += Math.abs(offset.y);
+            size.z += Math.abs(offset.z);
+        }
+
+        size.x += 0.01f;
+    }
+
+    protected float getScale() {
+        return fontSize / font.getRenderedSize();
+    }
+
+    /**
+     *  Breaks the text into lines at new lines and, if wrapWidth is
+     *  greater than 0, at the last space that fits.  Words that are
+     *  longer than a whole line are broken between characters.
+     */
+    protected List<Line> layoutLines( float wrapWidth ) {
+        BitmapCharacterSet charSet = font.getCharSet();
+        float scale = getScale();
+        List<Line> lines = new ArrayList<>();
+        int lineStart = 0;
+        int lastBreak = -1;
+        float widthAtBreak = 0;
+        float x = 0;
+        BitmapCharacter last = null;
+        for( int i = 0; i < text.length(); i++ ) {
+            char c = text.charAt(i);
+            if( c == '\n' ) {
+                lines.add(new Line(lineStart, i, x));
+                lineStart = i + 1;
+                lastBreak = -1;
+                x = 0;
+                last = null;
+                continue;
+            }
+            BitmapCharacter bc = charSet.getCharacter(c);
+            if( bc == null ) {
+                last = null;
+                continue;
+            }
+            float advance = bc.getXAdvance() * scale;
+            if( last != null ) {
+                advance += last.getKerning(c) * scale;
+            }
+            if( wrapWidth > 0 && x + advance > wrapWidth && i > lineStart ) {
+                if( lastBreak > lineStart ) {
+                    // Wrap at the last space, which is dropped
+                    lines.add(new Line(lineStart, lastBreak, widthAtBreak));
+                    lineStart = lastBreak + 1;
+                } else {
+                    lines.add(new Line(lineStart, i, x));
+                    lineStart = i;
+                }
+                // Lay out the rest again from the start of the new line
+                i = lineStart - 1;
+                lastBreak = -1;
+                x = 0;
+                last = null;
+                continue;
+            }
+            if( c == ' ' ) {
+                lastBreak = i;
+                widthAtBreak = x;
+            }
+            x += advance;
+            last = bc;
+        }
+        lines.add(new Line(lineStart, text.length(), x));
+        return lines;
+    }
+
+    protected void refreshMesh() {
+        GuiMetrics metrics = GuiMetrics.getActive(textNode);
+        long start = metrics != null ? System.nanoTime() : 0;
+
+        BitmapCharacterSet charSet = font.getCharSet();
+        float scale = getScale();
+        float lineHeight = charSet.getLineHeight() * scale;
+        float texWidth = charSet.getWidth();
+        float texHeight = charSet.getHeight();
+        List<Line> lines = layoutLines(boxWidth);
+
+        int pageCount = font.getPageCount();
+        if( pages == null ) {
+            pages = new Geometry[pageCount];
+        }
+
+        // Count the visible glyphs on each page so that the
+        // arrays can be sized up front
+        int[] counts = new int[pageCount];
+        for( Line line : lines ) {
+            for( int i = line.start; i < line.end; i++ ) {
+                BitmapCharacter bc = charSet.getCharacter(text.charAt(i));
+                if( bc != null && bc.getWidth() > 0 && bc.getHeight() > 0 ) {
+                    counts[bc.getPage()]++;
+                }
+            }
+        }
+
+        float[][] positions = new float[pageCount][];
+        float[][] texCoords = new float[pageCount][];
+        for( int p = 0; p < pageCount; p++ ) {
+            positions[p] = new float[counts[p] * 4 * 3];
+            texCoords[p] = new float[counts[p] * 4 * 2];
+        }
+        int[] fill = new int[pageCount];
+
+        // The origin is the upper left corner of the text box
+        float totalHeight = lines.size() * lineHeight;
+        float y = 0;
+        switch( vAlign ) {
+            case Bottom:
+                y = -(boxHeight - totalHeight);
+                break;
+            case Center:
+                y = -(boxHeight - totalHeight) * 0.5f;
+                break;
+        }
+        for( Line line : lines ) {
+            float x = 0;
+            switch( hAlign ) {
+                case Right:
+                    x = boxWidth - line.width;
+                    break;
+                case Center:
+                    x = (boxWidth - line.width) * 0.5f;
+                    break;
+            }
+            BitmapCharacter last = null;
+            for( int i = line.start; i < line.end; i++ ) {
+                char c = text.charAt(i);
+                BitmapCharacter bc = charSet.getCharacter(c);
+                if( bc == null ) {
+                    last = null;
+                    continue;
+                }
+                if( last != null ) {
+                    x += last.getKerning(c) * scale;
+                }
+                if( bc.getWidth() > 0 && bc.getHeight() > 0 ) {
+                    int p = bc.getPage();
+                    int q = fill[p]++;
+                    float x0 = x + bc.getXOffset() * scale;
+                    float y0 = y - bc.getYOffset() * scale;
+                    float x1 = x0 + bc.getWidth() * scale;
+                    float y1 = y0 - bc.getHeight() * scale;
+
+                    // Font textures are loaded flipped so v runs bottom-up
+                    float u0 = bc.getX() / texWidth;
+                    float u1 = (bc.getX() + bc.getWidth()) / texWidth;
+                    float v0 = 1f - bc.getY() / texHeight;
+                    float v1 = 1f - (bc.getY() + bc.getHeight()) / texHeight;
+
+                    float[] pos = positions[p];
+                    int pi = q * 12;
+                    pos[pi++] = x0; pos[pi++] = y1; pos[pi++] = 0;
+                    pos[pi++] = x1; pos[pi++] = y1; pos[pi++] = 0;
+                    pos[pi++] = x1; pos[pi++] = y0; pos[pi++] = 0;
+                    pos[pi++] = x0; pos[pi++] = y0; pos[pi++] = 0;
+
+                    float[] tc = texCoords[p];
+                    int ti = q * 8;
+                    tc[ti++] = u0; tc[ti++] = v1;
+                    tc[ti++] = u1; tc[ti++] = v1;
+                    tc[ti++] = u1; tc[ti++] = v0;
+                    tc[ti++] = u0; tc[ti++] = v0;
+                }
+                x += bc.getXAdvance() * scale;
+                last = bc;
+            }
+            y -= lineHeight;
+        }
+
+        boolean added = false;
+        for( int p = 0; p < pageCount; p++ ) {
+            if( counts[p] == 0 ) {
+                if( pages[p] != null ) {
+                    pages[p].removeFromParent();
+                    pages[p] = null;
+                }
+                continue;
+            }
+            Mesh mesh = new Mesh();
+            mesh.setBuffer(Type.Position, 3, positions[p]);
+            mesh.setBuffer(Type.TexCoord, 2, texCoords[p]);
+            mesh.setBuffer(Type.Color, 4, new float[counts[p] * 4 * 4]);
+            if( counts[p] * 4 > 65535 ) {
+                int[] indexes = new int[counts[p] * 6];
+                for( int q = 0, i = 0; q < counts[p]; q++ ) {
+                    int base = q * 4;
+                    indexes[i++] = base;
+                    indexes[i++] = base + 1;
+                    indexes[i++] = base + 2;
+                    indexes[i++] = base;
+                    indexes[i++] = base + 2;
+                    indexes[i++] = base + 3;
+                }
+                mesh.setBuffer(Type.Index, 3, indexes);
+            } else {
+                short[] indexes = new short[counts[p] * 6];
+                for( int q = 0, i = 0; q < counts[p]; q++ ) {
+                    int base = q * 4;
+                    indexes[i++] = (short)base;
+                    indexes[i++] = (short)(base + 1);
+                    indexes[i++] = (short)(base + 2);
+                    indexes[i++] = (short)base;
+                    indexes[i++] = (short)(base + 2);
+                    indexes[i++] = (short)(base + 3);
+                }
+                mesh.setBuffer(Type.Index, 3, indexes);
+            }
+            mesh.updateBound();
+
+            if( pages[p] == null ) {
+                pages[p] = new Geometry("sdfText:" + p, mesh);
+                pages[p].setMaterial(getMaterial(p));
+                textNode.attachChild(pages[p]);
+                added = true;
+            } else {
+                pages[p].setMesh(mesh);
+            }
+        }
+        if( added ) {
+            resetLayer();
+        }
+        resetColors();
+
+        if( metrics != null ) {
+            metrics.textRebuilds.addTime(System.nanoTime() - start);
+        }
+    }
+
+    protected Material getMaterial( int page ) {
+        return materials != null ? materials[page] : font.getMaterial(page);
+    }
+
+    /**
+     *  Switches between the font's shared materials and materials of
+     *  our own depending on whether an outline or shadow is needed.
+     */
+    protected void resetMaterials() {
+        if( outlineColor == null && shadowColor == null ) {
+            materials = null;
+        } else {
+            if( materials == null ) {
+                materials = new Material[font.getPageCount()];
+                for( int i = 0; i < materials.length; i++ ) {
+                    materials[i] = font.createMaterial(i);
+                }
+            }
+            BitmapCharacterSet charSet = font.getCharSet();
+            Vector2f texOffset = new Vector2f(shadowOffset.x / charSet.getWidth(),
+                                              shadowOffset.y / charSet.getHeight());
+            for( Material m : materials ) {
+                if( outlineColor == null ) {
+                    m.clearParam("OutlineColor");
+                } else {
+                    m.setColor("OutlineColor", outlineColor);
+                    m.setFloat("OutlineWidth", outlineWidth);
+                }
+                if( shadowColor == null ) {
+                    m.clearParam("ShadowColor");
+                } else {
+                    m.setColor("ShadowColor", shadowColor);
+                    m.setVector2("ShadowOffset", texOffset);
+                    m.setFloat("ShadowSoftness", shadowSoftness);
+                }
+            }
+        }
+        if( pages != null ) {
+            for( int i = 0; i < pages.length; i++ ) {
+                if( pages[i] != null ) {
+                    pages[i].setMaterial(getMaterial(i));
+                }
+            }
+        }
+    }
+
+    /**
+     *  Writes the current color and alpha into the existing color
+     *  buffers without rebuilding anything else.
+     */
+    protected void resetColors() {
+        if( pages == null ) {
+            return;
+        }
+        float r = color.r;
+        float g = color.g;
+        float b = color.b;
+        float a = color.a * alpha;
+        for( Geometry geom : pages ) {
+            if( geom == null ) {
+                continue;
+            }
+            VertexBuffer vb = geom.getMesh().getBuffer(Type.Color);
+            FloatBuffer fb = (FloatBuffer)vb.getData();
+            fb.rewind();
+            while( fb.hasRemaining() ) {
+                fb.put(r).put(g).put(b).put(a);
+            }
+            fb.rewind();
+            vb.updateData(fb);
+        }
+    }
+
+    protected void resetLayer() {
+        LayerComparator.resetLayer(textNode, layer);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[text=" + text + ", font=" + font + ", fontSize=" + fontSize
+                                    + ", color=" + color + ", alpha=" + alpha + "]";
+    }
+
+    protected static class Line {
+        int start;
+        int end;
+        float width;
+
+        public Line( int start, int end, float width ) {
+            this.start = start;
+            this.end = end;
+            this.width = width;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.component;
+
+import java.util.*;
+import java.util.function.Function;
+
+import org.slf4j.*;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.font.BitmapFont;
+
+
+/**
+ *  A Text2d factory that creates SdfTextComponents.  Install it with
+ *  GuiGlobals.setTextFactory() to have Labels, Buttons, etc. draw their
+ *  text from signed distance field atlases.  Style font names can
+ *  be mapped to SDF font assets with setFontPath().  Unmapped names are
+ *  loaded as-is and should therefore already refer to SDF fonts.
+ *  Each font is loaded only once and shared by all of the text created
+ *  with it, regardless of font size.
+ */
+public class SdfTextFactory implements Function<String, Text2d> {
+
+    static Logger log = LoggerFactory.getLogger(SdfTextFactory.class);
+
+    private AssetManager assets;
+    private final Map<String, String> fontPaths = new HashMap<>();
+    private final Map<String, SdfFont> fonts = new HashMap<>();
+
+    public SdfTextFactory( AssetManager assets ) {
+        this.assets = assets;
+    }
+
+    /**
+     *  Maps the specified style font name to the asset path of an SDF
+     *  font.
+     */
+    public synchronized void setFontPath( String fontName, String assetPath ) {
+        if( assetPath == null ) {
+            fontPaths.remove(fontName);
+        } else {
+            fontPaths.put(fontName, assetPath);
+        }
+    }
+
+    public synchronized String getFontPath( String fontName ) {
+        String result = fontPaths.get(fontName);
+        return result != null ? result : fontName;
+    }
+
+    /**
+     *  Returns the SdfFont for the specified font name, loading it the
+     *  first time it is requested.
+     */
+    public synchronized SdfFont loadFont( String fontName ) {
+        String path = getFontPath(fontName);
+        SdfFont result = fonts.get(path);
+        if( result == null ) {
+            if( log.isDebugEnabled() ) {
+                log.debug("Loading SDF font:" + path + " for:" + fontName);
+            }
+            BitmapFont font = assets.loadFont(path);
+            result = new SdfFont(assets, font);
+            fonts.put(path, result);
+        }
+        return result;
+    }
+
+    @Override
+    public Text2d apply( String fontName ) {
+        return new SdfTextComponent(this, fontName);
+    }
+}
@@ -37,12 +37,14 @@ package com.simsilica.lemur.component;
 import com.jme3.material.RenderState.BlendMode;
 import com.jme3.math.*;
 import com.jme3.scene.*;
+import com.jme3.scene.shape.Quad;
 import com.jme3.texture.Image;
 import com.jme3.texture.Texture;
 
 import com.simsilica.lemur.GuiGlobals;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.NineSliceMaterialAdapter;
 import com.simsilica.lemur.geom.TbtQuad;
 
 
@@ -84,6 +86,14 @@ import com.simsilica.lemur.geom.TbtQuad;
  * contrast will be safely inside the unstretched area.
  * <li>Using a texture that is larger than the quad.
  * </ul>
+ * <p>
+ * <b>GPU slicing</b><br>
+ * With setGpuSlicing(true), an unlit component draws a single shared unit
+ * quad with the NineSlice material instead of a TbtQuad mesh.  The stretching
+ * is then done in the fragment shader and resizing only changes the
+ * geometry's scale and a uniform.  This is useful for frames and bars whose
+ * size is animated.  Lit components, or renderers that can't load the
+ * material, fall back to the TbtQuad mesh.
  *
  * @author Paul Speed, Joachim "Toolforger" Durchholz (Javadoc)
  */
@@ -99,6 +109,9 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
     private float yMargin = 0;
     private float zOffset = 0.01f;
     private boolean lit = false;
+    private boolean gpuSlicing = false;
+
+    private static Mesh unitQuad;
 
     public TbtQuadBackgroundComponent(TbtQuad quad) {
         this(quad, null, 0, 0, 0.01f, false);
@@ -252,6 +265,38 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
         return zOffset;
     }
 
+    /**
+     *  Set to true to do the nine-slice stretching in a shader on a
+     *  single unit quad instead of rebuilding the TbtQuad mesh on every
+     *  resize.  Defaults to false.  If the shader is not supported or this
+     *  component is lit then the regular mesh is still used.
+     */
+    public void setGpuSlicing( boolean gpuSlicing ) {
+        if( this.gpuSlicing == gpuSlicing ) {
+            return;
+        }
+        this.gpuSlicing = gpuSlicing;
+        if( background != null ) {
+            getNode().detachChild(background);
+            background = null;
+        }
+        createMaterial();
+        resetColor();
+        invalidate();
+    }
+
+    public boolean isGpuSlicing() {
+        return gpuSlicing;
+    }
+
+    /**
+     *  Returns true if GPU slicing was requested and is actually
+     *  being used.
+     */
+    public boolean isGpuSliced() {
+        return material instanceof NineSliceMaterialAdapter;
+    }
+
     public GuiMaterial getMaterial() {
         return material;
     }
@@ -276,18 +321,40 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
     }
 
     protected void createMaterial() {
-        material = GuiGlobals.getInstance().createMaterial(texture, lit);
+        material = null;
+        if( gpuSlicing && !lit ) {
+            NineSliceMaterialAdapter slice = GuiGlobals.getInstance().createNineSliceMaterial(texture);
+            if( slice != null ) {
+                slice.setBorders(quad.getBorders());
+                slice.setTextureFolds(quad.getTextureFolds());
+                material = slice;
+            }
+        }
+        if( material == null ) {
+            material = GuiGlobals.getInstance().createMaterial(texture, lit);
+        }
         if( color != null ) {
             material.setColor(color);
         }
         material.getMaterial().getAdditionalRenderState().setBlendMode(BlendMode.Alpha);
     }
 
+    protected static Mesh getUnitQuad() {
+        if( unitQuad == null ) {
+            unitQuad = new Quad(1, 1);
+        }
+        return unitQuad;
+    }
+
     protected void createGeometry() {
-        background = new Geometry("background", quad);
         if( material == null ) {
             createMaterial();
         }
+        if( material instanceof NineSliceMaterialAdapter ) {
+            background = new Geometry("background", getUnitQuad());
+        } else {
+            background = new Geometry("background", quad);
+        }
         background.setMaterial(material.getMaterial());
         getNode().attachChild(background);
     }
@@ -296,6 +363,13 @@ public class TbtQuadBackgroundComponent extends AbstractGuiComponent
         if( background == null ) {
             createGeometry();
         }
+        if( material instanceof NineSliceMaterialAdapter ) {
+            // The shader does the stretching so resizing is just
+            // a scale and a uniform.
+            background.setLocalScale(size.x, size.y, 1);
+            ((NineSliceMaterialAdapter)material).setSize(size.x, size.y);
+            return;
+        }
         // Always need to at least reset the size because
         // the original quad may have been passed in with
         // a totally different size.
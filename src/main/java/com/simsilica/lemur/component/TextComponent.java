@@ -47,6 +47,7 @@ import com.simsilica.lemur.HAlignment;
 import com.simsilica.lemur.LayerComparator;
 import com.simsilica.lemur.VAlignment;
 import com.simsilica.lemur.core.GuiControl;
+import com.simsilica.lemur.core.GuiMetrics;
 
 
 /**
@@ -97,7 +98,14 @@ public class TextComponent extends AbstractGuiComponent
         if( text != null && text.equals(bitmapText.getText()) )
             return;
 
+        GuiMetrics metrics = GuiMetrics.getActive(bitmapText);
+        long start = metrics != null ? System.nanoTime() : 0;
+
         bitmapText.setText(text);
+
+        if( metrics != null ) {
+            metrics.textRebuilds.addTime(System.nanoTime() - start);
+        }
         invalidate();
     }
 
@@ -56,6 +56,7 @@ import com.simsilica.lemur.HAlignment;
 import com.simsilica.lemur.VAlignment;
 import com.simsilica.lemur.core.GuiControl;
 import com.simsilica.lemur.core.GuiMaterial;
+import com.simsilica.lemur.core.GuiMetrics;
 import com.simsilica.lemur.core.GuiUpdateListener;
 import com.simsilica.lemur.core.VersionedReference;
 import com.simsilica.lemur.event.KeyAction;
@@ -402,7 +403,14 @@ public class TextEntryComponent extends AbstractGuiComponent
         if( text != null && text.equals(bitmapText.getText()) )
             return;
 
+        GuiMetrics metrics = GuiMetrics.getActive(bitmapText);
+        long start = metrics != null ? System.nanoTime() : 0;
+
         bitmapText.setText(text);
+
+        if( metrics != null ) {
+            metrics.textRebuilds.addTime(System.nanoTime() - start);
+        }
         resetCursorPosition();
         invalidate();
     }
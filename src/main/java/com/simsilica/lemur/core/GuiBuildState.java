@@ -0,0 +1,326 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.Command;
+
+
+/**
+ *  Builds detached GUI trees on a background thread and then hands
+ *  them back to the render thread to be attached in one step.  This lets
+ *  large screens be constructed, styled, and laid out without stalling
+ *  the frame in which they are opened.
+ *
+ *  <p>The builder passed to build() runs on a worker thread and may create,
+ *  style, and lay out new Lemur elements (Styles lookups and GuiGlobals
+ *  material, texture, and font loading are safe to call from other threads).
+ *  It must only work with elements and models that it creates itself:
+ *  it must not touch the live scene graph, any app state, or any model that
+ *  is also used by an attached GUI.  Style selectors should not be modified
+ *  while builds are running.  Components defer anything that registers with
+ *  shared render-thread structures, like VersionedUpdateState watches, until
+ *  their first update after being attached.  By default, the root's layout
+ *  is also calculated on the worker thread so that the render thread only
+ *  needs to attach the result.</p>
+ *
+ *  <p>Finished trees are committed during this state's update(), optionally
+ *  limited to a number of commits per frame.</p>
+ */
+public class GuiBuildState extends BaseAppState {
+
+    static Logger log = LoggerFactory.getLogger(GuiBuildState.class);
+
+    private ExecutorService executor;
+    private boolean ownsExecutor;
+    private final ConcurrentLinkedQueue<BuildTask> ready = new ConcurrentLinkedQueue<>();
+    private int maxCommitsPerFrame = 0;
+    private boolean precomputeLayout = true;
+
+    /**
+     *  Creates a build state that runs builds one at a time on its
+     *  own daemon worker thread.
+     */
+    public GuiBuildState() {
+        this(null);
+    }
+
+    /**
+     *  Creates a build state that runs builds on the specified executor.
+     *  The caller is responsible for shutting down the executor.  If the
+     *  executor is null then a single daemon worker thread is created
+     *  and owned by this state.
+     */
+    public GuiBuildState( ExecutorService executor ) {
+        this.executor = executor;
+    }
+
+    /**
+     *  Sets the maximum number of finished builds that will be committed
+     *  in a single frame.  0, the default, commits all finished builds
+     *  as soon as they are available.
+     */
+    public void setMaxCommitsPerFrame( int max ) {
+        this.maxCommitsPerFrame = Math.max(0, max);
+    }
+
+    public int getMaxCommitsPerFrame() {
+        return maxCommitsPerFrame;
+    }
+
+    /**
+     *  Set to true to have the layout of built GuiControl roots
+     *  calculated on the worker thread.  Defaults to true.
+     */
+    public void setPrecomputeLayout( boolean precomputeLayout ) {
+        this.precomputeLayout = precomputeLayout;
+    }
+
+    public boolean getPrecomputeLayout() {
+        return precomputeLayout;
+    }
+
+    /**
+     *  Returns the number of finished builds waiting to be committed.
+     */
+    public int getPendingCommitCount() {
+        return ready.size();
+    }
+
+    /**
+     *  Runs the specified builder on the worker thread and then calls
+     *  the commit command with the result on the render thread.
+     */
+    public <T extends Spatial> BuildTask<T> build( Callable<T> builder, Command<? super T> commit ) {
+        if( executor == null ) {
+            throw new IllegalStateException("GuiBuildState is not initialized");
+        }
+        BuildTask<T> task = new BuildTask<>(builder, commit);
+        task.future = executor.submit(task);
+        return task;
+    }
+
+    /**
+     *  Runs the specified builder on the worker thread and then attaches
+     *  the result to the specified parent on the render thread.
+     */
+    public <T extends Spatial> BuildTask<T> buildAndAttach( Callable<T> builder, final Node parent ) {
+        return build(builder, new Command<T>() {
+                public void execute( T result ) {
+                    parent.attachChild(result);
+                }
+            });
+    }
+
+    /**
+     *  Called on the worker thread after a tree has been built to prepare
+     *  it for committing.  By default this calculates the layout of the
+     *  root GuiControl if precomputeLayout is true.
+     */
+    protected void prepare( Spatial result ) {
+        if( !precomputeLayout ) {
+            return;
+        }
+        GuiControl control = result.getControl(GuiControl.class);
+        if( control != null ) {
+            control.validate();
+        }
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+        if( executor == null ) {
+            executor = Executors.newSingleThreadExecutor(new WorkerFactory());
+            ownsExecutor = true;
+        }
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+        if( ownsExecutor ) {
+            executor.shutdownNow();
+            executor = null;
+            ownsExecutor = false;
+        }
+        ready.clear();
+    }
+
+    @Override
+    protected void onEnable() {
+    }
+
+    @Override
+    public void update( float tpf ) {
+        int count = 0;
+        BuildTask task;
+        while( (maxCommitsPerFrame == 0 || count < maxCommitsPerFrame)
+                && (task = ready.poll()) != null ) {
+            if( task.commit() ) {
+                count++;
+            }
+        }
+    }
+
+    @Override
+    protected void onDisable() {
+    }
+
+    /**
+     *  The status of a single build.  The result is only available
+     *  once the build is committed.
+     */
+    public enum Status { Building, Ready, Committed, Failed, Canceled }
+
+    /**
+     *  Tracks a single background build.
+     */
+    public class BuildTask<T extends Spatial> implements Callable<T> {
+        private final Callable<T> builder;
+        private final Command<? super T> commitCommand;
+        private volatile Status status = Status.Building;
+        private volatile T result;
+        private volatile Throwable error;
+        private Future<T> future;
+
+        protected BuildTask( Callable<T> builder, Command<? super T> commitCommand ) {
+            this.builder = builder;
+            this.commitCommand = commitCommand;
+        }
+
+        @Override
+        public T call() throws Exception {
+            try {
+                T built = builder.call();
+                if( built != null ) {
+                    prepare(built);
+                }
+                synchronized( this ) {
+                    this.result = built;
+                    if( status == Status.Building ) {
+                        status = Status.Ready;
+                        ready.add(this);
+                    }
+                }
+                return built;
+            } catch( Exception | Error e ) {
+                log.error("Error building GUI", e);
+                this.error = e;
+                this.status = Status.Failed;
+                throw e;
+            }
+        }
+
+        /**
+         *  Called on the render thread to commit the result.  Returns
+         *  true if the commit command was run.
+         */
+        protected boolean commit() {
+            synchronized( this ) {
+                if( status != Status.Ready ) {
+                    return false;
+                }
+                status = Status.Committed;
+            }
+            if( commitCommand != null && result != null ) {
+                commitCommand.execute(result);
+            }
+            return true;
+        }
+
+        /**
+         *  Cancels this build if it has not already been committed.
+         *  Returns true if the build was canceled.
+         */
+        public boolean cancel() {
+            synchronized( this ) {
+                if( status != Status.Building && status != Status.Ready ) {
+                    return false;
+                }
+                status = Status.Canceled;
+            }
+            if( future != null ) {
+                future.cancel(false);
+            }
+            return true;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public boolean isDone() {
+            return status != Status.Building && status != Status.Ready;
+        }
+
+        /**
+         *  Returns the built tree once it has been committed or null
+         *  if the build has not been committed.
+         */
+        public T getResult() {
+            return status == Status.Committed ? result : null;
+        }
+
+        /**
+         *  Returns the error thrown by the builder if the build failed.
+         */
+        public Throwable getError() {
+            return error;
+        }
+    }
+
+    private static class WorkerFactory implements ThreadFactory {
+        private static final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread( Runnable r ) {
+            Thread result = new Thread(r, "GuiBuildState-" + count.incrementAndGet());
+            result.setDaemon(true);
+            result.setPriority(Thread.NORM_PRIORITY - 1);
+            return result;
+        }
+    }
+}
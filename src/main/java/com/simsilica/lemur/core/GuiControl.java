@@ -39,6 +39,9 @@ import java.util.*;
 import org.slf4j.*;
 
 import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
 import com.jme3.scene.*;
 import com.jme3.util.SafeArrayList;
 import com.simsilica.lemur.focus.FocusChangeEvent;
@@ -61,12 +64,28 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
     private ComponentStack componentStack;
     private GuiLayout layout;
     private FocusTraversal focusTraversal;
+    private boolean customFocusTraversal;
 
     private SafeArrayList<GuiControlListener> listeners;
     private SafeArrayList<FocusChangeListener> focusListeners;
     private SafeArrayList<GuiUpdateListener> updateListeners;
 
     private volatile boolean invalid = false;
+    private int layoutPriority = 0;
+    boolean layoutPending = false;
+    boolean updateQueued = false;
+    boolean idle = false;
+
+    // GuiLayoutState frames when this control was last laid out by the
+    // layout state and last rendered, ie: not culled
+    long layoutFrame = -1;
+    long renderFrame = -1;
+
+    private boolean updateWhenHidden = false;
+    private boolean suspendOffscreen = false;
+    private boolean fullyTransparent = false;
+    private boolean suspended = false;
+    private float suspendedTime;
 
     private Vector3f preferredSizeOverride = null;
     private Vector3f lastSize = new Vector3f();
@@ -122,6 +141,7 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
             updateListeners = new SafeArrayList<>(GuiUpdateListener.class);
         }
         updateListeners.add(l);
+        requestDispatch();
     }
 
     public void removeUpdateListener( GuiUpdateListener l ) {
@@ -247,6 +267,43 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         return focusTraversal == null ? false : focusTraversal.isFocusRoot();
     }
 
+    /**
+     *  Sets a custom FocusTraversal implementation to use for this
+     *  control instead of the one provided by (or adapted from) the layout.
+     *  Setting null reverts to the layout-based traversal.
+     */
+    public void setFocusTraversal( FocusTraversal ft ) {
+        this.customFocusTraversal = ft != null;
+        if( ft != null ) {
+            this.focusTraversal = ft;
+        } else {
+            resetFocusTraversal();
+        }
+    }
+
+    /**
+     *  Returns the FocusTraversal currently used by this control, either
+     *  a custom one set with setFocusTraversal() or the one provided by
+     *  the layout.  Returns null if there is neither.
+     */
+    public FocusTraversal getFocusTraversal() {
+        if( !customFocusTraversal && layout == null ) {
+            return null;
+        }
+        return focusTraversal;
+    }
+
+    protected void resetFocusTraversal() {
+        if( customFocusTraversal ) {
+            return;
+        }
+        if( this.layout instanceof FocusTraversal ) {
+            this.focusTraversal = (FocusTraversal)layout;
+        } else if( this.layout != null ) {
+            this.focusTraversal = new FocusTraversalAdapter(layout);
+        }
+    }
+
     public void setLayerOrder( String... layers ) {
         componentStack.setLayerOrder(layers);
     }
@@ -265,11 +322,7 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
             // We are attached so attach the layout too
             layout.attach(this);
         }
-        if( this.layout instanceof FocusTraversal ) {
-            this.focusTraversal = (FocusTraversal)layout;
-        } else if( this.layout != null ) {
-            this.focusTraversal = new FocusTraversalAdapter(layout);
-        }
+        resetFocusTraversal();
         invalidate();
     }
 
@@ -286,11 +339,24 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         invalidate();
     }
 
+    /**
+     *  Returns the preferred size that was set with setPreferredSize()
+     *  or null if the preferred size is calculated.
+     */
+    public Vector3f getPreferredSizeOverride() {
+        return preferredSizeOverride;
+    }
+
     public Vector3f getPreferredSize() {
         if( preferredSizeOverride != null ) {
             return preferredSizeOverride.clone();
         }
 
+        GuiMetrics metrics = GuiMetrics.getActive(getNode());
+        if( metrics != null ) {
+            metrics.layoutNodes.increment();
+        }
+
         Vector3f size = new Vector3f();
         if( layout != null ) {
             layout.calculatePreferredSize(size);
@@ -313,6 +379,11 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         }
         lastSize.set(size);
 
+        GuiMetrics metrics = GuiMetrics.getActive(getNode());
+        if( metrics != null ) {
+            metrics.layoutNodes.increment();
+        }
+
         // The components will take their parts out of size.
         // The caller may not be expecting their size to change... especially
         // since it might have been the getPreferredSize() of some other GUI element
@@ -386,6 +457,64 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
 
     @Override
     protected void controlUpdate( float tpf ) {
+        GuiUpdateState dispatcher = GuiUpdateState.getDefaultInstance();
+        if( dispatcher != null && dispatcher.isEnabled() ) {
+            // The dispatcher does the real update, we just make sure
+            // that it knows about us if we have work.  This catches controls
+            // that had work before the dispatcher was enabled or that were
+            // dropped while detached from the scene.  Controls with nothing
+            // to do are disabled so that the scene graph update skips them
+            // until requestDispatch() wakes them up again.
+            if( updateQueued ) {
+                return;
+            }
+            if( hasUpdateWork() ) {
+                dispatcher.requestUpdate(this);
+            } else {
+                dispatcher.makeIdle(this);
+            }
+            return;
+        }
+        dispatchUpdate(tpf);
+    }
+
+    /**
+     *  Returns true if this control needs to be updated: it has update
+     *  listeners, is waiting for layout, or is accumulating time while hidden.
+     */
+    protected boolean hasUpdateWork() {
+        return invalid || suspended || (updateListeners != null && !updateListeners.isEmpty());
+    }
+
+    /**
+     *  Registers this control with the GuiUpdateState, if there is an
+     *  enabled one, so that it is updated the next time the state runs.
+     *  This also wakes up a control that the state had made idle.
+     */
+    protected void requestDispatch() {
+        GuiUpdateState dispatcher = GuiUpdateState.getDefaultInstance();
+        if( dispatcher != null && dispatcher.isEnabled() && !updateQueued ) {
+            dispatcher.requestUpdate(this);
+        }
+    }
+
+    /**
+     *  Performs the per-frame update of this control.  Called from
+     *  controlUpdate() or from the GuiUpdateState.
+     */
+    protected void dispatchUpdate( float tpf ) {
+        if( !updateWhenHidden && isHidden() ) {
+            // Nothing to see so nothing to keep up to date... we'll
+            // catch up with the accumulated time when we're shown again.
+            suspended = true;
+            suspendedTime += tpf;
+            return;
+        }
+        if( suspended ) {
+            tpf += suspendedTime;
+            suspended = false;
+            suspendedTime = 0;
+        }
 
         if( updateListeners != null ) {
             for( GuiUpdateListener l : updateListeners.getArray() ) {
@@ -394,10 +523,38 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         }
 
         if( invalid ) {
-            revalidate();
+            GuiLayoutState layouts = GuiLayoutState.getDefaultInstance();
+            if( layouts != null && layouts.isEnabled() ) {
+                layouts.requestLayout(this);
+            } else {
+                revalidate();
+            }
         }
     }
 
+    /**
+     *  Overridden to note the frame in which the control's spatial was
+     *  last rendered, even while the control is disabled.  The renderer
+     *  only gets here for spatials that were not culled.
+     */
+    @Override
+    public void render( RenderManager rm, ViewPort vp ) {
+        renderFrame = GuiLayoutState.getFrame();
+        super.render(rm, vp);
+    }
+
+    /**
+     *  Called by the GuiUpdateState to disable this control while it has
+     *  nothing to do and to enable it again when it does.
+     */
+    void setIdle( boolean idle ) {
+        if( this.idle == idle ) {
+            return;
+        }
+        this.idle = idle;
+        setEnabled(!idle);
+    }
+
     protected boolean hasParent() {
         if( getNode() == null )
             return false;
@@ -419,6 +576,9 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         if( isChild() )
             return;
 
+        GuiMetrics metrics = GuiMetrics.getActive(getNode());
+        long start = metrics != null ? System.nanoTime() : 0;
+
         // Calculate preferred size
         // we go backwards and let each previous layer
         // potentially add its own sizing.
@@ -428,6 +588,121 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
         // forward and let each one apply their own limits
         // for the next component.
         setSize(size);
+
+        if( metrics != null ) {
+            metrics.layoutTimed(this, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     *  Returns true if this control's layout has been invalidated and
+     *  not yet recalculated.
+     */
+    public boolean isInvalid() {
+        return invalid;
+    }
+
+    /**
+     *  Returns true if this control is effectively invisible: fully
+     *  transparent as set by setFullyTransparent(), culled by its own or
+     *  an ancestor's CullHint.Always, or, if setSuspendOffscreen(true)
+     *  was called, outside of the camera frustum the last time the
+     *  renderer checked.  Hidden controls do not call their GuiUpdateListeners
+     *  or recalculate their layout unless setUpdateWhenHidden(true) is set.
+     *  When shown again, the listeners are called once with all of the
+     *  time that passed while hidden and any pending layout is done.
+     */
+    public boolean isHidden() {
+        if( fullyTransparent ) {
+            return true;
+        }
+        Node node = getNode();
+        if( node == null ) {
+            return false;
+        }
+        if( node.getCullHint() == Spatial.CullHint.Always ) {
+            return true;
+        }
+        if( suspendOffscreen ) {
+            for( Spatial s = node; s != null; s = s.getParent() ) {
+                if( s.getLastFrustumIntersection() == Camera.FrustumIntersect.Outside ) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Returns true if the last update was skipped because this control
+     *  was hidden.
+     */
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    /**
+     *  Set to true to keep calling the GuiUpdateListeners and
+     *  recalculating layout even when this control is hidden.  Defaults
+     *  to false.
+     */
+    public void setUpdateWhenHidden( boolean updateWhenHidden ) {
+        this.updateWhenHidden = updateWhenHidden;
+    }
+
+    public boolean getUpdateWhenHidden() {
+        return updateWhenHidden;
+    }
+
+    /**
+     *  Set to true to also treat this control as hidden when it was
+     *  outside of the camera frustum in the last rendered frame.  Defaults
+     *  to false because an update listener that moves its panel
+     *  back on screen would never get called again.
+     */
+    public void setSuspendOffscreen( boolean suspendOffscreen ) {
+        this.suspendOffscreen = suspendOffscreen;
+    }
+
+    public boolean getSuspendOffscreen() {
+        return suspendOffscreen;
+    }
+
+    /**
+     *  Called by Panel.setAlpha() to indicate that this control's
+     *  visuals are completely transparent.
+     */
+    public void setFullyTransparent( boolean fullyTransparent ) {
+        this.fullyTransparent = fullyTransparent;
+    }
+
+    public boolean isFullyTransparent() {
+        return fullyTransparent;
+    }
+
+    /**
+     *  Sets the priority used by the GuiLayoutState when deciding which
+     *  invalid roots to lay out first in a frame.  Higher priorities go
+     *  first.  Defaults to 0.
+     */
+    public void setLayoutPriority( int layoutPriority ) {
+        this.layoutPriority = layoutPriority;
+    }
+
+    public int getLayoutPriority() {
+        return layoutPriority;
+    }
+
+    /**
+     *  Immediately recalculates the layout if this control has been
+     *  invalidated instead of waiting for the next update.  This can
+     *  be used to precompute the layout of a detached GUI tree, possibly
+     *  from another thread, as long as no other thread is using it.
+     */
+    public void validate() {
+        if( invalid ) {
+            revalidate();
+        }
     }
 
     public void invalidate() {
@@ -440,6 +715,7 @@ public class GuiControl extends AbstractNodeControl<GuiControl>
             invalid = false;
         } else {
             invalid = true;
+            requestDispatch();
         }
     }
 
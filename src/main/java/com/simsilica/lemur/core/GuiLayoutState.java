@@ -0,0 +1,292 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.*;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Schedules the layout of invalidated root GuiControls within a
+ *  per-frame time budget.  When this state exists and is enabled,
+ *  root GuiControls hand their revalidation to it instead of always
+ *  doing it immediately in their own update.
+ *
+ *  <p>Roots are laid out immediately while the frame's budget lasts.
+ *  Roots that would go over budget are queued and laid out at the start
+ *  of following frames, highest GuiControl layout priority first.  At
+ *  least one queued root is always laid out per frame so that nothing
+ *  starves.  Roots that are hidden with CullHint.Always, or that were
+ *  rendered since their last layout and then culled by the renderer (or
+ *  are under a culled parent), are deferred until they are visible again.
+ *  Roots that have not been rendered since their last layout, like newly
+ *  attached ones, are always laid out because their culling results
+ *  would be based on stale bounds.</p>
+ *
+ *  <p>This state is opt-in.  Only an attached and enabled state defers
+ *  layouts.  Without one, GuiControls revalidate in their own updates as
+ *  they always have.</p>
+ */
+public class GuiLayoutState extends BaseAppState {
+
+    private static GuiLayoutState defaultInstance;
+    private static long frame;
+
+    private static final Comparator<GuiControl> PRIORITY_ORDER = new Comparator<GuiControl>() {
+            public int compare( GuiControl a, GuiControl b ) {
+                return Integer.compare(b.getLayoutPriority(), a.getLayoutPriority());
+            }
+        };
+
+    private final List<GuiControl> pending = new ArrayList<>();
+    private final List<GuiControl> working = new ArrayList<>();
+    private long budgetNanos = 2000000;
+
+    private long frameNanos;
+    private int frameLayouts;
+    private int frameDeferred;
+
+    private long lastFrameNanos;
+    private int lastFrameLayouts;
+    private int lastFrameDeferred;
+
+    public GuiLayoutState() {
+    }
+
+    /**
+     *  Returns the layout state that is currently scheduling layouts
+     *  or null if no GuiLayoutState is attached and enabled.
+     */
+    public static GuiLayoutState getDefaultInstance() {
+        return defaultInstance;
+    }
+
+    /**
+     *  Returns the number of frames that the default layout state has
+     *  started.  Used to relate layouts to the frames that rendered them.
+     */
+    static long getFrame() {
+        return frame;
+    }
+
+    /**
+     *  Sets the time in microseconds that may be spent laying out
+     *  roots each frame.  0 means no limit, in which case only culled
+     *  roots are deferred.  Defaults to 2000 (2 ms).
+     */
+    public void setLayoutBudget( long micros ) {
+        this.budgetNanos = Math.max(0, micros) * 1000;
+    }
+
+    public long getLayoutBudget() {
+        return budgetNanos / 1000;
+    }
+
+    /**
+     *  Returns the number of roots that are waiting to be laid out.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     *  Returns the time in nanoseconds spent on layout last frame.
+     */
+    public long getLastFrameLayoutNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     *  Returns the number of roots that were laid out last frame.
+     */
+    public int getLastFrameLayoutCount() {
+        return lastFrameLayouts;
+    }
+
+    /**
+     *  Returns the number of layout requests that were deferred last
+     *  frame, either for budget or visibility.
+     */
+    public int getLastFrameDeferredCount() {
+        return lastFrameDeferred;
+    }
+
+    /**
+     *  Called by root GuiControls from their update when they have
+     *  been invalidated.  The control is laid out right away if it is
+     *  visible and the budget allows, otherwise it is queued.
+     */
+    protected void requestLayout( GuiControl control ) {
+        if( control.layoutPending ) {
+            // Already waiting its turn
+            return;
+        }
+        if( isVisible(control) && hasBudget() ) {
+            layout(control);
+            return;
+        }
+        frameDeferred++;
+        control.layoutPending = true;
+        pending.add(control);
+    }
+
+    protected boolean hasBudget() {
+        return budgetNanos == 0 || frameNanos < budgetNanos;
+    }
+
+    /**
+     *  Returns false if the control's spatial or one of its parents is
+     *  CullHint.Always or if the spatial was rendered since its last layout
+     *  but was then culled by the renderer.  If the spatial hasn't been
+     *  rendered since its last layout then its culling results are not
+     *  trustworthy and it is considered visible.
+     */
+    protected boolean isVisible( GuiControl control ) {
+        boolean culled = false;
+        for( Spatial s = control.getNode(); s != null; s = s.getParent() ) {
+            if( s.getCullHint() == Spatial.CullHint.Always ) {
+                return false;
+            }
+            if( s.getLastFrustumIntersection() == Camera.FrustumIntersect.Outside ) {
+                culled = true;
+            }
+        }
+        if( !culled ) {
+            return true;
+        }
+        if( control.renderFrame < control.layoutFrame ) {
+            // Never rendered with its current layout
+            return true;
+        }
+        if( control.renderFrame >= frame - 1 ) {
+            // Rendered last frame so the culling result is stale
+            return true;
+        }
+        return false;
+    }
+
+    protected void layout( GuiControl control ) {
+        long start = System.nanoTime();
+        control.layoutFrame = frame;
+        control.validate();
+        frameNanos += System.nanoTime() - start;
+        frameLayouts++;
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+        for( GuiControl control : pending ) {
+            control.layoutPending = false;
+        }
+        pending.clear();
+    }
+
+    @Override
+    protected void onEnable() {
+        if( defaultInstance == null ) {
+            defaultInstance = this;
+        }
+        frameNanos = 0;
+    }
+
+    @Override
+    public void update( float tpf ) {
+        // Start a new frame
+        if( defaultInstance == this ) {
+            frame++;
+        }
+        lastFrameNanos = frameNanos;
+        lastFrameLayouts = frameLayouts;
+        lastFrameDeferred = frameDeferred;
+        frameNanos = 0;
+        frameLayouts = 0;
+        frameDeferred = 0;
+
+        if( pending.isEmpty() ) {
+            return;
+        }
+
+        working.addAll(pending);
+        pending.clear();
+        Collections.sort(working, PRIORITY_ORDER);
+
+        for( GuiControl control : working ) {
+            Node node = control.getNode();
+            if( !control.isInvalid() || node == null || node.getParent() == null ) {
+                // Either already laid out or no longer part of a scene.
+                // Detached roots will request layout again when they are
+                // reattached and updated.
+                control.layoutPending = false;
+                continue;
+            }
+            if( !isVisible(control) || (frameLayouts > 0 && !hasBudget()) ) {
+                pending.add(control);
+                continue;
+            }
+            control.layoutPending = false;
+            layout(control);
+        }
+        working.clear();
+    }
+
+    @Override
+    protected void onDisable() {
+        if( defaultInstance == this ) {
+            defaultInstance = null;
+            // See if there is another enabled one to take over
+            GuiLayoutState other = getState(GuiLayoutState.class);
+            if( other != null && other != this && other.isEnabled() ) {
+                defaultInstance = other;
+            }
+        }
+        // Lay out anything still waiting so that nothing is left invalid
+        for( GuiControl control : pending ) {
+            control.layoutPending = false;
+            control.validate();
+        }
+        pending.clear();
+    }
+}
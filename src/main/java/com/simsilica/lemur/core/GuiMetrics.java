@@ -0,0 +1,449 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Low overhead counters and timers for the parts of Lemur that tend
+ *  to show up when a GUI is slow: layout, style application, picking,
+ *  text rebuilding, animation, and input dispatch.
+ *
+ *  <p>Metrics are off by default.  The instrumented code only calls
+ *  getActive() and checks for null, so the cost is near zero when they
+ *  are disabled.  enable() and disable() calls are counted so that
+ *  several users, like GuiMetricsState and GuiMetricsHudState, can each
+ *  turn the metrics on without turning them off for the others.  When enabled, counts and times accumulate until
+ *  sample(true) or publish() collects and resets them.  publish()
+ *  passes the samples to each registered GuiMetricsSink.  Those can log
+ *  them, expose them through JMX, or show them in an in-game panel.
+ *  GuiMetricsState calls publish() at a regular interval.</p>
+ *
+ *  <p>Metrics can be updated from any thread.</p>
+ */
+public class GuiMetrics {
+
+    private static final GuiMetrics instance = new GuiMetrics();
+    private static volatile GuiMetrics active;
+
+    private final List<Metric> metrics = new ArrayList<>();
+    private final List<GuiMetricsSink> sinks = new CopyOnWriteArrayList<>();
+    private final List<LayoutTimingListener> layoutListeners = new CopyOnWriteArrayList<>();
+    private final Set<Spatial> excluded = Collections.newSetFromMap(new ConcurrentHashMap<Spatial, Boolean>());
+    private long lastPublish = System.nanoTime();
+    private int enableCount;
+
+    /**
+     *  GuiControl.revalidate() calls and the time spent in them.
+     */
+    public final Metric layoutRevalidate = add("layout.revalidate");
+
+    /**
+     *  GuiControl preferred size calculations and resizes.  These
+     *  are the nodes visited by layout.
+     */
+    public final Metric layoutNodes = add("layout.nodes");
+
+    /**
+     *  Styles.applyStyles() calls and the time spent in them.
+     */
+    public final Metric styleApply = add("style.apply");
+
+    /**
+     *  Styles attribute lookups that were already cached.
+     */
+    public final Metric styleCacheHits = add("style.cacheHits");
+
+    /**
+     *  Styles attribute lookups that had to be compiled.
+     */
+    public final Metric styleCacheMisses = add("style.cacheMisses");
+
+    /**
+     *  PickEventSession.cursorMoved() calls and the time spent in them.
+     */
+    public final Metric pickCursorMoved = add("pick.cursorMoved");
+
+    /**
+     *  Collision roots tested by cursorMoved().
+     */
+    public final Metric pickRoots = add("pick.roots");
+
+    /**
+     *  Collisions found by cursorMoved().
+     */
+    public final Metric pickCollisions = add("pick.collisions");
+
+    /**
+     *  Events delivered to cursor and mouse event controls by cursorMoved().
+     */
+    public final Metric pickDispatches = add("pick.dispatches");
+
+    /**
+     *  Text meshes rebuilt by text components, and the time
+     *  spent rebuilding them.
+     */
+    public final Metric textRebuilds = add("text.rebuilds");
+
+    /**
+     *  The number of animations running in the AnimationState
+     *  the last time it updated.
+     */
+    public final Metric animActive = add("anim.active");
+
+    /**
+     *  AnimationState updates and the time spent running animations.
+     */
+    public final Metric animUpdate = add("anim.update");
+
+    /**
+     *  InputMapper function notifications delivered to listeners.
+     */
+    public final Metric inputDispatches = add("input.dispatches");
+
+    protected GuiMetrics() {
+    }
+
+    /**
+     *  Returns the shared metrics instance whether it is enabled or not.
+     */
+    public static GuiMetrics getInstance() {
+        return instance;
+    }
+
+    /**
+     *  Returns the metrics instance if metrics are enabled or null
+     *  if they are not.  Instrumented code calls this and skips all
+     *  of its measurements when it returns null.
+     */
+    public static GuiMetrics getActive() {
+        return active;
+    }
+
+    /**
+     *  Adds a custom metric.  Applications can use this to report their
+     *  own measurements with Lemur's.
+     */
+    public final synchronized Metric add( String name ) {
+        Metric m = new Metric(name);
+        metrics.add(m);
+        return m;
+    }
+
+    /**
+     *  Turns the metrics on or off directly, ignoring and resetting
+     *  any outstanding enable() calls.
+     */
+    public synchronized void setEnabled( boolean f ) {
+        enableCount = 0;
+        if( f ) {
+            active = this;
+        } else if( active == this ) {
+            active = null;
+        }
+    }
+
+    /**
+     *  Turns the metrics on until a matching call to disable().
+     */
+    public synchronized void enable() {
+        if( enableCount++ == 0 ) {
+            active = this;
+        }
+    }
+
+    /**
+     *  Releases one previous call to enable() and turns the metrics
+     *  off when no enable() calls are left.
+     */
+    public synchronized void disable() {
+        if( enableCount == 0 ) {
+            return;
+        }
+        if( --enableCount == 0 && active == this ) {
+            active = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return active == this;
+    }
+
+    public synchronized List<Metric> getMetrics() {
+        return new ArrayList<>(metrics);
+    }
+
+    public synchronized Metric getMetric( String name ) {
+        for( Metric m : metrics ) {
+            if( m.getName().equals(name) ) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    /**
+     *  Excludes the layout and text rebuilds of the specified spatial and
+     *  its children from the metrics.  This keeps a metrics display from
+     *  measuring itself.
+     */
+    public void addExcludedRoot( Spatial root ) {
+        excluded.add(root);
+    }
+
+    public void removeExcludedRoot( Spatial root ) {
+        excluded.remove(root);
+    }
+
+    /**
+     *  Returns true if the specified spatial is or is below one of the
+     *  excluded roots.
+     */
+    public boolean isExcluded( Spatial s ) {
+        if( excluded.isEmpty() ) {
+            return false;
+        }
+        for( ; s != null; s = s.getParent() ) {
+            if( excluded.contains(s) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Returns the active metrics instance unless the specified spatial
+     *  is excluded, in which case null is returned.  This is a convenience
+     *  for instrumented code that works on a specific spatial.
+     */
+    public static GuiMetrics getActive( Spatial s ) {
+        GuiMetrics result = active;
+        if( result != null && result.isExcluded(s) ) {
+            return null;
+        }
+        return result;
+    }
+
+    public void addSink( GuiMetricsSink sink ) {
+        sinks.add(sink);
+    }
+
+    public void removeSink( GuiMetricsSink sink ) {
+        sinks.remove(sink);
+    }
+
+    /**
+     *  Adds a listener that is told how long each GuiControl
+     *  revalidation took while metrics are enabled.
+     */
+    public void addLayoutTimingListener( LayoutTimingListener l ) {
+        layoutListeners.add(l);
+    }
+
+    public void removeLayoutTimingListener( LayoutTimingListener l ) {
+        layoutListeners.remove(l);
+    }
+
+    /**
+     *  Called by GuiControl.revalidate() with the time it took.
+     */
+    public void layoutTimed( GuiControl control, long time ) {
+        layoutRevalidate.addTime(time);
+        for( LayoutTimingListener l : layoutListeners ) {
+            l.layoutTimed(control, time);
+        }
+    }
+
+    /**
+     *  Returns the current values of all of the metrics, optionally
+     *  resetting their counts and times.
+     */
+    public synchronized List<Sample> sample( boolean reset ) {
+        List<Sample> result = new ArrayList<>(metrics.size());
+        for( Metric m : metrics ) {
+            result.add(m.sample(reset));
+        }
+        return result;
+    }
+
+    /**
+     *  Resets the counts and times of all of the metrics and starts
+     *  a new publish interval.
+     */
+    public void reset() {
+        sample(true);
+        lastPublish = System.nanoTime();
+    }
+
+    /**
+     *  Samples and resets all of the metrics and passes the samples to
+     *  the registered sinks along with the time since the last publish.
+     */
+    public void publish() {
+        long time = System.nanoTime();
+        List<Sample> samples = sample(true);
+        long interval = time - lastPublish;
+        lastPublish = time;
+        for( GuiMetricsSink sink : sinks ) {
+            sink.publish(samples, interval);
+        }
+    }
+
+    /**
+     *  A named counter that can also accumulate time and hold
+     *  a current value.
+     */
+    public static class Metric {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private volatile long value;
+
+        public Metric( String name ) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void increment() {
+            count.increment();
+        }
+
+        public void add( long n ) {
+            count.add(n);
+        }
+
+        /**
+         *  Counts one call that took the specified number of nanoseconds.
+         */
+        public void addTime( long time ) {
+            count.increment();
+            nanos.add(time);
+        }
+
+        /**
+         *  Sets the current value for metrics that are a level rather
+         *  than a count.  The value is not reset by sampling.
+         */
+        public void set( long value ) {
+            this.value = value;
+        }
+
+        /**
+         *  Returns the count accumulated since the last reset.
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         *  Returns the nanoseconds accumulated since the last reset.
+         */
+        public long getNanos() {
+            return nanos.sum();
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        public Sample sample( boolean reset ) {
+            if( reset ) {
+                return new Sample(name, count.sumThenReset(), nanos.sumThenReset(), value);
+            }
+            return new Sample(name, count.sum(), nanos.sum(), value);
+        }
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[" + name + "]";
+        }
+    }
+
+    /**
+     *  Receives the time each GuiControl revalidation took.
+     */
+    public interface LayoutTimingListener {
+        public void layoutTimed( GuiControl control, long time );
+    }
+
+    /**
+     *  The values of a metric at the time it was sampled.
+     */
+    public static class Sample {
+        private final String name;
+        private final long count;
+        private final long nanos;
+        private final long value;
+
+        public Sample( String name, long count, long nanos, long value ) {
+            this.name = name;
+            this.count = count;
+            this.nanos = nanos;
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return name + "[count=" + count + ", nanos=" + nanos + ", value=" + value + "]";
+        }
+    }
+}
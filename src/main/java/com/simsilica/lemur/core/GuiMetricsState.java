@@ -0,0 +1,109 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+
+
+/**
+ *  Enables the GuiMetrics while attached and enabled and calls
+ *  GuiMetrics.publish() at a regular interval.  Disabling this state
+ *  leaves the metrics on if something else, like GuiMetricsHudState,
+ *  has also enabled them.
+ */
+public class GuiMetricsState extends BaseAppState {
+
+    private GuiMetrics metrics;
+    private float interval;
+    private float nextPublish;
+
+    public GuiMetricsState() {
+        this(GuiMetrics.getInstance(), 1);
+    }
+
+    public GuiMetricsState( GuiMetrics metrics, float interval ) {
+        this.metrics = metrics;
+        this.interval = interval;
+    }
+
+    public GuiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     *  Sets the time in seconds between calls to GuiMetrics.publish().
+     *  Defaults to 1 second.
+     */
+    public void setInterval( float interval ) {
+        this.interval = interval;
+    }
+
+    public float getInterval() {
+        return interval;
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+    }
+
+    @Override
+    protected void onEnable() {
+        // Throw away anything counted while we were off
+        metrics.reset();
+        nextPublish = interval;
+        metrics.enable();
+    }
+
+    @Override
+    public void update( float tpf ) {
+        nextPublish -= tpf;
+        if( nextPublish <= 0 ) {
+            nextPublish = interval;
+            metrics.publish();
+        }
+    }
+
+    @Override
+    protected void onDisable() {
+        metrics.disable();
+    }
+}
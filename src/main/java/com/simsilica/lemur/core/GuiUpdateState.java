@@ -0,0 +1,283 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.*;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.ViewPort;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Runs the per-frame updates of GuiControls from one place instead of
+ *  from each control's controlUpdate().  When this state exists and is
+ *  enabled, a GuiControl is only updated while it has something to do:
+ *  it has been invalidated, it has GuiUpdateListeners, or it is catching
+ *  up on time that passed while it was hidden.  All other GuiControls
+ *  are disabled while idle so that the scene graph update does not call
+ *  their controlUpdate() at all.  They are enabled again as soon as they
+ *  request an update, or when this state is disabled or removed.
+ *
+ *  <p>Controls are only updated while they are part of a scene that
+ *  is rendered by one of the RenderManager's viewports, or a root added
+ *  with addRoot().  This matches the normal scene graph update, which
+ *  never reaches detached spatials.  Controls that are not in such a
+ *  scene are dropped and register again the next time the scene graph
+ *  updates them.</p>
+ *
+ *  <p>This state should be attached after any app states that change
+ *  the GUI in their update() so that those changes are laid out in the
+ *  same frame.  This state is opt-in.  Only an attached and enabled state
+ *  dispatches updates.  Without one, GuiControls update themselves as
+ *  they always have.</p>
+ */
+public class GuiUpdateState extends BaseAppState {
+
+    private static GuiUpdateState defaultInstance;
+
+    private final Set<GuiControl> active = new LinkedHashSet<>();
+    private final List<GuiControl> working = new ArrayList<>();
+    private final Set<Spatial> extraRoots = new HashSet<>();
+    private final Set<Spatial> roots = new HashSet<>();
+    private final Set<GuiControl> idle = Collections.newSetFromMap(new WeakHashMap<GuiControl, Boolean>());
+
+    private int lastFrameUpdates;
+    private long lastFrameNanos;
+
+    public GuiUpdateState() {
+    }
+
+    /**
+     *  Returns the update state that is currently dispatching GuiControl
+     *  updates or null if no GuiUpdateState is attached and enabled.
+     */
+    public static GuiUpdateState getDefaultInstance() {
+        return defaultInstance;
+    }
+
+    /**
+     *  Adds a scene root that is not rendered by one of the RenderManager's
+     *  viewports but whose GuiControls should still be updated.  For
+     *  example, a scene that the application updates and renders itself.
+     */
+    public void addRoot( Spatial root ) {
+        extraRoots.add(root);
+    }
+
+    public void removeRoot( Spatial root ) {
+        extraRoots.remove(root);
+    }
+
+    /**
+     *  Returns the number of GuiControls that are currently
+     *  registered for updates.
+     */
+    public synchronized int getActiveCount() {
+        return active.size();
+    }
+
+    /**
+     *  Returns the number of GuiControls that were updated last frame.
+     */
+    public int getLastFrameUpdateCount() {
+        return lastFrameUpdates;
+    }
+
+    /**
+     *  Returns the time in nanoseconds spent updating GuiControls
+     *  last frame.
+     */
+    public long getLastFrameUpdateNanos() {
+        return lastFrameNanos;
+    }
+
+    /**
+     *  Called by GuiControls when they have work to do.  It's safe
+     *  to call this from other threads.
+     */
+    protected synchronized void requestUpdate( GuiControl control ) {
+        if( control.updateQueued ) {
+            return;
+        }
+        if( control.idle ) {
+            control.setIdle(false);
+            idle.remove(control);
+        }
+        control.updateQueued = true;
+        active.add(control);
+    }
+
+    /**
+     *  Called by GuiControls that have nothing to do to be disabled
+     *  until their next requestUpdate().
+     */
+    protected synchronized void makeIdle( GuiControl control ) {
+        control.setIdle(true);
+        idle.add(control);
+    }
+
+    /**
+     *  Returns the number of GuiControls that are currently disabled
+     *  because they have nothing to do.
+     */
+    public synchronized int getIdleCount() {
+        return idle.size();
+    }
+
+    private void wakeAll() {
+        for( GuiControl control : idle ) {
+            control.setIdle(false);
+        }
+        idle.clear();
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+        synchronized( this ) {
+            for( GuiControl control : active ) {
+                control.updateQueued = false;
+            }
+            active.clear();
+            wakeAll();
+        }
+    }
+
+    @Override
+    protected void onEnable() {
+        if( defaultInstance == null ) {
+            defaultInstance = this;
+        }
+    }
+
+    @Override
+    public void update( float tpf ) {
+        long start = System.nanoTime();
+
+        synchronized( this ) {
+            working.addAll(active);
+        }
+        refreshRoots();
+
+        int count = 0;
+        List<GuiControl> done = null;
+        for( GuiControl control : working ) {
+            if( isInScene(control.getNode()) ) {
+                control.dispatchUpdate(tpf);
+                count++;
+                if( control.hasUpdateWork() ) {
+                    continue;
+                }
+            }
+            if( done == null ) {
+                done = new ArrayList<>();
+            }
+            done.add(control);
+        }
+        working.clear();
+
+        if( done != null ) {
+            synchronized( this ) {
+                for( GuiControl control : done ) {
+                    // Check again in case something asked for
+                    // an update from another thread in the mean time.
+                    if( control.hasUpdateWork() && isInScene(control.getNode()) ) {
+                        continue;
+                    }
+                    control.updateQueued = false;
+                    active.remove(control);
+                }
+            }
+        }
+
+        lastFrameUpdates = count;
+        lastFrameNanos = System.nanoTime() - start;
+    }
+
+    protected void refreshRoots() {
+        roots.clear();
+        roots.addAll(extraRoots);
+        RenderManager rm = getApplication().getRenderManager();
+        addScenes(rm.getPreViews());
+        addScenes(rm.getMainViews());
+        addScenes(rm.getPostViews());
+    }
+
+    private void addScenes( List<ViewPort> views ) {
+        for( ViewPort vp : views ) {
+            roots.addAll(vp.getScenes());
+        }
+    }
+
+    protected boolean isInScene( Node node ) {
+        if( node == null ) {
+            return false;
+        }
+        Spatial top = node;
+        while( top.getParent() != null ) {
+            top = top.getParent();
+        }
+        return roots.contains(top);
+    }
+
+    @Override
+    protected void onDisable() {
+        if( defaultInstance == this ) {
+            defaultInstance = null;
+            // See if there is another enabled one to take over
+            GuiUpdateState other = getState(GuiUpdateState.class);
+            if( other != null && other != this && other.isEnabled() ) {
+                defaultInstance = other;
+            }
+        }
+        // The controls will go back to updating themselves
+        synchronized( this ) {
+            for( GuiControl control : active ) {
+                control.updateQueued = false;
+            }
+            active.clear();
+            wakeAll();
+        }
+    }
+}
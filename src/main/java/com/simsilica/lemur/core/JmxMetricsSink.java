@@ -0,0 +1,170 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+import javax.management.*;
+
+import org.slf4j.*;
+
+
+/**
+ *  A GuiMetricsSink that exposes the most recently published samples
+ *  as read-only attributes of a JMX MBean.  Each metric has a count,
+ *  nanos, and value attribute, for example "layout.revalidate.count".
+ *  The attributes hold the values from the last publish() interval.
+ */
+public class JmxMetricsSink implements GuiMetricsSink, DynamicMBean {
+
+    static Logger log = LoggerFactory.getLogger(JmxMetricsSink.class);
+
+    public static final String DEFAULT_NAME = "com.simsilica.lemur:type=GuiMetrics";
+
+    private final GuiMetrics metrics;
+    private final ObjectName objectName;
+    private volatile Map<String, Long> values = Collections.emptyMap();
+
+    public JmxMetricsSink( GuiMetrics metrics ) {
+        this(metrics, DEFAULT_NAME);
+    }
+
+    public JmxMetricsSink( GuiMetrics metrics, String name ) {
+        this.metrics = metrics;
+        try {
+            this.objectName = new ObjectName(name);
+        } catch( MalformedObjectNameException e ) {
+            throw new IllegalArgumentException("Invalid JMX name:" + name, e);
+        }
+    }
+
+    /**
+     *  Registers this sink with the platform MBean server.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        } catch( JMException e ) {
+            throw new RuntimeException("Error registering:" + objectName, e);
+        }
+    }
+
+    public void unregister() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch( JMException e ) {
+            log.warn("Error unregistering:" + objectName, e);
+        }
+    }
+
+    @Override
+    public void publish( List<GuiMetrics.Sample> samples, long interval ) {
+        Map<String, Long> map = new HashMap<>();
+        for( GuiMetrics.Sample s : samples ) {
+            map.put(s.getName() + ".count", s.getCount());
+            map.put(s.getName() + ".nanos", s.getNanos());
+            map.put(s.getName() + ".value", s.getValue());
+        }
+        map.put("interval.nanos", interval);
+        this.values = map;
+    }
+
+    @Override
+    public Object getAttribute( String attribute ) throws AttributeNotFoundException {
+        Long result = values.get(attribute);
+        if( result == null ) {
+            if( !isKnown(attribute) ) {
+                throw new AttributeNotFoundException(attribute);
+            }
+            return 0L;
+        }
+        return result;
+    }
+
+    protected boolean isKnown( String attribute ) {
+        if( "interval.nanos".equals(attribute) ) {
+            return true;
+        }
+        int split = attribute.lastIndexOf('.');
+        return split > 0 && metrics.getMetric(attribute.substring(0, split)) != null;
+    }
+
+    @Override
+    public AttributeList getAttributes( String[] attributes ) {
+        AttributeList result = new AttributeList();
+        for( String name : attributes ) {
+            try {
+                result.add(new Attribute(name, getAttribute(name)));
+            } catch( AttributeNotFoundException e ) {
+                // Leave it out as the interface expects
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setAttribute( Attribute attribute ) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Attributes are read-only:" + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes( AttributeList attributes ) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke( String actionName, Object[] params, String[] signature ) throws MBeanException {
+        throw new MBeanException(new UnsupportedOperationException(actionName));
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attrs = new ArrayList<>();
+        attrs.add(new MBeanAttributeInfo("interval.nanos", "long", "Length of the last interval",
+                                         true, false, false));
+        for( GuiMetrics.Metric m : metrics.getMetrics() ) {
+            for( String suffix : new String[] { "count", "nanos", "value" } ) {
+                attrs.add(new MBeanAttributeInfo(m.getName() + "." + suffix, "long",
+                                                 m.getName() + " " + suffix, true, false, false));
+            }
+        }
+        return new MBeanInfo(getClass().getName(), "Lemur GUI metrics",
+                             attrs.toArray(new MBeanAttributeInfo[attrs.size()]),
+                             null, null, null);
+    }
+}
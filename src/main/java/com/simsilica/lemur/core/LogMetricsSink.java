@@ -0,0 +1,72 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.List;
+
+import org.slf4j.*;
+
+
+/**
+ *  A GuiMetricsSink that logs the non-zero samples at info level.
+ */
+public class LogMetricsSink implements GuiMetricsSink {
+
+    static Logger log = LoggerFactory.getLogger(LogMetricsSink.class);
+
+    @Override
+    public void publish( List<GuiMetrics.Sample> samples, long interval ) {
+        if( !log.isInfoEnabled() ) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("GUI metrics over ").append(interval / 1000000).append(" ms:");
+        for( GuiMetrics.Sample s : samples ) {
+            if( s.getCount() == 0 && s.getValue() == 0 ) {
+                continue;
+            }
+            sb.append("\n  ").append(s.getName()).append(" count:").append(s.getCount());
+            if( s.getNanos() != 0 ) {
+                sb.append(" time:").append(s.getNanos() / 1000).append(" us");
+            }
+            if( s.getValue() != 0 ) {
+                sb.append(" value:").append(s.getValue());
+            }
+        }
+        log.info(sb.toString());
+    }
+}
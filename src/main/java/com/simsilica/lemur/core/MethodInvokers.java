@@ -0,0 +1,276 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.primitives.Primitives;
+
+
+/**
+ *  Shared cache of reflectively resolved methods and the MethodHandles
+ *  that call them.  Method lookups are keyed by (class, name, argument
+ *  types) so that repeatedly creating the same kind of MethodCommand,
+ *  StateMethodDelegate, or method-calling Tween only scans the class
+ *  once.  The bind() methods return handles with the target and any
+ *  constant arguments already applied so that the per-call cost is a
+ *  direct invokeExact() with no argument array or boxing.
+ *
+ *  <p>Unlike Class.getMethod(), findMethod() will find non-public methods
+ *  declared on the type or any of its superclasses.  findPublicMethod()
+ *  resolves the same way as Class.getMethod() for callers that should
+ *  only see public methods.</p>
+ */
+public class MethodInvokers {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType VOID = MethodType.methodType(void.class);
+
+    private static final ConcurrentMap<MethodKey, Optional<Method>> methods = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Method, MethodHandle> handles = new ConcurrentHashMap<>();
+
+    /**
+     *  Returns the runtime types of the specified arguments for use with
+     *  findMethod().  Null arguments result in null types that will match
+     *  any non-primitive parameter.
+     */
+    public static Class[] argTypes( Object... args ) {
+        Class[] result = new Class[args.length];
+        for( int i = 0; i < args.length; i++ ) {
+            result[i] = args[i] == null ? null : args[i].getClass();
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the method declared on the type or its superclasses with
+     *  the specified name and parameters, or null if there is no such method.
+     *  A method whose parameter types exactly match the argument types is
+     *  preferred.  Otherwise, the first method with parameters that can accept
+     *  the argument types is returned.  Primitive parameters accept their wrapper
+     *  types.  Results, including misses, are cached.
+     */
+    public static Method findMethod( Class type, String name, Class... argTypes ) {
+        return findMethod(false, type, name, argTypes);
+    }
+
+    /**
+     *  Returns the public method of the type with the specified name and
+     *  exact parameter types, or null if there is no such method.  This
+     *  resolves the same way as Class.getMethod().  Results, including misses,
+     *  are cached.
+     */
+    public static Method findPublicMethod( Class type, String name, Class... argTypes ) {
+        return findMethod(true, type, name, argTypes);
+    }
+
+    private static Method findMethod( boolean publicOnly, Class type, String name, Class... argTypes ) {
+        MethodKey key = new MethodKey(publicOnly, type, name, argTypes);
+        Optional<Method> result = methods.get(key);
+        if( result != null ) {
+            return result.orElse(null);
+        }
+        if( publicOnly ) {
+            result = Optional.ofNullable(lookupPublicMethod(type, name, argTypes));
+        } else {
+            result = Optional.ofNullable(lookupMethod(type, name, argTypes));
+        }
+        // Copy the types so the caller's array can't change our key
+        methods.putIfAbsent(new MethodKey(publicOnly, type, name, argTypes.clone()), result);
+        return result.orElse(null);
+    }
+
+    private static Method lookupPublicMethod( Class type, String name, Class... argTypes ) {
+        try {
+            return type.getMethod(name, argTypes);
+        } catch( NoSuchMethodException e ) {
+            return null;
+        }
+    }
+
+    private static Method lookupMethod( Class type, String name, Class... argTypes ) {
+        // Look for an exact match first so that foo(InputState) wins
+        // over foo(Object) regardless of declaration order
+        Method result = lookupMethod(type, name, argTypes, true);
+        if( result == null ) {
+            result = lookupMethod(type, name, argTypes, false);
+        }
+        return result;
+    }
+
+    private static Method lookupMethod( Class type, String name, Class[] argTypes, boolean exact ) {
+        for( Class c = type; c != null; c = c.getSuperclass() ) {
+            for( Method m : c.getDeclaredMethods() ) {
+                if( !Objects.equals(m.getName(), name) ) {
+                    continue;
+                }
+                if( matches(m.getParameterTypes(), argTypes, exact) ) {
+                    return m;
+                }
+            }
+        }
+        // Check the public methods also in case it is a default
+        // method from an interface
+        for( Method m : type.getMethods() ) {
+            if( Objects.equals(m.getName(), name) && matches(m.getParameterTypes(), argTypes, exact) ) {
+                return m;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matches( Class[] paramTypes, Class[] argTypes, boolean exact ) {
+        if( exact ) {
+            return Arrays.equals(paramTypes, argTypes);
+        }
+        return accepts(paramTypes, argTypes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean accepts( Class[] paramTypes, Class[] argTypes ) {
+        if( paramTypes.length != argTypes.length ) {
+            return false;
+        }
+        for( int i = 0; i < argTypes.length; i++ ) {
+            Class arg = argTypes[i];
+            if( arg == null ) {
+                if( paramTypes[i].isPrimitive() ) {
+                    return false;
+                }
+                continue;
+            }
+            if( !paramTypes[i].isAssignableFrom(arg)
+                && !Primitives.wrap(paramTypes[i]).isAssignableFrom(arg) ) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Returns the cached, unbound MethodHandle for the specified method,
+     *  making the method accessible first if required.
+     */
+    public static MethodHandle getHandle( Method method ) {
+        MethodHandle result = handles.get(method);
+        if( result != null ) {
+            return result;
+        }
+        try {
+            if( !method.isAccessible() ) {
+                method.setAccessible(true);
+            }
+            result = lookup.unreflect(method);
+        } catch( IllegalAccessException e ) {
+            throw new RuntimeException("Cannot access method:" + method, e);
+        }
+        MethodHandle existing = handles.putIfAbsent(method, result);
+        return existing != null ? existing : result;
+    }
+
+    /**
+     *  Returns a handle for the specified method with the target bound
+     *  (for non-static methods) and the specified arguments inserted
+     *  starting at the specified parameter position.  The resulting handle
+     *  takes only the remaining parameters and keeps the method's original
+     *  return type.
+     */
+    public static MethodHandle bind( Object target, Method method, int pos, Object... args ) {
+        MethodHandle result = getHandle(method);
+        if( !Modifier.isStatic(method.getModifiers()) ) {
+            result = result.bindTo(target);
+        }
+        if( args != null && args.length > 0 ) {
+            result = MethodHandles.insertArguments(result, pos, args);
+        }
+        return result;
+    }
+
+    /**
+     *  Returns a ()void handle that calls the method on the target with
+     *  the specified arguments, suitable for calling with invokeExact().
+     */
+    public static MethodHandle bindAll( Object target, Method method, Object... args ) {
+        return bind(target, method, 0, args).asType(VOID);
+    }
+
+    private static class MethodKey {
+        private final boolean publicOnly;
+        private final Class type;
+        private final String name;
+        private final Class[] argTypes;
+        private final int hash;
+
+        public MethodKey( boolean publicOnly, Class type, String name, Class[] argTypes ) {
+            this.publicOnly = publicOnly;
+            this.type = type;
+            this.name = name;
+            this.argTypes = argTypes;
+            this.hash = 31 * (31 * (31 * type.hashCode() + Objects.hashCode(name))
+                              + Arrays.hashCode(argTypes)) + (publicOnly ? 1 : 0);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object o ) {
+            if( o == this ) {
+                return true;
+            }
+            if( o == null || o.getClass() != getClass() ) {
+                return false;
+            }
+            MethodKey other = (MethodKey)o;
+            return publicOnly == other.publicOnly
+                    && type == other.type
+                    && Objects.equals(name, other.name)
+                    && Arrays.equals(argTypes, other.argTypes);
+        }
+    }
+}
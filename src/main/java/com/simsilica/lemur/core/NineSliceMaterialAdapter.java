@@ -0,0 +1,143 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import com.jme3.material.Material;
+import com.jme3.math.ColorRGBA;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector4f;
+import com.jme3.texture.Texture;
+
+
+/**
+ *  GuiMaterial wrapper for Lemur's NineSlice material that stretches
+ *  a texture over a unit quad in the same three-by-three way that
+ *  TbtQuad does with its mesh.  The border and fold information is
+ *  passed as uniforms so resizing never touches a vertex buffer.
+ */
+public class NineSliceMaterialAdapter implements GuiMaterial {
+    private Material material;
+    private ColorRGBA color;
+    private Texture texture;
+    private Vector2f size = new Vector2f(-1, -1);
+
+    public NineSliceMaterialAdapter( Material mat ) {
+        this.material = mat;
+    }
+
+    @Override
+    public NineSliceMaterialAdapter clone() {
+        try {
+            NineSliceMaterialAdapter result = (NineSliceMaterialAdapter)super.clone();
+            result.material = material.clone();
+            result.size = size.clone();
+            return result;
+        } catch( CloneNotSupportedException e ) {
+            throw new RuntimeException("Error cloning", e);
+        }
+    }
+
+    public boolean isLit() {
+        return false;
+    }
+
+    public void setColor( ColorRGBA color ) {
+        this.color = color;
+        if( color == null ) {
+            material.clearParam("Color");
+        } else {
+            material.setColor("Color", color);
+        }
+    }
+
+    public ColorRGBA getColor() {
+        return color;
+    }
+
+    public void setTexture( Texture t ) {
+        this.texture = t;
+        if( texture == null ) {
+            material.clearParam("ColorMap");
+        } else {
+            material.setTexture("ColorMap", texture);
+        }
+    }
+
+    public Texture getTexture() {
+        return texture;
+    }
+
+    /**
+     *  Sets the size of the stretched quad in local units.  Does nothing
+     *  if the size hasn't changed.
+     */
+    public void setSize( float width, float height ) {
+        if( size.x == width && size.y == height ) {
+            return;
+        }
+        size.set(width, height);
+        material.setVector2("Size", size.clone());
+    }
+
+    public Vector2f getSize() {
+        return size;
+    }
+
+    /**
+     *  Sets the left, bottom, right, and top border sizes in local units.
+     *  These are the parts of the quad that do not stretch.
+     */
+    public void setBorders( Vector4f borders ) {
+        material.setVector4("Borders", borders);
+    }
+
+    /**
+     *  Sets the texture coordinates of the x1, y1, x2, y2 folds.
+     */
+    public void setTextureFolds( Vector4f folds ) {
+        material.setVector4("TexFolds", folds);
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getName() + "[" + material + "]";
+    }
+}
@@ -43,10 +43,11 @@ package com.simsilica.lemur.core;
  *
  *  @author    Paul Speed
  */
-public class VersionedHolder<T> implements VersionedObject<T> {
+public class VersionedHolder<T> implements VersionedNotifier<T> {
 
     private T value;
     private long version;
+    private VersionedWatchers<T> watchers;
 
     public VersionedHolder() {
     }
@@ -93,6 +94,24 @@ public class VersionedHolder<T> implements VersionedObject<T> {
      */
     public void incrementVersion() {
         version++;
+        if( watchers != null ) {
+            watchers.notifyWatchers();
+        }
+    }
+
+    @Override
+    public void addWatcher( VersionedReference<T> ref ) {
+        if( watchers == null ) {
+            watchers = new VersionedWatchers<>();
+        }
+        watchers.add(ref);
+    }
+
+    @Override
+    public void removeWatcher( VersionedReference<T> ref ) {
+        if( watchers != null ) {
+            watchers.remove(ref);
+        }
     }
 
     @Override
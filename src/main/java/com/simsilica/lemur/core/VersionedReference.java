@@ -53,11 +53,23 @@ package com.simsilica.lemur.core;
  *  watched object changes, but otherwise doesn't care about
  *  the specific granularity of events.</p>
  *
+ *  <p>When the referenced object is a VersionedNotifier and a
+ *  VersionedUpdateState is attached and enabled, callers can additionally watch()
+ *  the reference with a VersionedListener.  The reference is then
+ *  queued by the object when it changes and the listener is called
+ *  once from the VersionedUpdateState's update, so that the caller
+ *  no longer needs to poll update() every frame.  Callers should
+ *  still poll whenever isWatched() returns false, ie: when the
+ *  VersionedUpdateState is disabled or removed.</p>
+ *
  *  @author    Paul Speed
  */
 public class VersionedReference<T> {
     private VersionedObject<T> object;
     private long lastVersion = -1;
+    private VersionedListener<T> listener;
+    private volatile boolean queued;
+    private long deliveryEpoch = -1;
 
     public VersionedReference( VersionedObject<T> object ) {
         this.object = object;
@@ -105,4 +117,99 @@ public class VersionedReference<T> {
         return object.getObject();
     }
 
+    /**
+     *  Registers the specified listener to be called whenever the
+     *  referenced object changes, replacing any existing listener.
+     *  Returns false if push-based notification is not available, ie:
+     *  the object is not a VersionedNotifier or there is no enabled
+     *  VersionedUpdateState.  In that case the caller should continue
+     *  to poll update() as usual and may try to watch() again later.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean watch( VersionedListener<T> listener ) {
+        if( listener == null ) {
+            unwatch();
+            return false;
+        }
+        if( !(object instanceof VersionedNotifier) ) {
+            return false;
+        }
+        long epoch = VersionedUpdateState.getDeliveryEpoch();
+        if( epoch < 0 ) {
+            return false;
+        }
+        if( this.listener == null ) {
+            ((VersionedNotifier<T>)object).addWatcher(this);
+        }
+        this.listener = listener;
+        this.deliveryEpoch = epoch;
+        return true;
+    }
+
+    /**
+     *  Stops any push-based notification previously setup with watch().
+     */
+    @SuppressWarnings("unchecked")
+    public void unwatch() {
+        if( listener == null ) {
+            return;
+        }
+        ((VersionedNotifier<T>)object).removeWatcher(this);
+        listener = null;
+    }
+
+    /**
+     *  Returns true if this reference is currently being watched
+     *  by a listener and so does not need to be polled.  This returns
+     *  false whenever the VersionedUpdateState is disabled or removed.
+     *  The first call after delivery has been reactivated also returns
+     *  false so that the caller polls once to catch any change made
+     *  while delivery was off.
+     */
+    public boolean isWatched() {
+        if( listener == null ) {
+            return false;
+        }
+        long epoch = VersionedUpdateState.getDeliveryEpoch();
+        if( epoch < 0 ) {
+            return false;
+        }
+        if( epoch != deliveryEpoch ) {
+            deliveryEpoch = epoch;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     *  Called by the referenced VersionedNotifier when its version
+     *  changes to queue this reference for delivery.  Multiple calls
+     *  before the next delivery only queue the reference once.
+     */
+    public void markDirty() {
+        if( queued || listener == null ) {
+            return;
+        }
+        VersionedUpdateState state = VersionedUpdateState.getDefaultInstance();
+        if( state == null ) {
+            return;
+        }
+        queued = true;
+        state.enqueue(this);
+    }
+
+    /**
+     *  Called by the VersionedUpdateState to update this reference
+     *  and notify the listener if the version actually changed.
+     *  Returns true if the listener was called.
+     */
+    boolean deliver() {
+        queued = false;
+        if( listener == null || !update() ) {
+            return false;
+        }
+        listener.versionChanged(this);
+        return true;
+    }
+
 }
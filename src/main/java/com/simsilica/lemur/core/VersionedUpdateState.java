@@ -0,0 +1,186 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.util.*;
+
+import com.jme3.app.Application;
+import com.jme3.app.state.BaseAppState;
+
+
+/**
+ *  Drains the per-frame queue of dirty VersionedReferences that
+ *  have been registered for push-based change notification with
+ *  VersionedReference.watch().  Watched references are only queued
+ *  when their VersionedNotifier actually changes, so idle views
+ *  cost nothing per frame.
+ *
+ *  <p>This state is opt-in.  Delivery is only active while a
+ *  VersionedUpdateState is attached and enabled.  Until then, and
+ *  whenever it is disabled or detached, watch() will return false,
+ *  VersionedReference.isWatched() will return false, and the standard
+ *  Lemur components will poll their VersionedReferences in
+ *  updateLogicalState() as they always have.  Components pick push
+ *  delivery back up on their own once a state is enabled again.</p>
+ */
+public class VersionedUpdateState extends BaseAppState {
+
+    private static VersionedUpdateState defaultInstance;
+    private static long enableCount;
+
+    private List<VersionedReference> queue = new ArrayList<>();
+    private List<VersionedReference> delivering = new ArrayList<>();
+    private long delivered;
+
+    public VersionedUpdateState() {
+    }
+
+    /**
+     *  Returns the versioned update state that is currently delivering
+     *  changes or null if no VersionedUpdateState is attached and enabled.
+     */
+    public static VersionedUpdateState getDefaultInstance() {
+        return defaultInstance;
+    }
+
+    /**
+     *  Returns true if a VersionedUpdateState is currently attached
+     *  and enabled such that watched references will be delivered.
+     */
+    public static boolean isDeliveryActive() {
+        return defaultInstance != null;
+    }
+
+    /**
+     *  Returns a value that changes every time delivery is (re)activated
+     *  or -1 if delivery is not currently active.  References use this to
+     *  detect that changes may have been missed while delivery was off.
+     */
+    static long getDeliveryEpoch() {
+        return defaultInstance == null ? -1 : enableCount;
+    }
+
+    /**
+     *  Returns the number of references currently waiting to
+     *  be delivered.
+     */
+    public synchronized int getPendingCount() {
+        return queue.size();
+    }
+
+    /**
+     *  Returns the total number of change notifications that have
+     *  been delivered to listeners by this state.
+     */
+    public long getDeliveredCount() {
+        return delivered;
+    }
+
+    /**
+     *  Called by VersionedReference.markDirty() to queue a watched
+     *  reference for delivery.
+     */
+    protected synchronized void enqueue( VersionedReference ref ) {
+        queue.add(ref);
+    }
+
+    /**
+     *  Delivers all of the currently queued references.  References
+     *  dirtied by the listeners themselves are left for the next call.
+     */
+    @SuppressWarnings("unchecked")
+    public void flush() {
+        // Swap the lists so that listeners can safely cause more
+        // changes without us having to copy anything.  Only the swap
+        // needs to hold the lock since the delivering list is only ever
+        // touched from here.
+        List<VersionedReference> list;
+        synchronized( this ) {
+            if( queue.isEmpty() ) {
+                return;
+            }
+            list = queue;
+            queue = delivering;
+            delivering = list;
+        }
+
+        for( int i = 0; i < list.size(); i++ ) {
+            if( list.get(i).deliver() ) {
+                delivered++;
+            }
+        }
+        list.clear();
+    }
+
+    @Override
+    protected void initialize( Application app ) {
+    }
+
+    @Override
+    protected void cleanup( Application app ) {
+    }
+
+    @Override
+    protected void onEnable() {
+        if( defaultInstance == null ) {
+            defaultInstance = this;
+            enableCount++;
+        }
+    }
+
+    @Override
+    public void update( float tpf ) {
+        flush();
+    }
+
+    @Override
+    protected void onDisable() {
+        if( defaultInstance == this ) {
+            defaultInstance = null;
+            // See if there is another enabled one to take over
+            VersionedUpdateState other = getState(VersionedUpdateState.class);
+            if( other != null && other != this && other.isEnabled() ) {
+                defaultInstance = other;
+                enableCount++;
+            }
+        }
+        // Make sure nothing is left pending forever.  Anything dirtied
+        // during this last flush will go to the new default instance, if
+        // any, or will be picked up by polling.
+        flush();
+    }
+}
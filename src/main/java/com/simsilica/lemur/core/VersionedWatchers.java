@@ -0,0 +1,96 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.core;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+
+/**
+ *  Utility class that VersionedNotifier implementations can
+ *  use to keep track of their watching references.  References
+ *  are held weakly so that a model that outlives its views will
+ *  not keep those views from being garbage collected.
+ *
+ *  <p>Adding, removing, and notifying are synchronized so that a
+ *  watcher list can be safely modified from one thread while another
+ *  thread notifies it.  Listeners are still only called from the
+ *  VersionedUpdateState on the render thread.</p>
+ */
+public class VersionedWatchers<T> {
+
+    private final List<WeakReference<VersionedReference<T>>> watchers = new ArrayList<>();
+
+    public VersionedWatchers() {
+    }
+
+    public synchronized void add( VersionedReference<T> ref ) {
+        watchers.add(new WeakReference<>(ref));
+    }
+
+    public synchronized void remove( VersionedReference<T> ref ) {
+        for( Iterator<WeakReference<VersionedReference<T>>> it = watchers.iterator(); it.hasNext(); ) {
+            VersionedReference<T> r = it.next().get();
+            if( r == null || r == ref ) {
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return watchers.isEmpty();
+    }
+
+    /**
+     *  Marks all of the currently watching references as dirty so
+     *  that they will be delivered on the next VersionedUpdateState
+     *  update.  Collected references are pruned along the way.
+     */
+    public synchronized void notifyWatchers() {
+        if( watchers.isEmpty() ) {
+            return;
+        }
+        for( Iterator<WeakReference<VersionedReference<T>>> it = watchers.iterator(); it.hasNext(); ) {
+            VersionedReference<T> r = it.next().get();
+            if( r == null ) {
+                it.remove();
+                continue;
+            }
+            r.markDirty();
+        }
+    }
+}
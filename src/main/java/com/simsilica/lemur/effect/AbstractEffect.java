@@ -46,6 +46,8 @@ package com.simsilica.lemur.effect;
 public abstract class AbstractEffect<T> implements Effect<T> {
     
     private String channel;
+    private int priority;
+    private boolean reusable;
  
     /**
      *  Creates an effect on the 'null' channel, or undefined channel.
@@ -66,4 +68,30 @@ public abstract class AbstractEffect<T> implements Effect<T> {
     public String getChannel() {
         return channel;
     }
+ 
+    /**
+     *  Sets the priority of this effect relative to other effects.
+     *  See Effect.getPriority().
+     */
+    public void setPriority( int priority ) {
+        this.priority = priority;
+    }
+    
+    @Override
+    public int getPriority() {
+        return priority;
+    }
+ 
+    /**
+     *  Sets whether this effect's animations can be rewound and
+     *  run again.  See Effect.isReusable().
+     */
+    public void setReusable( boolean reusable ) {
+        this.reusable = reusable;
+    }
+    
+    @Override
+    public boolean isReusable() {
+        return reusable;
+    }
 }
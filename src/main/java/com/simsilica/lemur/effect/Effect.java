@@ -78,6 +78,27 @@ public interface Effect<T> {
      *  forwarding the new animation to catch up to what was left of the old animation.
      */
     public Animation create( T target, EffectInfo existing );
+    
+    /**
+     *  Returns the priority of this effect.  A running effect can only
+     *  be replaced on its channel by an effect of the same or higher priority 
+     *  and when a limit on running effects is reached, lower priority effects
+     *  are skipped to their end first.  Defaults to 0.
+     */
+    public default int getPriority() {
+        return 0;
+    }
+    
+    /**
+     *  Returns true if the TweenAnimations that this effect creates for
+     *  a target can be rewound and run again instead of calling create() 
+     *  each time the effect is run.  That is only true when create() doesn't
+     *  depend on the target's current state or on the 'existing' effect info.
+     *  Defaults to false.
+     */
+    public default boolean isReusable() {
+        return false;
+    }
 }
 
 
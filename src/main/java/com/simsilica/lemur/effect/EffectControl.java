@@ -44,6 +44,7 @@ import com.simsilica.lemur.anim.Animation;
 import com.simsilica.lemur.anim.AnimationState;
 import com.simsilica.lemur.anim.TweenAnimation;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 
@@ -52,6 +53,15 @@ import java.util.Map;
  *  the existing effects run for a particular channel.  Callers can run
  *  any of the configured effects by name.
  *
+ *  <p>Effects that are reusable (see Effect.isReusable()) only create their
+ *  animation once per control.  Running one again rewinds that same 
+ *  animation, and running it while it is still running on its channel 
+ *  restarts it in place.  Other effects create a new animation every time
+ *  they are run.  A running effect is only replaced on its channel by
+ *  an effect of the same or higher priority.  Effects are started with
+ *  AnimationState.addEffect() so they are subject to its effect limit
+ *  and show up in its effect stats.</p>
+ *
  *  @author    Paul Speed
  */
 public class EffectControl<T extends Spatial> extends AbstractControl {
@@ -59,6 +69,8 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
     private AnimationState state;
     private final Map<String, Effect<? super T>> effects = new HashMap<String, Effect<? super T>>();
     private final Map<String, EffectInfo> channels = new HashMap<String, EffectInfo>();
+    private final Map<Effect<? super T>, TweenAnimation> reusable = new IdentityHashMap<>();
+    private boolean coalesceRepeats = true;
  
     /**
      *  Creates an effect control that will use the specified AnimationState
@@ -95,6 +107,20 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
         return state;
     }
     
+    /**
+     *  Sets whether running a reusable effect that is already running on its
+     *  channel rewinds the running animation and returns the running effect's
+     *  info instead of replacing it with a new one.  Defaults to true.  This
+     *  has no effect on effects that aren't reusable.
+     */
+    public void setCoalesceRepeats( boolean b ) {
+        this.coalesceRepeats = b;
+    }
+    
+    public boolean getCoalesceRepeats() {
+        return coalesceRepeats;
+    }
+ 
     public void addEffect( String name, Effect<? super T> effect ) {
         effects.put(name, effect);
     }
@@ -104,16 +130,41 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
     }
  
     public Effect<? super T> removeEffect( String name ) {
-        return effects.remove(name);       
+        Effect<? super T> result = effects.remove(name);
+        if( result != null ) {
+            reusable.remove(result);
+        }
+        return result;       
     }
  
     public Map<String, Effect<? super T>> getEffects() {
         return effects;
     }
  
+    /**
+     *  Cancels any effects that are still running on this control's
+     *  channels.
+     */
+    public void cancelEffects() {
+        for( EffectInfo info : channels.values() ) {
+            if( anim().isRunning(info.getAnimation()) ) {
+                anim().cancel(info.getAnimation());
+            }
+        }
+        channels.clear();
+    }
+
     public EffectInfo runEffect( String name ) {
         return runEffect(name, true);
     }
+ 
+    /**
+     *  Runs the named effect and returns information about it or null
+     *  if the effect was not run, either because there is no such effect 
+     *  or because a higher priority effect is running on its channel.  
+     *  Callers that depend on an effect's side effects, like a close effect
+     *  removing the spatial, should handle the null case themselves.
+     */
     
     public EffectInfo runEffect( String name, boolean fastForward ) {
         if( spatial == null ) {
@@ -128,10 +179,32 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
         String channel = e.getChannel();       
         EffectInfo existing = null;
         if( channel != null ) {
-            existing = channels.remove(channel);
+            existing = channels.get(channel);
+        }
+        if( existing != null && anim().isRunning(existing.getAnimation()) ) {
+            if( existing.getEffect().getPriority() > e.getPriority() ) {
+                // Lower priority effects can't preempt higher priority ones
+                return null;
+            }
+            if( coalesceRepeats && e == existing.getEffect() && e.isReusable()
+                && existing.getAnimation() instanceof TweenAnimation ) {
+                // Restart the running animation in place
+                ((TweenAnimation)existing.getAnimation()).rewind();
+                anim().effectCoalesced();
+                return existing;
+            }
+        }
+        if( existing != null ) {
+            channels.remove(channel);
         }
         
-        Animation a = e.create(getSpatial(), existing);
+        Animation a = reuseAnimation(e);
+        if( a == null ) {
+            a = e.create(getSpatial(), existing);
+            if( e.isReusable() && a instanceof TweenAnimation ) {
+                reusable.put(e, (TweenAnimation)a);
+            }
+        }
  
         // If we want to fast forward and we are a different effect       
         if( fastForward && existing != null && e != existing.getEffect() ) {
@@ -143,15 +216,16 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
             }
         }
         
-        // If there was an existing channel animation the always cancel it         
-        if( existing != null ) {
-            anim().cancel(existing.getAnimation());
+        // If there was an existing channel animation the always cancel it,
+        // unless it is the one we are reusing.         
+        if( existing != null && existing.getAnimation() != a ) {
+            anim().preempt(existing.getAnimation());
         }
  
         EffectInfo result = null;
  
         if( a != null ) {
-            anim().add(a);
+            anim().addEffect(a, e.getPriority());
             
             // Always create a result even if we won't put it in the channel.
             // This gives us something useful to return to the caller about
@@ -166,6 +240,25 @@ public class EffectControl<T extends Spatial> extends AbstractControl {
         return result;
     } 
 
+    /**
+     *  Returns the rewound animation from the last time the specified
+     *  reusable effect was run or null if there isn't one that is free
+     *  to reuse.
+     */
+    protected TweenAnimation reuseAnimation( Effect<? super T> e ) {
+        if( !e.isReusable() ) {
+            return null;
+        }
+        TweenAnimation result = reusable.get(e);
+        if( result == null || anim().isRunning(result) ) {
+            return null;
+        }
+        // Not counted as coalesced because the old run had already
+        // finished... this is a new run that just skips the allocation.
+        result.rewind();
+        return result;
+    }
+
     @Override
     protected void controlUpdate( float tpf ) {
     }
@@ -210,6 +210,19 @@ public abstract class BasePickState extends BaseAppState
         return session.getPickLayerOrder();
     }
 
+    /**
+     *  Set to false to pick the scene layer roots by colliding with their
+     *  whole hierarchy instead of only the spatials in the PickableRegistry.
+     *  Defaults to true.
+     */
+    public void setPickRegistryEnabled( boolean f ) {
+        session.setPickRegistryEnabled(f);
+    }
+
+    public boolean isPickRegistryEnabled() {
+        return session.isPickRegistryEnabled();
+    }
+
     @Override
     protected void initialize( Application app ) {
         if( includeDefaultNodes ) {
@@ -0,0 +1,170 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.Collidable;
+import com.jme3.collision.CollisionResult;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Ray picking that can treat a Geometry's world bounding volume as
+ *  its pickable shape instead of colliding with its mesh triangles.
+ *  For flat, axis-aligned GUI elements like background quads, icons,
+ *  and BitmapText glyphs, the world bounds already match the shape.
+ *  Skipping the mesh collision also keeps JME from building the
+ *  mesh's BIH tree, which otherwise happens the first time a mesh is
+ *  picked and again every time text changes.
+ *
+ *  <p>Bounds picking is turned on or off for a whole subtree by setting
+ *  the BOUNDS_PICK user data on a spatial.  Setting it on a collision
+ *  root turns it on for the root.  A child can set it back to false
+ *  for 3D content that needs exact picking.  Spatials with no setting
+ *  inherit their parent's.</p>
+ */
+public class BoundsPick {
+
+    public static final String BOUNDS_PICK = "lemur.boundsPick";
+
+    /**
+     *  Sets or clears the bounds picking mode for the specified
+     *  spatial and its children.  Setting null removes the setting so
+     *  that the spatial inherits its parent's mode.
+     */
+    public static void setBoundsPick( Spatial s, Boolean f ) {
+        s.setUserData(BOUNDS_PICK, f);
+    }
+
+    /**
+     *  Returns the bounds picking mode set directly on the specified
+     *  spatial or null if it inherits its parent's mode.
+     */
+    public static Boolean getBoundsPick( Spatial s ) {
+        return s.getUserData(BOUNDS_PICK);
+    }
+
+    /**
+     *  Returns true if the specified spatial is picked by bounds, either
+     *  because it is set directly or because it inherits it from one of its
+     *  parents.
+     */
+    public static boolean isBoundsPick( Spatial s ) {
+        for( ; s != null; s = s.getParent() ) {
+            Boolean f = getBoundsPick(s);
+            if( f != null ) {
+                return f;
+            }
+        }
+        return false;
+    }
+
+    /**
+     *  Collides the ray with the specified collidable, using bounds
+     *  instead of meshes for the spatials that ask for it, and adds
+     *  the results to 'results'.  Returns the number of
+     *  collisions that were added.
+     */
+    public static int collideWith( Collidable c, Ray ray, CollisionResults results ) {
+        if( !(c instanceof Spatial) ) {
+            return c.collideWith(ray, results);
+        }
+        Spatial s = (Spatial)c;
+        return collideWith(s, ray, results, isBoundsPick(s.getParent()));
+    }
+
+    /**
+     *  Collides the ray with the specified spatial, using bounds instead
+     *  of meshes for the spatials that ask for it.  'inherited' is the
+     *  mode to use if the spatial has no setting of its own.  Returns the
+     *  number of collisions that were added.
+     */
+    public static int collideWith( Spatial s, Ray ray, CollisionResults results, boolean inherited ) {
+        Boolean f = getBoundsPick(s);
+        boolean bounds = f != null ? f : inherited;
+
+        if( s instanceof Geometry ) {
+            if( bounds ) {
+                return collideWithBounds((Geometry)s, ray, results);
+            }
+            return s.collideWith(ray, results);
+        }
+        if( !(s instanceof Node) ) {
+            return s.collideWith(ray, results);
+        }
+
+        // Nodes' world bounds contain their children so we can skip the
+        // whole branch when the ray misses them.
+        BoundingVolume bv = s.getWorldBound();
+        if( bv == null || !bv.intersects(ray) ) {
+            return 0;
+        }
+        int count = 0;
+        for( Spatial child : ((Node)s).getChildren() ) {
+            count += collideWith(child, ray, results, bounds);
+        }
+        return count;
+    }
+
+    /**
+     *  Adds a single collision for the nearest point where the ray
+     *  enters the geometry's world bounds.  Returns 1 if there was
+     *  a collision, 0 otherwise.
+     */
+    public static int collideWithBounds( Geometry geom, Ray ray, CollisionResults results ) {
+        BoundingVolume bv = geom.getWorldBound();
+        if( bv == null ) {
+            return 0;
+        }
+        CollisionResults temp = new CollisionResults();
+        if( bv.collideWith(ray, temp) == 0 ) {
+            return 0;
+        }
+        CollisionResult closest = temp.getClosestCollision();
+        if( closest.getDistance() > ray.getLimit() ) {
+            return 0;
+        }
+        CollisionResult result = new CollisionResult(closest.getContactPoint(), closest.getDistance());
+        result.setGeometry(geom);
+        results.addCollision(result);
+        return 1;
+    }
+}
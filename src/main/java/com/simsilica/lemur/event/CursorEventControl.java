@@ -109,6 +109,13 @@ public class CursorEventControl extends AbstractControl {
         return listeners.isEmpty();
     }
 
+    /**
+     *  Returns a read-only view of the current listeners.
+     */
+    public List<CursorListener> getMouseListeners() {
+        return Collections.unmodifiableList(listeners);
+    }
+
     public void addMouseListener( CursorListener l ) {
         listeners.add(l);
     }
@@ -141,10 +148,38 @@ public class CursorEventControl extends AbstractControl {
         }
     }
 
+    /**
+     *  Overridden to register the spatial with the PickableRegistry
+     *  so that it can be found by scene picking.
+     */
+    @Override
+    public void setSpatial( Spatial spatial ) {
+        Spatial old = this.spatial;
+        super.setSpatial(spatial);
+        if( old != null ) {
+            PickableRegistry.getInstance().remove(old);
+        }
+        if( spatial != null ) {
+            PickableRegistry.getInstance().add(spatial);
+        }
+    }
+
     @Override
     protected void controlRender( RenderManager rm, ViewPort vp ) {
     }
 
+    /**
+     *  Overridden to let the PickableRegistry know where the spatial
+     *  is and whether it moved, even when this control is disabled.
+     */
+    @Override
+    public void update( float tpf ) {
+        super.update(tpf);
+        if( spatial != null ) {
+            PickableRegistry.getInstance().update(spatial);
+        }
+    }
+
     @Override
     protected void controlUpdate( float tpf ) {
     }
@@ -0,0 +1,283 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.util.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.Collidable;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.event.PickEventSession.RootEntry;
+
+
+/**
+ *  Performs the collision picking for several screen points at once
+ *  against the Gui bucket roots of a PickEventSession.  Instead of 
+ *  walking each root's scene graph once per point, the graph is walked
+ *  once and at each level only the points that fall within that spatial's
+ *  world bounds are carried down to the children.  Ray collisions are 
+ *  then only done at the geometry level for the remaining points.
+ *
+ *  <p>The results can then be handed to the PickEventSession.cursorMoved()
+ *  variant that takes a MultiPointPicker so that event dispatch for each
+ *  point proceeds as normal without picking again.  Roots that are not
+ *  in the Gui bucket have per-point perspective rays and are left to be
+ *  picked by the session as usual.  Roots that the session picks through
+ *  the PickableRegistry are also picked through the registry here, one
+ *  ray per point, so that both give the same results.</p>
+ *
+ *  <p>This is used by the TouchAppState to pick all active touch pointers
+ *  together.</p>
+ */
+public class MultiPointPicker {
+
+    private int size;
+    private int[] xs = new int[10];
+    private int[] ys = new int[10];
+
+    // Kept from frame to frame so that picking doesn't create garbage
+    private final Map<Collidable, RootResults> results = new HashMap<>();
+    private final List<Ray> rays = new ArrayList<>();
+    private int[][] pointBuffers = new int[8][];
+
+    public MultiPointPicker() {
+    }
+
+    /**
+     *  Clears the points and any previous results.  The result objects 
+     *  are kept for reuse by the next pick().
+     */
+    public void clear() {
+        size = 0;
+        for( RootResults rr : results.values() ) {
+            rr.picked = false;
+            for( CollisionResults cr : rr.array ) {
+                cr.clear();
+            }
+        }
+    }
+
+    /**
+     *  Adds a screen point to pick and returns its index for use with
+     *  getResults().
+     */
+    public int addPoint( int x, int y ) {
+        if( size == xs.length ) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        return size++;
+    }
+
+    public int getPointCount() {
+        return size;
+    }
+
+    /**
+     *  Picks all of the added points against all of the Gui bucket roots
+     *  of the specified session.
+     */
+    public void pick( PickEventSession session ) {
+        if( size == 0 ) {
+            return;
+        }
+        for( RootEntry e : session.getRootList().getArray() ) {
+            if( !(e.root instanceof Spatial) ) {
+                continue;
+            }
+            Spatial root = (Spatial)e.root;
+            if( root.getQueueBucket() != Bucket.Gui ) {
+                continue;
+            }
+            pickRoot(session, e, root);
+        }
+        
+        // Drop the results of any roots that are no longer in the session
+        for( Iterator<RootResults> it = results.values().iterator(); it.hasNext(); ) {
+            if( !it.next().picked ) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     *  Returns the collisions for the specified point against the specified
+     *  root or null if that root was not picked by this picker.
+     */
+    public CollisionResults getResults( Collidable root, int point ) {
+        RootResults rr = results.get(root);
+        if( rr == null || !rr.picked || point >= size ) {
+            return null;
+        }
+        return rr.array[point];
+    }
+
+    protected void pickRoot( PickEventSession session, RootEntry e, Spatial root ) {
+        // Same ray that PickEventSession.getPickRay() creates for
+        // Gui bucket roots: straight down from above the root's bounds.
+        float zTop = session.getZBounds(root)[1] + 1;
+
+        RootResults rr = results.get(e.root);
+        if( rr == null ) {
+            rr = new RootResults();
+            results.put(e.root, rr);
+        }
+        CollisionResults[] array = rr.ensureSize(size);
+        rr.picked = true;
+        while( rays.size() < size ) {
+            rays.add(new Ray(new Vector3f(), new Vector3f(0, 0, -1)));
+        }
+        int[] points = buffer(0);
+        for( int i = 0; i < size; i++ ) {
+            array[i].clear();
+            rays.get(i).getOrigin().set(xs[i], ys[i], zTop);
+            points[i] = i;
+        }
+
+        if( e.registryPick ) {
+            // The registry's tree already limits the tests to the
+            // registered spatials under each point
+            for( int i = 0; i < size; i++ ) {
+                session.pickRoot(e, rays.get(i), array[i]);
+            }
+            return;
+        }
+
+        collide(root, points, size, 0, array, BoundsPick.isBoundsPick(root.getParent()));
+    }
+
+    private int[] buffer( int depth ) {
+        if( depth >= pointBuffers.length ) {
+            pointBuffers = Arrays.copyOf(pointBuffers, depth * 2);
+        }
+        int[] result = pointBuffers[depth];
+        if( result == null || result.length < size ) {
+            result = new int[Math.max(size, 10)];
+            pointBuffers[depth] = result;
+        }
+        return result;
+    }
+
+    private void collide( Spatial s, int[] points, int count, int depth, CollisionResults[] store,
+                          boolean inherited ) {
+        BoundingVolume bv = s.getWorldBound();
+        if( bv == null ) {
+            // Empty node
+            return;
+        }
+
+        // Filter the points down to only those inside the xy bounds
+        int[] inside = buffer(depth + 1);
+        int insideCount = 0;
+        for( int i = 0; i < count; i++ ) {
+            int p = points[i];
+            if( contains(bv, xs[p], ys[p]) ) {
+                inside[insideCount++] = p;
+            }
+        }
+        if( insideCount == 0 ) {
+            return;
+        }
+
+        Boolean f = BoundsPick.getBoundsPick(s);
+        boolean bounds = f != null ? f : inherited;
+
+        if( s instanceof Geometry ) {
+            for( int i = 0; i < insideCount; i++ ) {
+                int p = inside[i];
+                if( bounds ) {
+                    BoundsPick.collideWithBounds((Geometry)s, rays.get(p), store[p]);
+                } else {
+                    s.collideWith(rays.get(p), store[p]);
+                }
+            }
+        } else if( s instanceof Node ) {
+            for( Spatial child : ((Node)s).getChildren() ) {
+                collide(child, inside, insideCount, depth + 1, store, bounds);
+            }
+        } else {
+            for( int i = 0; i < insideCount; i++ ) {
+                int p = inside[i];
+                s.collideWith(rays.get(p), store[p]);
+            }
+        }
+    }
+
+    private static class RootResults {
+        CollisionResults[] array = new CollisionResults[0];
+        boolean picked;
+
+        public CollisionResults[] ensureSize( int size ) {
+            if( array.length < size ) {
+                int start = array.length;
+                array = Arrays.copyOf(array, Math.max(size, start * 2));
+                for( int i = start; i < array.length; i++ ) {
+                    array[i] = new CollisionResults();
+                }
+            }
+            return array;
+        }
+    }
+
+    private static boolean contains( BoundingVolume bv, float x, float y ) {
+        Vector3f center = bv.getCenter();
+        if( bv instanceof BoundingBox ) {
+            BoundingBox bb = (BoundingBox)bv;
+            return Math.abs(x - center.x) <= bb.getXExtent()
+                && Math.abs(y - center.y) <= bb.getYExtent();
+        } else if( bv instanceof BoundingSphere ) {
+            float r = ((BoundingSphere)bv).getRadius();
+            float dx = x - center.x;
+            float dy = y - center.y;
+            return dx * dx + dy * dy <= r * r;
+        }
+        // Some other type of bound that we don't know how to test, so
+        // just let the collision decide
+        return true;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import com.jme3.math.Ray;
+import com.jme3.scene.Node;
+import com.jme3.util.SafeArrayList;
+
+
+/**
+ *  An empty node that PickEventSession treats as an infinite plane
+ *  at its world Z, facing +Z.  Cursor events that reach the barrier's
+ *  depth are delivered to the barrier's MouseEventControl/CursorEventControl
+ *  listeners like any other hit and, if consumed, go no further.  There
+ *  is no geometry to render or to collide with so a barrier costs nothing
+ *  but the listener dispatch.  PopupState uses these to block input
+ *  behind modal popups.
+ *
+ *  <p>A barrier only affects the pick session root that it is attached
+ *  under.</p>
+ */
+public class PickBarrier extends Node {
+
+    private static final SafeArrayList<PickBarrier> attached = new SafeArrayList<>(PickBarrier.class);
+
+    public PickBarrier() {
+        this("pickBarrier");
+    }
+
+    public PickBarrier( String name ) {
+        super(name);
+    }
+
+    /**
+     *  Returns all of the barriers currently attached to a parent.
+     */
+    public static PickBarrier[] getAttachedBarriers() {
+        return attached.getArray();
+    }
+
+    @Override
+    protected void setParent( Node parent ) {
+        super.setParent(parent);
+        if( parent == null ) {
+            attached.remove(this);
+        } else if( !attached.contains(this) ) {
+            attached.add(this);
+        }
+    }
+
+    /**
+     *  Returns the distance along the ray to the barrier plane or
+     *  NaN if the ray is parallel to it.  The distance is negative
+     *  if the plane is behind the ray's origin.
+     */
+    public float getDistance( Ray ray ) {
+        float dz = ray.getDirection().z;
+        if( dz == 0 ) {
+            return Float.NaN;
+        }
+        return (getWorldTranslation().z - ray.getOrigin().z) / dz;
+    }
+}
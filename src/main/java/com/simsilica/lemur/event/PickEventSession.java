@@ -56,6 +56,8 @@ import com.jme3.scene.Geometry;
 import com.jme3.scene.Spatial;
 import com.jme3.util.SafeArrayList;
 
+import com.simsilica.lemur.core.GuiMetrics;
+
 /**
  *  Encapsulates the state necessary to deliver events to targets,
  *  track capture, track enter/exit, etc. devoid of specific mouse
@@ -77,6 +79,15 @@ import com.jme3.util.SafeArrayList;
  *  in addition to the normal target.  Furthermore, any new motion
  *  events are always delivered to the captured spatial first.<p>
  *
+ *  <p>Spatials marked with BoundsPick.setBoundsPick() are picked by their
+ *  world bounds instead of their mesh triangles.</p>
+ *
+ *  <p>By default, roots in the PICK_LAYER_SCENE layer are not picked as
+ *  a whole.  Only the spatials that have registered themselves with the
+ *  PickableRegistry are tested.  The event controls register themselves,
+ *  so this returns the same targets as picking the whole scene.  Apps that
+ *  need the full scene pick can call setPickRegistryEnabled(false).</p>
+ *
  *  @author    Paul Speed
  */
 public class PickEventSession {
@@ -121,6 +132,19 @@ public class PickEventSession {
      *  Tracks the last scroll value so we can pass a proper delta in the events.
      */
     private int lastScroll = 0;
+
+    /**
+     *  When true, scene layer roots are only picked against the spatials
+     *  in the PickableRegistry.
+     */
+    private boolean pickRegistryEnabled = true;
+ 
+    /**
+     *  The PickBarrier hits for the root being processed, kept here to
+     *  avoid recreating them every event frame.
+     */
+    private List<CollisionResult> barrierHits = new ArrayList<>();
+    private Map<CollisionResult, Spatial> barrierTargets = new IdentityHashMap<>();
      
     
     public PickEventSession() {
@@ -147,6 +171,27 @@ public class PickEventSession {
         return debug;
     }
 
+    /**
+     *  Set to false to pick scene layer roots by colliding with their whole
+     *  hierarchy instead of only the spatials in the PickableRegistry.
+     *  Defaults to true.
+     */
+    public void setPickRegistryEnabled( boolean f ) {
+        this.pickRegistryEnabled = f;
+        for( RootEntry e : roots.values() ) {
+            e.registryPick = isRegistryPicked(e);
+        }
+    }
+
+    public boolean isPickRegistryEnabled() {
+        return pickRegistryEnabled;
+    }
+
+    protected boolean isRegistryPicked( RootEntry e ) {
+        return pickRegistryEnabled && e.root instanceof Spatial
+                && PickState.PICK_LAYER_SCENE.equals(e.layer);
+    }
+
     protected boolean isTraceEnabled() {
         return debug || log.isTraceEnabled();
     }
@@ -165,7 +210,9 @@ public class PickEventSession {
      */
     @Override
     public PickEventSession clone() {
-        return new PickEventSession(roots);
+        PickEventSession result = new PickEventSession(roots);
+        result.pickRegistryEnabled = pickRegistryEnabled;
+        return result;
     }
 
     public ViewPort findViewPort( Spatial s ) {
@@ -211,7 +258,9 @@ public class PickEventSession {
     }
 
     public void addCollisionRoot( Spatial root, ViewPort viewPort, String layer ) {
-        roots.put(root, new RootEntry(root, viewPort, layer));
+        RootEntry e = new RootEntry(root, viewPort, layer);
+        e.registryPick = isRegistryPicked(e);
+        roots.put(root, e);
         rootList = null;
     }
 
@@ -296,6 +345,19 @@ public class PickEventSession {
         return null;
     }
 
+    /**
+     *  Returns true if the collision is on a part of the geometry
+     *  that one of its PickClip ancestors has clipped away.
+     */
+    protected boolean isClipped( Geometry geom, CollisionResult cr ) {
+        for( Spatial s = geom.getParent(); s != null; s = s.getParent() ) {
+            if( s instanceof PickClip && !((PickClip)s).isPickable(geom, cr.getContactPoint()) ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     protected void setCurrentHitTarget( ViewPort viewport, Spatial s, Vector2f cursor, CollisionResult cr ) {
 
         if( this.hitTarget == s )
@@ -369,6 +431,18 @@ public class PickEventSession {
         return rootList;
     }
 
+    /**
+     *  Collides the ray with the specified root, either through the
+     *  PickableRegistry or with the root's whole hierarchy, and returns
+     *  the number of collisions added to results.
+     */
+    protected int pickRoot( RootEntry e, Ray ray, CollisionResults results ) {
+        if( e.registryPick ) {
+            return PickableRegistry.getInstance().collideWith((Spatial)e.root, ray, results);
+        }
+        return BoundsPick.collideWith(e.root, ray, results);
+    }
+
     protected boolean viewContains( Camera cam, Vector2f cursor ) {
         float x1 = cam.getViewPortLeft();
         float x2 = cam.getViewPortRight();
@@ -479,6 +553,34 @@ public class PickEventSession {
      *  also a separate scroll wheel or other scroll control.
      */
     public boolean cursorMoved( int x, int y, int scroll ) {
+        return cursorMoved(x, y, scroll, null, -1);
+    }
+
+    /**
+     *  Called when the cursor has moved and the collisions for some or all of
+     *  the roots have already been calculated by a MultiPointPicker for this
+     *  cursor location.  'point' is the index of the cursor location in the
+     *  picker.  Roots that the picker did not pick are picked as usual.
+     */
+    public boolean cursorMoved( int x, int y, int scroll, MultiPointPicker picker, int point ) {
+        GuiMetrics metrics = GuiMetrics.getActive();
+        if( metrics == null ) {
+            return pickCursorMoved(x, y, scroll, picker, point, null);
+        }
+        long start = System.nanoTime();
+        try {
+            return pickCursorMoved(x, y, scroll, picker, point, metrics);
+        } finally {
+            metrics.pickCursorMoved.addTime(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     *  Does the picking and event delivery for cursorMoved().  'metrics'
+     *  is null when GuiMetrics are disabled.
+     */
+    protected boolean pickCursorMoved( int x, int y, int scroll, MultiPointPicker picker, int point,
+                                       GuiMetrics metrics ) {
         if( isTraceEnabled() ) {
             trace("cursorMoved(" + x + ", " + y + ", scroll=" + scroll + ") capture:" + capture);
         }
@@ -509,6 +611,9 @@ public class PickEventSession {
             if( capture.getControl(MouseEventControl.class) != null ) {
                 event = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, scroll, scrollDelta);
                 delivered.add(capture);
+                if( metrics != null ) {
+                    metrics.pickDispatches.increment();
+                }
                 capture.getControl(MouseEventControl.class).mouseMoved(event, capture, capture);
                 if( event.isConsumed() ) {
                     // We're done already
@@ -537,7 +642,7 @@ public class PickEventSession {
                 if( mouseRay != null ) {
 
                     // But we don't have to pick the whole hiearchy...
-                    int count = capture.collideWith(mouseRay, results);
+                    int count = BoundsPick.collideWith(capture, mouseRay, results);
                     CollisionResult cr = null;
                     if( count > 0 ) {
                         cr = results.getClosestCollision();
@@ -547,6 +652,9 @@ public class PickEventSession {
                                                                   cursor.x, cursor.y, scroll, scrollDelta, 
                                                                   cr);
                     delivered.add(capture);
+                    if( metrics != null ) {
+                        metrics.pickDispatches.increment();
+                    }
                     capture.getControl(CursorEventControl.class).cursorMoved(cme, capture, capture);
                     if( cme.isConsumed() ) {
                         // We're done already
@@ -569,16 +677,60 @@ public class PickEventSession {
             if( mouseRay == null ) {
                 continue;
             }
+            if( metrics != null ) {
+                metrics.pickRoots.increment();
+            }
 
             // Rather than process every root, we will stop when
             // we find one that is ready to consume our event
-            int count = e.root.collideWith(mouseRay, results);
-            if( count > 0 ) {
-                for( CollisionResult cr : results ) {
+            CollisionResults rootResults = picker != null ? picker.getResults(e.root, point) : null;
+            if( rootResults == null ) {
+                pickRoot(e, mouseRay, results);
+                rootResults = results;
+            }
+            if( metrics != null ) {
+                metrics.pickCollisions.add(rootResults.size());
+            }
+ 
+            // Barriers are merged into the collisions by distance
+            findBarrierHits(e, mouseRay);
+            int nextBarrier = 0; 
+            
+            if( rootResults.size() > 0 || !barrierHits.isEmpty() ) {
+                Iterator<CollisionResult> it = rootResults.iterator();
+                while( it.hasNext() || nextBarrier < barrierHits.size() ) {
+                    CollisionResult cr = it.hasNext() ? it.next() : null;
+                    
+                    // Deliver to any barriers in front of this collision first
+                    while( nextBarrier < barrierHits.size() 
+                           && (cr == null || barrierHits.get(nextBarrier).getDistance() <= cr.getDistance()) ) {
+                        CollisionResult barrierHit = barrierHits.get(nextBarrier++);
+                        Spatial barrier = barrierTargets.get(barrierHit);
+                        if( isTraceEnabled() ) {
+                            trace("Barrier:" + barrier);
+                        }
+                        if( firstHit == null ) {
+                            setCurrentHitTarget(e.viewport, barrier, cursor, barrierHit);
+                            firstHit = barrier;
+                        }
+                        if( delivered.add(barrier) 
+                            && deliverMotion(e, barrier, barrierHit, cursor, scroll, scrollDelta, metrics) ) {
+                            barrierHits.clear();
+                            barrierTargets.clear();
+                            return true;
+                        }
+                    }
+                    if( cr == null ) {
+                        break;
+                    }
+                    
                     Geometry geom = cr.getGeometry();
                     if( isTraceEnabled() ) {
                         trace("Collision geometry:" + geom);
                     }
+                    if( isClipped(geom, cr) ) {
+                        continue;
+                    }
                     Spatial hit = findHitTarget(geom);
                     if( isTraceEnabled() ) {
                         trace("Hit:" + hit);
@@ -592,46 +744,19 @@ public class PickEventSession {
                     }
 
                     // Only deliver events to each hit once.
-                    if( delivered.add(hit) ) {
-
-                        // To properly emulate the old behavior, we need to deliver to both
-                        // controls.
-                        boolean consumed = false;
-
-                        if( hit.getControl(MouseEventControl.class) != null ) {
-                            // See if this is one that will take our event
-                            if( event == null ) {
-                                event = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, scroll, scrollDelta);
-                            }
-
-                            hit.getControl(MouseEventControl.class).mouseMoved(event, hit, capture);
-
-                            // If the event is consumed then we're done
-                            if( event.isConsumed() ) {
-                                consumed = true;
-                            }
-                        }
-
-                        if( hit.getControl(CursorEventControl.class) != null ) {
-                            CursorMotionEvent cme = new CursorMotionEvent(e.viewport, hit, cursor.x, cursor.y, 
-                                                                          scroll, scrollDelta, cr);
-                            hit.getControl(CursorEventControl.class).cursorMoved(cme, hit, capture);
-
-                            // If the event is consumed then we're done
-                            if( cme.isConsumed() ) {
-                                consumed = true;
-                            }
-                        }
-
-                        if( consumed ) {
-                            return true;
-                        }
+                    if( delivered.add(hit) 
+                        && deliverMotion(e, hit, cr, cursor, scroll, scrollDelta, metrics) ) {
+                        barrierHits.clear();
+                        barrierTargets.clear();
+                        return true;
                     }
                 }
             } else {
                 trace("No collisions.");
             }
             results.clear();
+            barrierHits.clear();
+            barrierTargets.clear();
         }
 
         if( firstHit == null ) {
@@ -640,6 +765,93 @@ public class PickEventSession {
         return false;
     }
 
+    /**
+     *  Delivers the motion event to the hit's MouseEventControl and
+     *  CursorEventControl and returns true if either consumed it.
+     */
+    protected boolean deliverMotion( RootEntry e, Spatial hit, CollisionResult cr, Vector2f cursor, 
+                                     int scroll, int scrollDelta, GuiMetrics metrics ) {
+        // To properly emulate the old behavior, we need to deliver to both
+        // controls.
+        boolean consumed = false;
+
+        if( hit.getControl(MouseEventControl.class) != null ) {
+            MouseMotionEvent event = new MouseMotionEvent((int)cursor.x, (int)cursor.y, 0, 0, scroll, scrollDelta);
+            hit.getControl(MouseEventControl.class).mouseMoved(event, hit, capture);
+            if( metrics != null ) {
+                metrics.pickDispatches.increment();
+            }
+
+            // If the event is consumed then we're done
+            if( event.isConsumed() ) {
+                consumed = true;
+            }
+        }
+
+        if( hit.getControl(CursorEventControl.class) != null ) {
+            CursorMotionEvent cme = new CursorMotionEvent(e.viewport, hit, cursor.x, cursor.y, 
+                                                          scroll, scrollDelta, cr);
+            hit.getControl(CursorEventControl.class).cursorMoved(cme, hit, capture);
+            if( metrics != null ) {
+                metrics.pickDispatches.increment();
+            }
+
+            // If the event is consumed then we're done
+            if( cme.isConsumed() ) {
+                consumed = true;
+            }
+        }
+        return consumed;
+    }
+ 
+    /**
+     *  Fills barrierHits, sorted by distance, with a collision for each
+     *  attached PickBarrier under the specified root that has listeners
+     *  and that the ray reaches.
+     */
+    protected void findBarrierHits( RootEntry e, Ray ray ) {
+        PickBarrier[] barriers = PickBarrier.getAttachedBarriers();
+        if( barriers.length == 0 || !(e.root instanceof Spatial) ) {
+            return;
+        }
+        boolean gui = ((Spatial)e.root).getQueueBucket() == Bucket.Gui;
+        for( PickBarrier barrier : barriers ) {
+            if( findHitTarget(barrier) != barrier || !isUnderRoot(barrier, e.root) ) {
+                continue;
+            }
+            float distance = barrier.getDistance(ray);
+            if( Float.isNaN(distance) ) {
+                continue;
+            }
+            if( distance < 0 ) {
+                if( !gui ) {
+                    // Behind the camera
+                    continue;
+                }
+                // GUI rays start above the root's bounds but empty barrier
+                // nodes don't contribute to bounds so they may be above the
+                // ray's origin.
+                distance = 0;
+            }
+            Vector3f contact = ray.getDirection().mult(distance).addLocal(ray.getOrigin());
+            CollisionResult cr = new CollisionResult(contact, distance);
+            barrierHits.add(cr);
+            barrierTargets.put(cr, barrier);
+        }
+        if( barrierHits.size() > 1 ) {
+            Collections.sort(barrierHits);
+        }
+    }
+    
+    private static boolean isUnderRoot( Spatial s, Collidable root ) {
+        for( Spatial p = s.getParent(); p != null; p = p.getParent() ) {
+            if( p == root ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public boolean buttonEvent( int buttonIndex, int x, int y, boolean pressed ) {
 
         CursorButtonEvent event1 = null;
@@ -733,6 +945,11 @@ public class PickEventSession {
         public Collidable root;
         public String layer;
 
+        /**
+         *  True if this root is picked through the PickableRegistry.
+         */
+        public boolean registryPick;
+
         public RootEntry( Collidable root, ViewPort viewport, String layer ) {
             this.viewport = viewport;
             this.root = root;
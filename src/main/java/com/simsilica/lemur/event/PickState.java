@@ -64,6 +64,8 @@ public interface PickState extends AppState {
     public void removeCollisionRoot( Spatial root );
     public void setPickLayerOrder( String... layers );
     public String[] getPickLayerOrder();
+    public void setPickRegistryEnabled( boolean f );
+    public boolean isPickRegistryEnabled();
     
     /**
      *  Signifies that the specified owner needs the pick state to be enabled.
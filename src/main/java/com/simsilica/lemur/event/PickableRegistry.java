@@ -0,0 +1,449 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.event;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.collision.CollisionResults;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Spatial;
+
+
+/**
+ *  Keeps track of the spatials that have a CursorEventControl or
+ *  MouseEventControl so that picking can ray test just those spatials
+ *  instead of a whole scene.  The controls register themselves when they
+ *  are added to a spatial and unregister when they are removed.
+ *
+ *  <p>The registered spatials are partitioned by the top-most node of the
+ *  scene they are attached to, ie: a GUI node and a 3D root node never
+ *  share a partition.  Each partition keeps a bounding volume hierarchy
+ *  built over its spatials' world bounds.  The controls call update() from
+ *  their own update so that a spatial that was attached to a different
+ *  scene moves to that scene's partition.  Because other code can still
+ *  move or attach spatials after the controls have updated, collideWith()
+ *  also checks the world bounds of the picked partition's spatials and
+ *  places any spatials that have not been updated yet before it picks.
+ *  That check is a cheap comparison per spatial.  The tree is only refit
+ *  if something in it moved and is only rebuilt when spatials are added
+ *  to or removed from the partition.</p>
+ *
+ *  <p>Spatials are held weakly so that a spatial thrown away with its
+ *  control still attached can still be garbage collected.</p>
+ */
+public class PickableRegistry {
+
+    private static final PickableRegistry instance = new PickableRegistry();
+
+    private static final int LEAF_SIZE = 4;
+
+    private final Map<Spatial, Leaf> members = new WeakHashMap<>();
+    private final Map<Spatial, Partition> partitions = new WeakHashMap<>();
+    private final Set<Leaf> unplaced = new HashSet<>();
+
+    /**
+     *  Returns the registry that the event controls register with.
+     */
+    public static PickableRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     *  Adds the specified spatial to the registry.  A spatial can be
+     *  added more than once, for example by both of the event controls,
+     *  and stays registered until it has been removed as many times.
+     *  The spatial is placed into its scene's partition on its first
+     *  update().
+     */
+    public synchronized void add( Spatial s ) {
+        Leaf leaf = members.get(s);
+        if( leaf == null ) {
+            leaf = new Leaf(s);
+            members.put(s, leaf);
+            unplaced.add(leaf);
+        }
+        leaf.count++;
+    }
+
+    public synchronized void remove( Spatial s ) {
+        Leaf leaf = members.get(s);
+        if( leaf == null ) {
+            return;
+        }
+        if( --leaf.count > 0 ) {
+            return;
+        }
+        members.remove(s);
+        unplaced.remove(leaf);
+        if( leaf.partition != null ) {
+            leaf.partition.remove(leaf);
+        }
+    }
+
+    public synchronized boolean contains( Spatial s ) {
+        return members.containsKey(s);
+    }
+
+    public synchronized int size() {
+        return members.size();
+    }
+
+    /**
+     *  Called by the registering controls once per frame to move the
+     *  spatial to the partition of the scene it is currently attached to
+     *  and to mark its partition dirty if the spatial's world bounds
+     *  have changed.
+     */
+    public synchronized void update( Spatial s ) {
+        Leaf leaf = members.get(s);
+        if( leaf == null ) {
+            return;
+        }
+        update(s, leaf);
+    }
+
+    private void update( Spatial s, Leaf leaf ) {
+        Spatial top = getTop(s);
+        Partition p = leaf.partition;
+        if( p == null || p.top.get() != top ) {
+            if( p != null ) {
+                p.remove(leaf);
+            }
+            p = partitions.get(top);
+            if( p == null ) {
+                p = new Partition(top);
+                partitions.put(top, p);
+            }
+            leaf.update(s);
+            unplaced.remove(leaf);
+            p.add(leaf);
+            return;
+        }
+        if( leaf.update(s) ) {
+            p.refit = true;
+        }
+    }
+
+    private static Spatial getTop( Spatial s ) {
+        Spatial result = s;
+        while( result.getParent() != null ) {
+            result = result.getParent();
+        }
+        return result;
+    }
+
+    /**
+     *  Collides the ray with the registered spatials that are in the
+     *  specified root's hierarchy.  Spatials that are children of other
+     *  registered spatials are collided as part of their ancestor instead
+     *  of separately.  Returns the number of collisions added to results.
+     */
+    public synchronized int collideWith( Spatial root, Ray ray, CollisionResults results ) {
+        Spatial top = getTop(root);
+        sync(top);
+        Partition p = partitions.get(top);
+        if( p == null ) {
+            return 0;
+        }
+        p.refresh();
+        if( p.tree == null ) {
+            return 0;
+        }
+        return collide(p, p.tree, root, ray, results);
+    }
+
+    /**
+     *  Brings the partition of the specified scene up to date with
+     *  spatials that moved, changed scenes, or were registered since
+     *  their controls last updated.
+     */
+    private void sync( Spatial top ) {
+        if( !unplaced.isEmpty() ) {
+            for( Leaf leaf : unplaced.toArray(new Leaf[unplaced.size()]) ) {
+                Spatial s = leaf.spatial.get();
+                if( s == null ) {
+                    unplaced.remove(leaf);
+                    continue;
+                }
+                update(s, leaf);
+            }
+        }
+        Partition p = partitions.get(top);
+        if( p == null ) {
+            return;
+        }
+        for( Leaf leaf : p.list.toArray(new Leaf[p.list.size()]) ) {
+            Spatial s = leaf.spatial.get();
+            if( s == null ) {
+                p.rebuild = true;
+                continue;
+            }
+            update(s, leaf);
+        }
+    }
+
+    private int collide( Partition p, BvhNode node, Spatial root, Ray ray, CollisionResults results ) {
+        if( node.bounds == null || !node.bounds.intersects(ray) ) {
+            return 0;
+        }
+        if( node.leaves == null ) {
+            return collide(p, node.left, root, ray, results)
+                 + collide(p, node.right, root, ray, results);
+        }
+        int count = 0;
+        for( Leaf leaf : node.leaves ) {
+            Spatial s = leaf.spatial.get();
+            if( s == null ) {
+                // Collected, so rebuild without it next time
+                p.rebuild = true;
+                continue;
+            }
+            if( leaf.bounds == null || !leaf.bounds.intersects(ray) ) {
+                continue;
+            }
+            // Spatials that were detached since their last update are
+            // still in the tree but will fail this check
+            if( !isTopmost(s, root) ) {
+                continue;
+            }
+            count += BoundsPick.collideWith(s, ray, results);
+        }
+        return count;
+    }
+
+    /**
+     *  Returns true if the spatial is in the root's hierarchy and has no
+     *  registered ancestors below the root.
+     */
+    private boolean isTopmost( Spatial s, Spatial root ) {
+        if( s == root ) {
+            return true;
+        }
+        for( Spatial p = s.getParent(); p != null; p = p.getParent() ) {
+            if( members.containsKey(p) ) {
+                return false;
+            }
+            if( p == root ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private BvhNode build( Leaf[] array, int start, int end ) {
+        BvhNode node = new BvhNode();
+        if( end - start <= LEAF_SIZE ) {
+            node.leaves = Arrays.copyOfRange(array, start, end);
+            node.bounds = merge(node.leaves);
+            return node;
+        }
+
+        // Split at the median of the longest axis of the centers
+        Vector3f min = new Vector3f(Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY);
+        Vector3f max = new Vector3f(Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY);
+        for( int i = start; i < end; i++ ) {
+            Vector3f c = centerOf(array[i]);
+            min.minLocal(c);
+            max.maxLocal(c);
+        }
+        Vector3f range = max.subtractLocal(min);
+        final int axis;
+        if( range.x >= range.y && range.x >= range.z ) {
+            axis = 0;
+        } else if( range.y >= range.z ) {
+            axis = 1;
+        } else {
+            axis = 2;
+        }
+        Arrays.sort(array, start, end, new Comparator<Leaf>() {
+                @Override
+                public int compare( Leaf a, Leaf b ) {
+                    return Float.compare(centerOf(a).get(axis), centerOf(b).get(axis));
+                }
+            });
+
+        int mid = (start + end) >>> 1;
+        node.left = build(array, start, mid);
+        node.right = build(array, mid, end);
+        refit(node);
+        return node;
+    }
+
+    private static Vector3f centerOf( Leaf leaf ) {
+        return leaf.bounds == null ? Vector3f.ZERO : leaf.bounds.getCenter();
+    }
+
+    private static BoundingVolume merge( Leaf[] array ) {
+        BoundingVolume result = null;
+        for( Leaf leaf : array ) {
+            if( leaf.bounds == null ) {
+                continue;
+            }
+            if( result == null ) {
+                result = leaf.bounds.clone();
+            } else {
+                result.mergeLocal(leaf.bounds);
+            }
+        }
+        return result;
+    }
+
+    private void refit( BvhNode node ) {
+        if( node.leaves != null ) {
+            node.bounds = merge(node.leaves);
+            return;
+        }
+        refit(node.left);
+        refit(node.right);
+        if( node.left.bounds == null ) {
+            node.bounds = node.right.bounds == null ? null : node.right.bounds.clone();
+        } else {
+            node.bounds = node.left.bounds.clone();
+            if( node.right.bounds != null ) {
+                node.bounds.mergeLocal(node.right.bounds);
+            }
+        }
+    }
+
+    /**
+     *  The spatials registered under one top-most scene node.
+     */
+    private class Partition {
+        final WeakReference<Spatial> top;
+        final List<Leaf> list = new ArrayList<>();
+        BvhNode tree;
+        boolean rebuild;
+        boolean refit;
+
+        public Partition( Spatial top ) {
+            this.top = new WeakReference<>(top);
+        }
+
+        public void add( Leaf leaf ) {
+            leaf.partition = this;
+            list.add(leaf);
+            rebuild = true;
+        }
+
+        public void remove( Leaf leaf ) {
+            leaf.partition = null;
+            list.remove(leaf);
+            rebuild = true;
+        }
+
+        /**
+         *  Rebuilds the tree if the membership changed or refits it
+         *  if any of the spatials moved.
+         */
+        public void refresh() {
+            if( rebuild ) {
+                rebuild = false;
+                refit = false;
+                for( Iterator<Leaf> it = list.iterator(); it.hasNext(); ) {
+                    Leaf leaf = it.next();
+                    if( leaf.spatial.get() == null ) {
+                        leaf.partition = null;
+                        it.remove();
+                    }
+                }
+                Leaf[] array = list.toArray(new Leaf[list.size()]);
+                tree = array.length == 0 ? null : build(array, 0, array.length);
+            } else if( refit && tree != null ) {
+                refit = false;
+                refit(tree);
+            }
+        }
+    }
+
+    private static class Leaf {
+        WeakReference<Spatial> spatial;
+        BoundingVolume bounds;
+        Partition partition;
+        int count;
+
+        public Leaf( Spatial s ) {
+            this.spatial = new WeakReference<>(s);
+        }
+
+        /**
+         *  Copies the spatial's current world bounds and returns
+         *  true if they changed.
+         */
+        public boolean update( Spatial s ) {
+            BoundingVolume bv = s.getWorldBound();
+            if( bv == null ) {
+                boolean changed = bounds != null;
+                bounds = null;
+                return changed;
+            }
+            if( bounds != null && bounds.getType() == bv.getType() && sameBounds(bounds, bv) ) {
+                return false;
+            }
+            bounds = bv.clone(bounds != null && bounds.getType() == bv.getType() ? bounds : null);
+            return true;
+        }
+    }
+
+    private static boolean sameBounds( BoundingVolume a, BoundingVolume b ) {
+        if( !a.getCenter().equals(b.getCenter()) ) {
+            return false;
+        }
+        if( a instanceof BoundingBox ) {
+            BoundingBox ba = (BoundingBox)a;
+            BoundingBox bb = (BoundingBox)b;
+            return ba.getXExtent() == bb.getXExtent()
+                && ba.getYExtent() == bb.getYExtent()
+                && ba.getZExtent() == bb.getZExtent();
+        }
+        if( a instanceof BoundingSphere ) {
+            return ((BoundingSphere)a).getRadius() == ((BoundingSphere)b).getRadius();
+        }
+        return false;
+    }
+
+    private static class BvhNode {
+        BoundingVolume bounds;
+        BvhNode left;
+        BvhNode right;
+        Leaf[] leaves;
+    }
+}
@@ -70,6 +70,13 @@ import com.simsilica.lemur.style.ElementId;
  *  close the panel or be ignored depending on how the popup was configured
  *  when opened.
  *
+ *  <p>Outside clicks are caught by a geometry-free PickBarrier behind each
+ *  popup.  The background color, if it isn't fully transparent, is drawn
+ *  by a single full screen 'blocker' geometry shared by the whole popup stack
+ *  and placed behind the top-most popup that has a background color.  So
+ *  the screen is covered at most once no matter how many popups are
+ *  open.</p>
+ *
  *  @author    Paul Speed
  */
 public class PopupState extends BaseAppState {
@@ -121,6 +128,11 @@ public class PopupState extends BaseAppState {
     private List<PopupEntry> stack = new ArrayList<>();
     private PopupEntry current;
 
+    // The shared background for the whole stack
+    private Geometry background;
+    private GuiMaterial backgroundMaterial;
+    private Vector2f backgroundSize;
+
     public PopupState() {
     }
 
@@ -198,6 +210,7 @@ public class PopupState extends BaseAppState {
         stack.add(entry);
         current = entry;
         current.show();
+        updateBackground();
     }
 
     /**
@@ -230,6 +243,47 @@ public class PopupState extends BaseAppState {
         } else {
             current = null;
         }
+        updateBackground();
+    }
+
+    /**
+     *  Moves the shared background geometry behind the top-most popup
+     *  with a visible background color and gives it that color, or
+     *  removes it if there is no such popup.
+     */
+    protected void updateBackground() {
+        PopupEntry top = null;
+        for( int i = stack.size() - 1; i >= 0; i-- ) {
+            PopupEntry entry = stack.get(i);
+            if( entry.backgroundColor.a > 0 ) {
+                top = entry;
+                break;
+            }
+        }
+        if( top == null ) {
+            if( background != null ) {
+                background.removeFromParent();
+            }
+            return;
+        }
+
+        Vector2f size = getGuiSize();
+        if( background == null ) {
+            backgroundMaterial = createBlockerMaterial(top.backgroundColor);
+            background = createBlocker(top.zBase, backgroundMaterial);
+            backgroundSize = size;
+        } else {
+            backgroundMaterial.setColor(top.backgroundColor);
+            background.setLocalTranslation(0, 0, top.zBase);
+            if( !size.equals(backgroundSize) ) {
+                ((Quad)background.getMesh()).updateGeometry(size.x, size.y);
+                background.updateModelBound();
+                backgroundSize = size;
+            }
+        }
+        if( background.getParent() != getGuiNode() ) {
+            getGuiNode().attachChild(background);
+        }
     }
 
     protected PopupEntry getEntry( Spatial popup ) {
@@ -285,6 +339,10 @@ public class PopupState extends BaseAppState {
     }
 
     protected Geometry createBlocker( float z, ColorRGBA backgroundColor ) {
+        return createBlocker(z, createBlockerMaterial(backgroundColor));
+    }
+
+    protected Geometry createBlocker( float z, GuiMaterial guiMat ) {
         Camera cam = getApplication().getCamera();
 
         // Get the inverse scale of whatever the current guiNode is so that
@@ -294,7 +352,6 @@ public class PopupState extends BaseAppState {
 
         Quad quad = new Quad(width, height);
         Geometry result = new Geometry("blocker", quad);
-        GuiMaterial guiMat = createBlockerMaterial(backgroundColor);
         result.setMaterial(guiMat.getMaterial());
         //result.setQueueBucket(Bucket.Transparent); // no, it goes in the gui bucket.
         result.setLocalTranslation(0, 0, z);
@@ -474,9 +531,7 @@ public class PopupState extends BaseAppState {
         private Command<? super PopupState> closeCommand;
         private ColorRGBA backgroundColor;
         private float zBase;
-        private Geometry blocker;
-        private GuiMaterial blockerMaterial;
-        private BlockerListener blockerListener;
+        private PickBarrier barrier;
 
         public PopupEntry( Spatial popup, ClickMode clickMode, Command<? super PopupState> closeCommand,
                            ColorRGBA backgroundColor ) {
@@ -485,10 +540,11 @@ public class PopupState extends BaseAppState {
             this.closeCommand = closeCommand;
             this.backgroundColor = backgroundColor != null ? backgroundColor : defaultBackgroundColor;
             this.zBase = getMaxGuiZ() + 1;
-            this.blocker = createBlocker(zBase, this.backgroundColor);
             if( clickMode != ClickMode.Ignore ) {
                 // Only intercept events if we aren't ignore them
-                MouseEventControl.addListenersToSpatial(blocker, new BlockerListener(this));
+                this.barrier = new PickBarrier("blocker");
+                barrier.setLocalTranslation(0, 0, zBase);
+                MouseEventControl.addListenersToSpatial(barrier, new BlockerListener(this));
             }
         }
 
@@ -502,7 +558,9 @@ public class PopupState extends BaseAppState {
         public void show() {
             float zOffset = getMinZ(popup.getWorldBound());
 
-            getGuiNode().attachChild(blocker);
+            if( barrier != null ) {
+                getGuiNode().attachChild(barrier);
+            }
             getGuiNode().attachChild(popup);
 
             float zPopup = zBase + 1;
@@ -527,15 +585,18 @@ public class PopupState extends BaseAppState {
 
         public void release() {
             // Up to the effect to remove the popup... we'll do it if the
-            // popup doesn't exist.
-            if( popup instanceof Panel && ((Panel)popup).hasEffect(Panel.EFFECT_CLOSE) ) {
-                ((Panel)popup).runEffect(Panel.EFFECT_CLOSE);
+            // effect doesn't exist or a higher priority effect kept it
+            // from running.
+            if( popup instanceof Panel && ((Panel)popup).hasEffect(Panel.EFFECT_CLOSE) 
+                && ((Panel)popup).runEffect(Panel.EFFECT_CLOSE) ) {
                 // Would be nice if there was a way to run something at the end
                 // of an effect just to be sure.
             } else {
                 popup.removeFromParent();
             }
-            blocker.removeFromParent();
+            if( barrier != null ) {
+                barrier.removeFromParent();
+            }
             if( closeCommand != null ) {
                 closeCommand.execute(PopupState.this);
             }
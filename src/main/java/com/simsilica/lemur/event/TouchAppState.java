@@ -40,9 +40,7 @@ import com.jme3.input.MouseInput;
 import com.jme3.input.event.TouchEvent;
 import com.jme3.renderer.ViewPort;
 import com.jme3.scene.Spatial;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Arrays;
 import java.util.logging.Logger;
 
 
@@ -53,21 +51,48 @@ import java.util.logging.Logger;
  *  details on how a PickEventSession is handled, see MouseAppState
  *  or PickEventSession.
  *
+ *  <p>Pointer state is kept in arrays indexed directly by pointer ID.  
+ *  When motion is dispatched, the locations of all active pointers are 
+ *  picked together against the GUI roots with a MultiPointPicker and 
+ *  then dispatched to each pointer's session.</p>
+ *
  *  @author    iwgeric
  */
 public class TouchAppState extends BasePickState {
     private static final Logger logger = Logger.getLogger(TouchAppState.class.getName());
 
+    private static final int INITIAL_POINTERS = 16;
+
     private TouchObserver touchObserver = new TouchObserver();
 
-    protected Map<Integer, PointerData> pointerDataMap = new HashMap<Integer, PointerData>();
+    /**
+     *  The session, active state, and last location of each touch pointer
+     *  indexed by pointer ID.  Not using a Vector2f to minimize garbage 
+     *  collection since the touch event from jME provides 2 floats for x and y.
+     */
+    private PickEventSession[] sessions = new PickEventSession[INITIAL_POINTERS];
+    private boolean[] active = new boolean[INITIAL_POINTERS];
+    private int[] lastX = new int[INITIAL_POINTERS];
+    private int[] lastY = new int[INITIAL_POINTERS];
+
+    /**
+     *  The IDs of the currently active pointers in the order they went
+     *  down, so that dispatch doesn't have to scan the whole array.
+     */
+    private int[] activeIds = new int[INITIAL_POINTERS];
+    private int activeCount;
+
+    private MultiPointPicker picker = new MultiPointPicker();
 
     /**
      * Storage class for the session and last location of the touch events
      *  for a single pointer (finger for touch). <br>
-     * Not using a Vector2f to minimize garbage collection since the
-     *  touch event from jME provides 2 floats for x and y.
+     * Pointer state is now kept in arrays by pointer ID.  This only remains
+     *  so that subclasses using getPointerData() and dispatchButton(PointerData, boolean) 
+     *  continue to work.
+     * @deprecated Use the pointer ID versions of the methods.
      */
+    @Deprecated
     protected class PointerData {
         private int pointerId;
         private PickEventSession session;
@@ -93,77 +118,146 @@ public class TouchAppState extends BasePickState {
     @Override
     protected void cleanup( Application app ) {
         app.getInputManager().removeRawInputListener(touchObserver);
-        pointerDataMap.clear();
+        Arrays.fill(sessions, null);
+        Arrays.fill(active, false);
+        activeCount = 0;
+    }
+
+    /**
+     *  Returns true if the specified pointer is currently down.
+     */
+    public boolean isPointerActive( int pointerId ) {
+        return pointerId >= 0 && pointerId < active.length && active[pointerId];
+    }
+
+    /**
+     *  Returns the number of touch pointers currently down.
+     */
+    public int getActivePointerCount() {
+        return activeCount;
     }
 
     /**
      * Dispatches the last touch locations to the active PickEventSessions. <br>
      * When touch motion events occur, the touch location is stored and then
      * dispatched at the frequency defined to avoid sending more motions
-     * than necessary.
+     * than necessary.  All of the locations are picked against the GUI roots
+     * together before being dispatched to each pointer's session.
      * An early out is provided if no PickEventSessions are active (ie. no touch
      * pointers are active).
      */
     @Override
     protected void dispatchMotion() {
-        if (pointerDataMap.isEmpty()) {
+        if( activeCount == 0 ) {
             return;
         }
-        for (Entry<Integer, PointerData> entry: pointerDataMap.entrySet()) {
-            PointerData pointerData = entry.getValue();
-            pointerData.session.cursorMoved(
-                    pointerData.lastX, pointerData.lastY);
+        if( activeCount == 1 ) {
+            // Nothing to batch
+            int id = activeIds[0];
+            sessions[id].cursorMoved(lastX[id], lastY[id]);
+            return;
+        }
+
+        picker.clear();
+        for( int i = 0; i < activeCount; i++ ) {
+            int id = activeIds[i];
+            picker.addPoint(lastX[id], lastY[id]);
+        }
+        picker.pick(getSession());
+
+        for( int i = 0; i < activeCount; i++ ) {
+            int id = activeIds[i];
+            PickEventSession session = sessions[id];
+            session.cursorMoved(lastX[id], lastY[id], 0, picker, i);
         }
+        picker.clear();
     }
 
     /**
      * Dispatches a button action to the appropriate PickEventSession for the
      * touch pointer provided.
-     * @param pointerData  PointerData object for the appropriate touch pointer
+     * @param pointerId  The ID of an active touch pointer
      * @param pressed  True when pressed, False when released
      * @return  True if the PickEventSession consumed the event, False otherwise.
      */
-    protected boolean dispatchButton(PointerData pointerData, boolean pressed) {
+    protected boolean dispatchButton( int pointerId, boolean pressed ) {
+        PickEventSession session = sessions[pointerId];
+        
         // We are passing BUTTON_LEFT to buttonEvent all the time.
         // This is ok because touch motion is separated by individual
         // targetSesstions for each finger.  Since each session only gets the
         // touch motion for the finger that is associated with the session,
         // it's ok to not track the touch pointerId inside each session.
-        boolean buttonConsumed = pointerData.session.buttonEvent(
-                MouseInput.BUTTON_LEFT, pointerData.lastX, pointerData.lastY, pressed);
+        boolean buttonConsumed = session.buttonEvent(
+                MouseInput.BUTTON_LEFT, lastX[pointerId], lastY[pointerId], pressed);
         if (buttonConsumed && !pressed) {
             // For the UP event, clear the hitTarget so mouseExited will be
             // called.  This is necessary because for touch there are no additional
             // mouse motions after the UP to cause mouseExited to be called.
-            pointerData.session.clearHitTarget();
+            session.clearHitTarget();
         }
         return buttonConsumed;
     }
 
     /**
-     * Returns (or creates) the PointerData object with the appropriate
-     * PickEventSession and X/Y coordinates for the provided pointerId. <br>
-     * The provided X and Y locations are stored in the PointerData object for
-     * created PointerData objects and updated if the PointerData object already exists.
+     * @deprecated Use dispatchButton(int, boolean).
+     */
+    @Deprecated
+    protected boolean dispatchButton(PointerData pointerData, boolean pressed) {
+        return dispatchButton(pointerData.pointerId, pressed);
+    }
+
+    /**
+     * Activates the pointer, stores its location, and returns a snapshot
+     * of its state.
+     * @deprecated Use activatePointer().
+     */
+    @Deprecated
+    protected PointerData getPointerData(int pointerId, int x, int y) {
+        activatePointer(pointerId, x, y);
+        return new PointerData(pointerId, sessions[pointerId], x, y);
+    }
+
+    /**
+     * Activates (if needed) the specified pointer with the appropriate
+     * PickEventSession and stores the provided X/Y location as its last
+     * location.
      * @param pointerId  Touch pointer id
      * @param x  X component of the touch location in pixels
      * @param y  Y component of the touch location in pixels
-     * @return  Associated PointerData object which contains the appropriate
-     * PickEventSession and X/Y coordinates of the last touch event
      */
-    protected PointerData getPointerData(int pointerId, int x, int y) {
-        PointerData pointerData;
-        if (pointerDataMap.isEmpty()) {
-            pointerData = new PointerData(pointerId, getSession(), x, y);
-        } else if (!pointerDataMap.containsKey(pointerId)) {
-            pointerData = new PointerData(pointerId, getSession().clone(), x, y);
-        } else {
-            pointerData = pointerDataMap.get(pointerId);
-            pointerData.lastX = x;
-            pointerData.lastY = y;
+    protected void activatePointer( int pointerId, int x, int y ) {
+        if( pointerId >= active.length ) {
+            int size = Math.max(pointerId + 1, active.length * 2);
+            sessions = Arrays.copyOf(sessions, size);
+            active = Arrays.copyOf(active, size);
+            lastX = Arrays.copyOf(lastX, size);
+            lastY = Arrays.copyOf(lastY, size);
+            activeIds = Arrays.copyOf(activeIds, size);
+        }
+        if( !active[pointerId] ) {
+            // The first pointer down uses the main session
+            sessions[pointerId] = activeCount == 0 ? getSession() : getSession().clone();
+            active[pointerId] = true;
+            activeIds[activeCount++] = pointerId;
+        }
+        lastX[pointerId] = x;
+        lastY[pointerId] = y;
+    }
+
+    protected void deactivatePointer( int pointerId ) {
+        if( !isPointerActive(pointerId) ) {
+            return;
+        }
+        active[pointerId] = false;
+        sessions[pointerId] = null;
+        for( int i = 0; i < activeCount; i++ ) {
+            if( activeIds[i] == pointerId ) {
+                System.arraycopy(activeIds, i + 1, activeIds, i, activeCount - i - 1);
+                activeCount--;
+                break;
+            }
         }
-        pointerDataMap.put(pointerId, pointerData);
-        return pointerData;
     }
 
     /**
@@ -177,31 +271,31 @@ public class TouchAppState extends BasePickState {
             if (!isEnabled()) {
                 return;
             }
-            PointerData pointerData;
+            int id = te.getPointerId();
             switch (te.getType()) {
                 case DOWN:
-                    pointerData = getPointerData(
-                            te.getPointerId(), (int)te.getX(), (int)te.getY());
-                    if (dispatchButton(pointerData, true)) {
+                    if( id < 0 ) {
+                        return;
+                    }
+                    activatePointer(id, (int)te.getX(), (int)te.getY());
+                    if (dispatchButton(id, true)) {
                         te.setConsumed();
                     }
                     break;
                 case MOVE:
-                    pointerData = pointerDataMap.get(te.getPointerId());
-                    if (pointerData != null) {
-                        pointerData.lastX = (int)te.getX();
-                        pointerData.lastY = (int)te.getY();
+                    if (isPointerActive(id)) {
+                        lastX[id] = (int)te.getX();
+                        lastY[id] = (int)te.getY();
                     }
                     break;
                 case UP:
-                    pointerData = pointerDataMap.get(te.getPointerId());
-                    if (pointerData != null) {
-                        pointerData.lastX = (int)te.getX();
-                        pointerData.lastY = (int)te.getY();
-                        if (dispatchButton(pointerData, false)) {
+                    if (isPointerActive(id)) {
+                        lastX[id] = (int)te.getX();
+                        lastY[id] = (int)te.getY();
+                        if (dispatchButton(id, false)) {
                             te.setConsumed();
                         }
-                        pointerDataMap.remove(te.getPointerId());
+                        deactivatePointer(id);
                     }
                     break;
                 default:
@@ -168,7 +168,7 @@ public class FocusNavigationState extends BaseAppState {
         }
         FocusTraversal ft = getControl(s, FocusTraversal.class);
         if( ft instanceof GuiControl ) {
-            if( ((GuiControl)ft).getLayout() == null ) {
+            if( ((GuiControl)ft).getFocusTraversal() == null ) {
                 // It implements the interface but isn't really
                 // a container.
                 return null;
@@ -185,13 +185,32 @@ public class FocusNavigationState extends BaseAppState {
         
         // Start at the parent so that we can look for contains of containers
         // easily. 
+        Spatial result = null;
         for( Spatial s = spatial.getParent(); s != null; s = s.getParent() ) {
             FocusTraversal ft = getFocusTraversal(s);
-            if( ft != null ) {
+            if( ft == null ) {
+                continue;
+            }
+            if( isSpatialTraversal(ft) ) {
+                // Spatial traversals index their whole subtree so they
+                // take precedence over any nested containers.
                 return s;
             }
+            if( result == null ) {
+                result = s;
+            }
+            if( ft.isFocusRoot() ) {
+                break;
+            }
+        }
+        return result;        
+    }
+ 
+    private static boolean isSpatialTraversal( FocusTraversal ft ) {
+        if( ft instanceof GuiControl ) {
+            ft = ((GuiControl)ft).getFocusTraversal();
         }
-        return null;        
+        return ft instanceof SpatialFocusTraversal;
     }
  
     protected void navigate( TraversalDirection dir ) {
@@ -0,0 +1,520 @@
+/*
+ * $Id$
+ * 
+ * Copyright (c) 2026, Simsilica, LLC
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions 
+ * are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright 
+ *    notice, this list of conditions and the following disclaimer.
+ * 
+ * 2. Redistributions in binary form must reproduce the above copyright 
+ *    notice, this list of conditions and the following disclaimer in 
+ *    the documentation and/or other materials provided with the 
+ *    distribution.
+ * 
+ * 3. Neither the name of the copyright holder nor the names of its 
+ *    contributors may be used to endorse or promote products derived 
+ *    from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS 
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT 
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS 
+ * FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE 
+ * COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, 
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES 
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR 
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) 
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, 
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) 
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED 
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package com.simsilica.lemur.focus;
+
+import java.util.*;
+
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.bounding.BoundingBox;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+
+import com.simsilica.lemur.core.AbstractGuiControlListener;
+import com.simsilica.lemur.core.GuiControl;
+
+/**
+ *  A FocusTraversal implementation that navigates by geometry instead
+ *  of by child order.  All focusable spatials below the root are
+ *  collected into one flat index, regardless of how deeply they are
+ *  nested in other containers, and their bounds are kept sorted along
+ *  the x and y axes.  Up/Down/Left/Right requests then find the nearest
+ *  element in that direction with a binary search followed by a scan
+ *  that stops as soon as no closer element is possible.  Next/Previous
+ *  and the Home/End directions follow the depth-first child order.
+ *
+ *  <p>Bounds are kept in the root's local space which, for GUI bucket
+ *  roots, is screen space relative to the root.  Moving the root around
+ *  therefore does not require a rebuild.  The index is refreshed lazily
+ *  on the next request after the root's GuiControl is reshaped or after
+ *  invalidate() is called.  If the set of focusable spatials hasn't
+ *  changed then a refresh only updates the bounds and re-sorts the
+ *  existing (mostly already sorted) orderings in place.</p>
+ *
+ *  <p>To use it for a regular Lemur container, set it on the container's
+ *  GuiControl:</p>
+ *  <pre>
+ *  container.getControl(GuiControl.class)
+ *           .setFocusTraversal(new SpatialFocusTraversal(container, true));
+ *  </pre>
+ *
+ *  <p>Because the index already covers the whole subtree, FocusNavigationState
+ *  will prefer a SpatialFocusTraversal ancestor over any nested containers'
+ *  own traversal when resolving navigation.</p>
+ */
+public class SpatialFocusTraversal implements FocusTraversal {
+
+    /**
+     *  How much more the distance perpendicular to the navigation direction
+     *  counts against a candidate than the distance along it.
+     */
+    private static final float OFF_AXIS_WEIGHT = 2;
+
+    private final Spatial root;
+    private boolean focusRoot;
+    private boolean dirty = true;
+
+    // Depth-first order for next/previous
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Spatial, Entry> index = new HashMap<>();
+    private final List<Spatial> scratch = new ArrayList<>();
+
+    // The same entries sorted by center x and center y respectively
+    private Entry[] byX = new Entry[0];
+    private Entry[] byY = new Entry[0];
+    private float[] xKeys = new float[0];
+    private float[] yKeys = new float[0];
+
+    private final Vector3f temp1 = new Vector3f();
+    private final Vector3f temp2 = new Vector3f();
+
+    public SpatialFocusTraversal( Spatial root ) {
+        this(root, false);
+    }
+
+    public SpatialFocusTraversal( Spatial root, boolean focusRoot ) {
+        if( root == null ) {
+            throw new IllegalArgumentException("Root cannot be null");
+        }
+        this.root = root;
+        this.focusRoot = focusRoot;
+
+        GuiControl control = root.getControl(GuiControl.class);
+        if( control != null ) {
+            control.addListener(new ReshapeListener());
+        }
+    }
+
+    public Spatial getRoot() {
+        return root;
+    }
+
+    public void setFocusRoot( boolean b ) {
+        this.focusRoot = b;
+    }
+
+    @Override
+    public boolean isFocusRoot() {
+        return focusRoot;
+    }
+
+    /**
+     *  Marks the index as needing a refresh on the next request.  This
+     *  is called automatically when a GuiControl-managed root is reshaped
+     *  but must be called directly for other roots when their children
+     *  move or change.
+     */
+    public void invalidate() {
+        this.dirty = true;
+    }
+
+    /**
+     *  Returns true if the specified spatial is currently in this index.
+     */
+    public boolean contains( Spatial s ) {
+        refresh();
+        return index.containsKey(s);
+    }
+
+    @Override
+    public Spatial getDefaultFocus() {
+        return getFirst();
+    }
+
+    @Override
+    public Spatial getRelativeFocus( Spatial from, TraversalDirection direction ) {
+        refresh();
+        if( from == null || from == root ) {
+            // Entering this container
+            switch( direction ) {
+                case Up:
+                case Left:
+                case Previous:
+                case End:
+                case PageEnd:
+                    return getLast();
+                default:
+                    return getFirst();
+            }
+        }
+        switch( direction ) {
+            case Up:
+                return findNearest(from, byY, yKeys, false, true);
+            case Down:
+                return findNearest(from, byY, yKeys, false, false);
+            case Left:
+                return findNearest(from, byX, xKeys, true, false);
+            case Right:
+                return findNearest(from, byX, xKeys, true, true);
+            case Previous:
+                return getPrevious(from);
+            default:
+            case Next:
+                return getNext(from);
+            case Home:
+            case PageHome:
+                return getFirst();
+            case End:
+            case PageEnd:
+                return getLast();
+        }
+    }
+
+    protected Spatial getFirst() {
+        refresh();
+        for( Entry e : entries ) {
+            if( e.isFocusable() ) {
+                return e.spatial;
+            }
+        }
+        return null;
+    }
+
+    protected Spatial getLast() {
+        refresh();
+        for( int i = entries.size() - 1; i >= 0; i-- ) {
+            Entry e = entries.get(i);
+            if( e.isFocusable() ) {
+                return e.spatial;
+            }
+        }
+        return null;
+    }
+
+    protected Spatial getNext( Spatial from ) {
+        Entry start = index.get(from);
+        if( start == null ) {
+            return null;
+        }
+        for( int i = start.order + 1; i < entries.size(); i++ ) {
+            Entry e = entries.get(i);
+            if( e.isFocusable() ) {
+                return e.spatial;
+            }
+        }
+        return focusRoot ? getFirst() : null;
+    }
+
+    protected Spatial getPrevious( Spatial from ) {
+        Entry start = index.get(from);
+        if( start == null ) {
+            return null;
+        }
+        for( int i = start.order - 1; i >= 0; i-- ) {
+            Entry e = entries.get(i);
+            if( e.isFocusable() ) {
+                return e.spatial;
+            }
+        }
+        return focusRoot ? getLast() : null;
+    }
+
+    /**
+     *  Finds the focusable entry whose center is nearest to the 'from'
+     *  spatial's center in the specified direction.  'from' doesn't have
+     *  to be in the index... it may also be a nested container we are
+     *  navigating out of, in which case its own children are skipped.
+     */
+    protected Spatial findNearest( Spatial from, Entry[] sorted, float[] keys,
+                                   boolean xAxis, boolean positive ) {
+        Entry self = index.get(from);
+        float minX, minY, maxX, maxY;
+        if( self != null ) {
+            minX = self.minX;
+            minY = self.minY;
+            maxX = self.maxX;
+            maxY = self.maxY;
+        } else {
+            Entry temp = new Entry(from);
+            temp.updateBounds();
+            minX = temp.minX;
+            minY = temp.minY;
+            maxX = temp.maxX;
+            maxY = temp.maxY;
+        }
+        float cx = (minX + maxX) * 0.5f;
+        float cy = (minY + maxY) * 0.5f;
+        float key = xAxis ? cx : cy;
+        float lo = xAxis ? minY : minX;
+        float hi = xAxis ? maxY : maxX;
+        float center = xAxis ? cy : cx;
+
+        // Elements must be clearly past our center to count as being
+        // in that direction.  Otherwise items in the same row would flip
+        // flop with each other on tiny rounding differences.
+        float epsilon = Math.max(0.5f, 0.01f * (xAxis ? (maxX - minX) : (maxY - minY)));
+
+        Entry best = null;
+        float bestScore = Float.POSITIVE_INFINITY;
+        if( positive ) {
+            for( int i = upperBound(keys, key + epsilon); i < sorted.length; i++ ) {
+                float major = keys[i] - key;
+                if( major >= bestScore ) {
+                    break;
+                }
+                Entry e = sorted[i];
+                float score = score(e, major, xAxis, lo, hi, center);
+                if( score < bestScore && isCandidate(e, from) ) {
+                    best = e;
+                    bestScore = score;
+                }
+            }
+        } else {
+            for( int i = upperBound(keys, key - epsilon) - 1; i >= 0; i-- ) {
+                float major = key - keys[i];
+                if( major >= bestScore ) {
+                    break;
+                }
+                Entry e = sorted[i];
+                float score = score(e, major, xAxis, lo, hi, center);
+                if( score < bestScore && isCandidate(e, from) ) {
+                    best = e;
+                    bestScore = score;
+                }
+            }
+        }
+        return best == null ? null : best.spatial;
+    }
+
+    /**
+     *  Scores a candidate such that the score is never less than the
+     *  distance along the navigation axis.  That's what lets the scan stop
+     *  early.  Candidates overlapping our row (or column) only pay a small
+     *  penalty for their center offset.
+     */
+    private float score( Entry e, float major, boolean xAxis, float lo, float hi, float center ) {
+        float eLo = xAxis ? e.minY : e.minX;
+        float eHi = xAxis ? e.maxY : e.maxX;
+        float eCenter = xAxis ? (e.minY + e.maxY) * 0.5f : (e.minX + e.maxX) * 0.5f;
+        float gap = 0;
+        if( eHi < lo ) {
+            gap = lo - eHi;
+        } else if( eLo > hi ) {
+            gap = eLo - hi;
+        }
+        return major + OFF_AXIS_WEIGHT * gap + 0.25f * Math.abs(eCenter - center);
+    }
+
+    private boolean isCandidate( Entry e, Spatial from ) {
+        if( e.spatial == from || !e.isFocusable() ) {
+            return false;
+        }
+        if( from instanceof Node ) {
+            // Skip the children of a container we are leaving
+            for( Spatial s = e.spatial.getParent(); s != null && s != root; s = s.getParent() ) {
+                if( s == from ) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     *  Returns the index of the first key that is greater than value.
+     */
+    private static int upperBound( float[] keys, float value ) {
+        int low = 0;
+        int high = keys.length;
+        while( low < high ) {
+            int mid = (low + high) >>> 1;
+            if( keys[mid] <= value ) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     *  Brings the index up to date if it has been invalidated.
+     */
+    protected void refresh() {
+        if( !dirty ) {
+            return;
+        }
+        dirty = false;
+
+        scratch.clear();
+        collect(root, true);
+
+        boolean sameMembers = scratch.size() == entries.size();
+        for( int i = 0; sameMembers && i < scratch.size(); i++ ) {
+            sameMembers = scratch.get(i) == entries.get(i).spatial;
+        }
+
+        if( sameMembers ) {
+            for( Entry e : entries ) {
+                e.updateBounds();
+            }
+            // Layout changes generally move things a little or not
+            // at all so the previous orderings are nearly sorted already.
+            insertionSort(byX, true);
+            insertionSort(byY, false);
+        } else {
+            Map<Spatial, Entry> last = new HashMap<>(index);
+            entries.clear();
+            index.clear();
+            for( Spatial s : scratch ) {
+                Entry e = last.get(s);
+                if( e == null ) {
+                    e = new Entry(s);
+                }
+                e.order = entries.size();
+                e.updateBounds();
+                entries.add(e);
+                index.put(s, e);
+            }
+            byX = entries.toArray(new Entry[entries.size()]);
+            byY = entries.toArray(new Entry[entries.size()]);
+            Arrays.sort(byX, new AxisComparator(true));
+            Arrays.sort(byY, new AxisComparator(false));
+            xKeys = new float[byX.length];
+            yKeys = new float[byY.length];
+        }
+        scratch.clear();
+
+        for( int i = 0; i < byX.length; i++ ) {
+            xKeys[i] = byX[i].centerX();
+            yKeys[i] = byY[i].centerY();
+        }
+    }
+
+    private void collect( Spatial s, boolean isRoot ) {
+        if( !isRoot ) {
+            FocusTarget target = FocusManagerState.findFocusTarget(s);
+            if( target != null && target.isFocusable() ) {
+                scratch.add(s);
+                return;
+            }
+        }
+        if( s instanceof Node ) {
+            for( Spatial child : ((Node)s).getChildren() ) {
+                collect(child, false);
+            }
+        }
+    }
+
+    private static void insertionSort( Entry[] array, boolean xAxis ) {
+        for( int i = 1; i < array.length; i++ ) {
+            Entry e = array[i];
+            float key = xAxis ? e.centerX() : e.centerY();
+            int j = i - 1;
+            while( j >= 0 && (xAxis ? array[j].centerX() : array[j].centerY()) > key ) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[root=" + root + ", isFocusRoot=" + focusRoot + "]";
+    }
+
+    private class Entry {
+        final Spatial spatial;
+        int order;
+        float minX;
+        float minY;
+        float maxX;
+        float maxY;
+
+        public Entry( Spatial spatial ) {
+            this.spatial = spatial;
+        }
+
+        public boolean isFocusable() {
+            FocusTarget target = FocusManagerState.findFocusTarget(spatial);
+            return target != null && target.isFocusable();
+        }
+
+        public float centerX() {
+            return (minX + maxX) * 0.5f;
+        }
+
+        public float centerY() {
+            return (minY + maxY) * 0.5f;
+        }
+
+        public void updateBounds() {
+            BoundingVolume bv = spatial.getWorldBound();
+            Vector3f min = temp1;
+            Vector3f max = temp2;
+            if( bv instanceof BoundingBox ) {
+                BoundingBox bb = (BoundingBox)bv;
+                bb.getMin(min);
+                bb.getMax(max);
+            } else if( bv != null ) {
+                min.set(bv.getCenter());
+                max.set(min);
+            } else {
+                min.set(spatial.getWorldTranslation());
+                max.set(min);
+            }
+            root.worldToLocal(min, min);
+            root.worldToLocal(max, max);
+            this.minX = Math.min(min.x, max.x);
+            this.minY = Math.min(min.y, max.y);
+            this.maxX = Math.max(min.x, max.x);
+            this.maxY = Math.max(min.y, max.y);
+        }
+    }
+
+    private static class AxisComparator implements Comparator<Entry> {
+        private final boolean xAxis;
+
+        public AxisComparator( boolean xAxis ) {
+            this.xAxis = xAxis;
+        }
+
+        @Override
+        public int compare( Entry e1, Entry e2 ) {
+            return xAxis ? Float.compare(e1.centerX(), e2.centerX())
+                         : Float.compare(e1.centerY(), e2.centerY());
+        }
+    }
+
+    private class ReshapeListener extends AbstractGuiControlListener {
+        @Override
+        public void reshape( GuiControl source, Vector3f pos, Vector3f size ) {
+            invalidate();
+        }
+    }
+}
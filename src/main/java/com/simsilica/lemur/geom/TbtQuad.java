@@ -148,6 +148,21 @@ public class TbtQuad extends Mesh
         return size;
     }
 
+    /**
+     *  Returns the left, bottom, right, and top sizes of the
+     *  unstretched borders.  These stay the same as the quad is resized.
+     */
+    public Vector4f getBorders() {
+        return new Vector4f(horzFolds[0], vertFolds[0], size.x - horzFolds[1], size.y - vertFolds[1]);
+    }
+
+    /**
+     *  Returns the x1, y1, x2, y2 texture coordinates of the folds.
+     */
+    public Vector4f getTextureFolds() {
+        return new Vector4f(horzTexCoords[1], vertTexCoords[1], horzTexCoords[2], vertTexCoords[2]);
+    }
+
     public void updateSize( float width, float height ) {
         if( size.x == width && size.y == height )
             return;
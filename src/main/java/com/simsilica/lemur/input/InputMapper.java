@@ -44,6 +44,7 @@ import com.jme3.input.*;
 import com.jme3.input.event.*;
 import com.jme3.util.SafeArrayList;
 
+import com.simsilica.lemur.core.GuiMetrics;
 import com.simsilica.lemur.input.InputDevice.DeviceAxis;
 import com.simsilica.lemur.input.InputDevice.DeviceButton;
 
@@ -566,6 +567,11 @@ public class InputMapper {
             return;
 
         listeners.notifyStateChanged( function, value );
+
+        GuiMetrics metrics = GuiMetrics.getActive();
+        if( metrics != null ) {
+            metrics.inputDispatches.increment();
+        }
     }
 
     protected void notifyValueActive( FunctionId function, double value ) {
@@ -574,6 +580,11 @@ public class InputMapper {
             return;
 
         listeners.notifyAnalogUpdate(function, value);
+
+        GuiMetrics metrics = GuiMetrics.getActive();
+        if( metrics != null ) {
+            metrics.inputDispatches.increment();
+        }
     }
 
     protected InputState valueToState( double val ) {
@@ -34,12 +34,17 @@
 
 package com.simsilica.lemur.input;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 
+import com.simsilica.lemur.core.MethodInvokers;
+
 
 /**
  *  A convenience StateFunctionListener implementation that
- *  can call a method using reflection.  By default, the method
+ *  can call a method through a cached MethodHandle.  By default, the method
  *  is called on the "release" of a particular function, ie: when
  *  its state returns to Off.  Methods that take an InputState
  *  argument and are called by a StateMethodDelegate with the
@@ -52,6 +57,7 @@ public class StateMethodDelegate implements StateFunctionListener {
 
     private Object target;
     private Method method;
+    private MethodHandle handle;
     private boolean takesArgument;
 
     public StateMethodDelegate( Object target, String method ) {
@@ -62,6 +68,16 @@ public class StateMethodDelegate implements StateFunctionListener {
         this.target = target;
         this.method = resolveMethod(target.getClass(), method, takesArgument);
         this.takesArgument = takesArgument;
+ 
+        // Always bind as (InputState)void so that calling it is the same
+        // either way... the no-arg version just ignores the state.
+        MethodHandle mh = MethodInvokers.bind(target, this.method, 0);
+        if( takesArgument ) {
+            this.handle = mh.asType(MethodType.methodType(void.class, InputState.class));
+        } else {
+            this.handle = MethodHandles.dropArguments(mh.asType(MethodType.methodType(void.class)),
+                                                      0, InputState.class);
+        }
     }
 
     public Object getTarget() {
@@ -72,28 +88,24 @@ public class StateMethodDelegate implements StateFunctionListener {
         return method.getName();
     }
 
-    @SuppressWarnings("unchecked")
     protected static Method resolveMethod( Class targetClass, String name,
                                            boolean takesArgument ) {
-        try {
-            if( takesArgument ) {
-                return targetClass.getMethod(name, InputState.class);
-            } else {
-                return targetClass.getMethod(name);
-            }
-        } catch( Exception e ) {
-            throw new RuntimeException("Error resolving delegate method:" + name, e);
+        Method result;
+        if( takesArgument ) {
+            result = MethodInvokers.findPublicMethod(targetClass, name, InputState.class);
+        } else {
+            result = MethodInvokers.findPublicMethod(targetClass, name);
+        }
+        if( result == null ) {
+            throw new RuntimeException("Error resolving delegate method:" + name + " on:" + targetClass);
         }
+        return result;
     }
 
     protected void callMethod(InputState state) {
         try {
-            if( takesArgument ) {
-                method.invoke(target, state);
-            } else {
-                method.invoke(target);
-            }
-        } catch( Exception e ) {
+            handle.invokeExact(state);
+        } catch( Throwable e ) {
             throw new RuntimeException("Error calling method:" + method, e);
         }
     }
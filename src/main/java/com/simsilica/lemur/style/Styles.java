@@ -36,8 +36,10 @@ package com.simsilica.lemur.style;
 
 import java.lang.reflect.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.simsilica.lemur.core.GuiComponent;
+import com.simsilica.lemur.core.GuiMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -118,6 +120,11 @@ import com.jme3.util.clone.JmeCloneable;
  *  and target "slider"/"thumb" directly or any "thumb"/"button" that might exist in
  *  sliders or scrollbars, etc..</p>
  *
+ *  <p>Attribute lookups and applyStyles() are safe to call from multiple
+ *  threads, for example when building GUI elements on a background thread
+ *  with GuiBuildState.  Setting up selectors is not and should be done before
+ *  any background building starts.</p>
+ *
  *  @author    Paul Speed
  */
 public class Styles {
@@ -127,7 +134,7 @@ public class Styles {
     public static final String ROOT_STYLE = "root";
     public static final ElementId DEFAULT_ELEMENT = new ElementId("default");
 
-    private static Map<Class, List<Method>> methodIndex = new HashMap<Class, List<Method>>();
+    private static Map<Class, List<Method>> methodIndex = new ConcurrentHashMap<Class, List<Method>>();
     private Set<Class> initialized = new HashSet<Class>();
 
 
@@ -190,16 +197,16 @@ public class Styles {
         return defaultStyle;
     }
 
-    public void clearCache() {
+    public synchronized void clearCache() {
         attributeMap.clear();
     }
 
-    public void setDefault( Object value ) {
+    public synchronized void setDefault( Object value ) {
         defaults.put(value.getClass(), value);
     }
 
     @SuppressWarnings("unchecked")
-    public <T> T getDefault( Class<T> type ) {
+    public synchronized <T> T getDefault( Class<T> type ) {
         return (T)defaults.get(type);
     }
 
@@ -217,7 +224,7 @@ public class Styles {
      *  and style.  The attributes are compiled based on the
      *  selector rules and attributes setup prior to this call.
      */
-    public Attributes getAttributes( ElementId elementId, String style ) {
+    public synchronized Attributes getAttributes( ElementId elementId, String style ) {
 
         if( style == null ) {
             style = defaultStyle;
@@ -225,6 +232,14 @@ public class Styles {
         // See if we already have a cached version
         String key = styleKey(elementId, style);
         Attributes result = attributeMap.get(key);
+        GuiMetrics metrics = GuiMetrics.getActive();
+        if( metrics != null ) {
+            if( result == null ) {
+                metrics.styleCacheMisses.increment();
+            } else {
+                metrics.styleCacheHits.increment();
+            }
+        }
         if( result == null ) {
             // Look it up and cache it
             result = getTree(style, true).getAttributes(elementId);
@@ -273,7 +288,7 @@ public class Styles {
         return style + ":" + elementId.getId();
     }
 
-    protected StyleTree getTree( String style, boolean create ) {
+    protected synchronized StyleTree getTree( String style, boolean create ) {
         if( style == null ) {
             style = ROOT_STYLE;
         }
@@ -289,7 +304,7 @@ public class Styles {
         return getSelector(DEFAULT_ELEMENT, style);
     }
 
-    public Attributes getSelector( ElementId id, String style ) {
+    public synchronized Attributes getSelector( ElementId id, String style ) {
         // The implication is that we're about to set new style attributes...
         // so clear the cache
         clearCache();
@@ -300,7 +315,7 @@ public class Styles {
         return getSelector(new ElementId(id), style);
     }
 
-    public Attributes getSelector( ElementId parent, ElementId child, String style ) {
+    public synchronized Attributes getSelector( ElementId parent, ElementId child, String style ) {
         clearCache();
         return getTree(style, true).getSelector(parent, child, true);
     }
@@ -340,7 +355,7 @@ public class Styles {
         System.out.println( "a2:" + a2 );
     }
 
-    public void initializeStyles(Class c) {
+    public synchronized void initializeStyles(Class c) {
         if( initialized.contains(c) )
             return;
         initialized.add(c);
@@ -436,6 +451,9 @@ public class Styles {
     @SuppressWarnings("unchecked")
     public void applyStyles( Object o, ElementId elementId, String style ) {
 
+        GuiMetrics metrics = GuiMetrics.getActive();
+        long start = metrics != null ? System.nanoTime() : 0;
+
         Class c = o.getClass();
         initializeStyles(c);
 
@@ -485,6 +503,10 @@ public class Styles {
                 throw new RuntimeException("Error applying attribute:" + attribute + " to:" + o, e);
             }
         }
+
+        if( metrics != null ) {
+            metrics.styleApply.addTime(System.nanoTime() - start);
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -36,7 +36,7 @@
 
 package com.simsilica.lemur.text;
 
-import java.util.Objects;
+import java.util.Arrays;
 
 import com.google.common.base.Function;
 
@@ -48,6 +48,10 @@ import com.simsilica.lemur.core.VersionedReference;
  *  others for subclasses to filter.  Subclasses can override the filterInput()
  *  and filterOutput() methods to provide simpler filtering or simply set
  *  Function implementations for those transforms.
+ *  Input can also be filtered with a primitive CharFilter that avoids
+ *  boxing every character.
+ *  Output is only transformed again when the version changes and
+ *  the transformed lines are cached separately.
  *  Advanced output filtering (where the output string maybe a different
  *  size then what is kept by the delegate) would require more extensive overriding
  *  of behavior to track carat location, line, column, and so on.
@@ -58,9 +62,12 @@ public class DocumentModelFilter implements DocumentModel {
  
     private DocumentModel delegate;
     private Function<Character, Character> inputTransform;
+    private CharFilter inputFilter;
     private Function<String, String> outputTransform;
-    private String lastOutput = null;
+    private long lastOutputVersion = -1;
     private String lastTransformedOutput = null;
+    private long lineCacheVersion = -1;
+    private String[] lineCache;
     private long version;
     
     public DocumentModelFilter() {
@@ -80,8 +87,8 @@ public class DocumentModelFilter implements DocumentModel {
                                 Function<Character, Character> inputTransform,
                                 Function<String, String> outputTransform ) {
         this.delegate = delegate;        
-        this.inputTransform = inputTransform;
         this.outputTransform = outputTransform;
+        setInputTransform(inputTransform);
     } 
 
     /**
@@ -125,12 +132,33 @@ public class DocumentModelFilter implements DocumentModel {
             return;
         }
         this.inputTransform = f;
+        this.inputFilter = f == null ? null : TextFilters.toCharFilter(f);
         version++;
     }
     
     public Function<Character, Character> getInputTransform() {
         return inputTransform;
     } 
+
+    /**
+     *  Sets an optional primitive input filter that will be used to convert
+     *  all input from setText() or insert().  This is the same as
+     *  setInputTransform() but without boxing each character.
+     *  If the filter returns CharFilter.SKIP for any character then that
+     *  character is skipped in the input.
+     */
+    public void setInputFilter( CharFilter f ) {
+        if( inputFilter == f ) {
+            return;
+        }
+        this.inputFilter = f;
+        this.inputTransform = f == null ? null : TextFilters.toFunction(f);
+        version++;
+    }
+
+    public CharFilter getInputFilter() {
+        return inputFilter;
+    }
     
     public DocumentModel clone() {
         return new DocumentModelFilter(delegate.clone());
@@ -139,23 +167,32 @@ public class DocumentModelFilter implements DocumentModel {
     /**
      *  Can be overridden to bulk filter input provided to
      *  setText().  Default implementation returns the text directly
-     *  unless there is an input transform function set.  If there is
-     *  an input transform function set then each character is first
-     *  passed through that function to build a new string.  
+     *  unless there is an input filter set.  If there is
+     *  an input filter set then each character is first
+     *  passed through that filter to build a new string.  A new string
+     *  is only built if the filter actually changes something.
      */
     protected String filterInput( String text ) {
-        if( inputTransform != null ) {
-            StringBuilder sb = new StringBuilder();
-            for( int i = 0; i < text.length(); i++ ) {
-                char c = text.charAt(i);
-                Character x = inputTransform.apply(c);
-                if( x != null ) {
-                    sb.append(x);
+        if( inputFilter == null ) {
+            return text;
+        }
+        StringBuilder sb = null;
+        for( int i = 0; i < text.length(); i++ ) {
+            char c = text.charAt(i);
+            int x = inputFilter.filter(c);
+            if( sb == null ) {
+                if( x == c ) {
+                    continue;
                 }
+                // First change so copy everything up to here
+                sb = new StringBuilder(text.length());
+                sb.append(text, 0, i);
+            }
+            if( x != CharFilter.SKIP ) {
+                sb.append((char)x);
             }
-            return sb.toString();
         }
-        return text;
+        return sb == null ? text : sb.toString();
     }
 
     /**
@@ -163,8 +200,9 @@ public class DocumentModelFilter implements DocumentModel {
      *  insert().  The default implementation returns the character directly.
      */
     protected Character filterInput( char c ) {
-        if( inputTransform != null ) {
-            return inputTransform.apply(c);
+        if( inputFilter != null ) {
+            int x = inputFilter.filter(c);
+            return x == CharFilter.SKIP ? null : Character.valueOf((char)x);
         }        
         return c;
     }
@@ -190,28 +228,49 @@ public class DocumentModelFilter implements DocumentModel {
 
     /**
      *  Passes the delegate's getText() through the local filterOutput()
-     *  method before returning.
+     *  method before returning.  The result is cached until the version
+     *  changes.
      */
     @Override
     public String getText() {
-        String output = delegate.getText();
-        if( Objects.equals(output, lastOutput) ) {
+        long v = getVersion();
+        if( v == lastOutputVersion ) {
             return lastTransformedOutput;
         }
-        // Cache the results for next time.  If the delegate's text
-        // doesn't change then we avoid needlessly calling the transform.
-        lastOutput = output;
-        lastTransformedOutput = filterOutput(output);  
+        // Cache the results for next time.  If neither the delegate's text
+        // nor our transforms change then the version stays the same and we
+        // avoid needlessly calling the transform or even comparing strings.
+        lastOutputVersion = v;
+        lastTransformedOutput = filterOutput(delegate.getText());  
         return lastTransformedOutput;  
     } 
 
     /**
      *  Passes the delegate's getLine() through the local filterOutput()
-     *  method before returning.
+     *  method before returning.  Each line's result is cached until the
+     *  version changes.
      */
     @Override
     public String getLine( int line ) {
-        return filterOutput(delegate.getLine(line));
+        long v = getVersion();
+        int count = delegate.getLineCount();
+        if( line < 0 || line >= count ) {
+            // Let the delegate decide what to do about it
+            return filterOutput(delegate.getLine(line));
+        }
+        if( lineCache == null || lineCache.length != count ) {
+            lineCache = new String[count];
+            lineCacheVersion = v;
+        } else if( lineCacheVersion != v ) {
+            Arrays.fill(lineCache, null);
+            lineCacheVersion = v;
+        }
+        String result = lineCache[line];
+        if( result == null ) {
+            result = filterOutput(delegate.getLine(line));
+            lineCache[line] = result;
+        }
+        return result;
     } 
 
     @Override
@@ -38,11 +38,13 @@ package com.simsilica.lemur.text;
 
 import com.google.common.base.Function;
 import com.google.common.base.Predicate;
-import com.google.common.base.Predicates;
 
 
 /**
  *  A collection of convenience filters for input and output.
+ *  The character filters returned here are also primitive CharFilters
+ *  so DocumentModelFilter and the output transforms can use them
+ *  without boxing.
  *
  *  @author    Paul Speed
  */
@@ -52,7 +54,8 @@ public class TextFilters {
     private static IsLetter IS_LETTER = new IsLetter();
     private static Function<Character, Character> ALPHA = charFilter(IS_LETTER);
     private static Function<Character, Character> NUMERIC = charFilter(IS_DIGIT);
-    private static Function<Character, Character> ALPHA_NUMERIC = charFilter(Predicates.or(IS_DIGIT, IS_LETTER));
+    private static IsLetterOrDigit IS_LETTER_OR_DIGIT = new IsLetterOrDigit();
+    private static Function<Character, Character> ALPHA_NUMERIC = charFilter(IS_LETTER_OR_DIGIT);
     private static ToLowerCase TO_LOWER_CASE = new ToLowerCase(); 
     private static ToUpperCase TO_UPPER_CASE = new ToUpperCase(); 
     
@@ -90,8 +93,41 @@ public class TextFilters {
      *  the supplied filter always returns something for every character.
      */
     public static Function<String, String> charOutputTransform( Function<Character, Character> transform ) {
+        return new CharOutputTransform(toCharFilter(transform));
+    }
+
+    /**
+     *  A text output transform that passes all characters through a primitive
+     *  character filter when passing them to the output string.  The same caveats
+     *  as charOutputTransform() apply.  This has a different name so that
+     *  lambdas passed to charOutputTransform() are not ambiguous.
+     */
+    public static Function<String, String> charFilterOutputTransform( CharFilter transform ) {
         return new CharOutputTransform(transform);
     }
+
+    /**
+     *  Returns a primitive CharFilter for the specified character function.
+     *  The filters in TextFilters are already CharFilters and are returned
+     *  directly.  Other functions are wrapped and will still box.
+     */
+    public static CharFilter toCharFilter( Function<Character, Character> f ) {
+        if( f instanceof CharFilter ) {
+            return (CharFilter)f;
+        }
+        return new FunctionCharFilter(f);
+    }
+
+    /**
+     *  Returns a character Function for the specified primitive CharFilter
+     *  for use with APIs that still take Function&lt;Character, Character&gt;.
+     */
+    public static Function<Character, Character> toFunction( CharFilter f ) {
+        if( f instanceof CharFunction ) {
+            return (CharFunction)f;
+        }
+        return new FilterFunction(f);
+    }
     
     /**
      *  A character filter that only allows numeric digits.
@@ -119,7 +155,7 @@ public class TextFilters {
      *  specified predicate.
      */
     public static Function<Character, Character> charFilter( Predicate<Character> predicate ) {
-        return new CharFilter(predicate);
+        return new PredicateFilter(predicate);
     }
  
     /**
@@ -159,7 +195,7 @@ public class TextFilters {
      *  is in Character.isLetterOrDigit().
      */
     public static Predicate<Character> isLetterOrDigit() {
-        return Predicates.or(isLetter(), isDigit());
+        return IS_LETTER_OR_DIGIT;
     }
     
     /**
@@ -185,24 +221,24 @@ public class TextFilters {
             if( input.length() == 0 ) {
                 return input;
             }
-            StringBuilder result = new StringBuilder();
-            for( int i = 0; i < input.length(); i++ ) {
+            char[] result = new char[input.length()];
+            for( int i = 0; i < result.length; i++ ) {
                 char c = input.charAt(i);
                 if( c == '\r' || c == '\n' ) {
-                    result.append(c);
+                    result[i] = c;
                 } else {
-                    result.append(output);
+                    result[i] = output;
                 }
             }
-            return result.toString(); 
+            return new String(result); 
         } 
     }
 
     private static class CharOutputTransform implements Function<String, String> {
         
-        private Function<Character, Character> transform;
+        private CharFilter transform;
         
-        public CharOutputTransform( Function<Character, Character> transform ) {
+        public CharOutputTransform( CharFilter transform ) {
             this.transform = transform;
         }
         
@@ -213,55 +249,124 @@ public class TextFilters {
             if( input.length() == 0 ) {
                 return input;
             }
-            StringBuilder result = new StringBuilder();
-            for( int i = 0; i < input.length(); i++ ) {
-                Character c = input.charAt(i);
-                if( c != null ) {
-                    result.append(transform.apply(c));
+            char[] result = new char[input.length()];
+            int size = 0;
+            for( int i = 0; i < result.length; i++ ) {
+                int x = transform.filter(input.charAt(i));
+                if( x != CharFilter.SKIP ) {
+                    result[size++] = (char)x;
                 }
             }
-            return result.toString(); 
+            return new String(result, 0, size); 
         } 
     }
+ 
+    /**
+     *  Base class for the character functions that are also
+     *  primitive CharFilters.  apply() is implemented in terms
+     *  of filter().
+     */
+    private static abstract class CharFunction implements Function<Character, Character>, CharFilter {
+        public Character apply( Character c ) {
+            int x = filter(c);
+            return x == SKIP ? null : Character.valueOf((char)x);
+        }
+    }
+ 
+    private static class FilterFunction extends CharFunction {
+        private CharFilter filter;
+        
+        public FilterFunction( CharFilter filter ) {
+            this.filter = filter;
+        }
+        
+        public int filter( char c ) {
+            return filter.filter(c);
+        }
+    }
+    
+    private static class FunctionCharFilter implements CharFilter {
+        private Function<Character, Character> function;
+        
+        public FunctionCharFilter( Function<Character, Character> function ) {
+            this.function = function;
+        }
+        
+        public int filter( char c ) {
+            Character x = function.apply(c);
+            return x == null ? SKIP : x.charValue();
+        }
+    }
     
-    private static class CharFilter implements Function<Character, Character> {
+    private static class PredicateFilter extends CharFunction {
         
         private Predicate<Character> predicate;
+        private CharPredicate primitive;
     
-        public CharFilter( Predicate<Character> predicate ) {
+        public PredicateFilter( Predicate<Character> predicate ) {
             this.predicate = predicate;
+            if( predicate instanceof CharPredicate ) {
+                this.primitive = (CharPredicate)predicate;
+            }
         }
         
-        public Character apply( Character c ) {
-            return predicate.apply(c) ? c : null;
+        public int filter( char c ) {
+            boolean pass = primitive != null ? primitive.test(c) : predicate.apply(c);
+            return pass ? c : SKIP;
         } 
     }
  
-    private static class ToUpperCase implements Function<Character, Character> {
-        public Character apply( Character c ) {
+    private static class ToUpperCase extends CharFunction {
+        public int filter( char c ) {
             return Character.toUpperCase(c);
         }       
     }
      
-    private static class ToLowerCase implements Function<Character, Character> {
-        public Character apply( Character c ) {
+    private static class ToLowerCase extends CharFunction {
+        public int filter( char c ) {
             return Character.toLowerCase(c);
         }
     } 
+ 
+    /**
+     *  Implemented by the predicates here so that PredicateFilter can test
+     *  characters without boxing them.
+     */
+    private interface CharPredicate {
+        public boolean test( char c );
+    }
     
-    private static class IsDigit implements Predicate<Character> {
+    private static class IsDigit implements Predicate<Character>, CharPredicate {
         public boolean apply( Character c ) {
             return Character.isDigit(c);
         }
+        
+        public boolean test( char c ) {
+            return Character.isDigit(c);
+        }
     }
        
-    private static class IsLetter implements Predicate<Character> {
+    private static class IsLetter implements Predicate<Character>, CharPredicate {
         public boolean apply( Character c ) {
             return Character.isLetter(c);
         }
+        
+        public boolean test( char c ) {
+            return Character.isLetter(c);
+        }
     }
     
-    private static class IsInChars implements Predicate<Character> {
+    private static class IsLetterOrDigit implements Predicate<Character>, CharPredicate {
+        public boolean apply( Character c ) {
+            return Character.isLetterOrDigit(c);
+        }
+        
+        public boolean test( char c ) {
+            return Character.isLetterOrDigit(c);
+        }
+    }
+    
+    private static class IsInChars implements Predicate<Character>, CharPredicate {
         private char[] chars;
         
         public IsInChars( char[] chars ) {
@@ -269,8 +374,12 @@ public class TextFilters {
         }
     
         public boolean apply( Character c ) {
+            return test(c.charValue());
+        }
+        
+        public boolean test( char c ) {
             for( char check : chars ) {
-                if( c.charValue() == check ) {
+                if( c == check ) {
                     return true;
                 }
             }
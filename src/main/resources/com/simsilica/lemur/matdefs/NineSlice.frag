@@ -0,0 +1,68 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+#ifdef HAS_COLORMAP
+uniform sampler2D m_ColorMap;
+uniform vec2 m_Size;
+uniform vec4 m_Borders;
+uniform vec4 m_TexFolds;
+#endif
+
+#ifdef HAS_COLOR
+uniform vec4 m_Color;
+#endif
+
+#ifdef DISCARD_ALPHA
+uniform float m_AlphaDiscardThreshold;
+#endif
+
+varying vec2 localPos;
+
+#ifdef HAS_CLIPRECT
+uniform vec4 m_ClipRect;
+varying vec2 clipPos;
+#endif
+
+#ifdef HAS_COLORMAP
+// Maps a position along one axis to a texture coordinate the same
+// way TbtQuad does with its fold vertexes: the low and high borders
+// keep their size and the middle stretches to fill the rest.
+float slice( float p, float size, float low, float high, float t1, float t2 ) {
+    if( p < low ) {
+        return p / low * t1;
+    }
+    float far = size - high;
+    if( p > far ) {
+        return t2 + (p - far) / high * (1.0 - t2);
+    }
+    return t1 + (p - low) / max(far - low, 0.0001) * (t2 - t1);
+}
+#endif
+
+void main() {
+    #ifdef HAS_CLIPRECT
+    if( clipPos.x < m_ClipRect.x || clipPos.x > m_ClipRect.z
+        || clipPos.y < m_ClipRect.y || clipPos.y > m_ClipRect.w ) {
+        discard;
+    }
+    #endif
+
+    vec4 color = vec4(1.0);
+
+    #ifdef HAS_COLORMAP
+        vec2 uv = vec2(slice(localPos.x, m_Size.x, m_Borders.x, m_Borders.z, m_TexFolds.x, m_TexFolds.z),
+                       slice(localPos.y, m_Size.y, m_Borders.y, m_Borders.w, m_TexFolds.y, m_TexFolds.w));
+        color *= texture2D(m_ColorMap, uv);
+    #endif
+
+    #ifdef HAS_COLOR
+        color *= m_Color;
+    #endif
+
+    #ifdef DISCARD_ALPHA
+        if( color.a < m_AlphaDiscardThreshold ) {
+            discard;
+        }
+    #endif
+
+    gl_FragColor = color;
+}
@@ -0,0 +1,26 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform mat4 g_WorldViewProjectionMatrix;
+uniform vec2 m_Size;
+
+attribute vec3 inPosition;
+
+varying vec2 localPos;
+
+#ifdef HAS_CLIPRECT
+uniform mat4 g_WorldMatrix;
+uniform mat4 m_ClipMatrix;
+varying vec2 clipPos;
+#endif
+
+void main() {
+    // The mesh is a unit quad so the position scaled by size
+    // is where we are in the stretched quad.
+    localPos = inPosition.xy * m_Size;
+
+    #ifdef HAS_CLIPRECT
+    clipPos = (m_ClipMatrix * g_WorldMatrix * vec4(inPosition, 1.0)).xy;
+    #endif
+
+    gl_Position = g_WorldViewProjectionMatrix * vec4(inPosition, 1.0);
+}
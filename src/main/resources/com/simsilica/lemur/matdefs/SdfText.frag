@@ -0,0 +1,68 @@
+#if defined(GL_ES) && __VERSION__ < 300
+#extension GL_OES_standard_derivatives : enable
+#endif
+
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform sampler2D m_ColorMap;
+
+#ifdef HAS_OUTLINE
+uniform vec4 m_OutlineColor;
+uniform float m_OutlineWidth;
+#endif
+
+#ifdef HAS_SHADOW
+uniform vec4 m_ShadowColor;
+uniform vec2 m_ShadowOffset;
+uniform float m_ShadowSoftness;
+#endif
+
+varying vec2 texCoord;
+varying vec4 vertColor;
+
+#ifdef HAS_CLIPRECT
+uniform vec4 m_ClipRect;
+varying vec2 clipPos;
+#endif
+
+void main() {
+    #ifdef HAS_CLIPRECT
+    if( clipPos.x < m_ClipRect.x || clipPos.x > m_ClipRect.z
+        || clipPos.y < m_ClipRect.y || clipPos.y > m_ClipRect.w ) {
+        discard;
+    }
+    #endif
+
+    float dist = texture2D(m_ColorMap, texCoord).a;
+
+    // Smoothing based on the screen-space rate of change keeps the
+    // edge about a pixel wide no matter how large the text is drawn.
+    float w = max(fwidth(dist), 0.0001);
+    float textAlpha = smoothstep(0.5 - w, 0.5 + w, dist);
+
+    vec4 color = vec4(vertColor.rgb, vertColor.a * textAlpha);
+
+    #ifdef HAS_OUTLINE
+        float edge = 0.5 - m_OutlineWidth;
+        float outlineAlpha = smoothstep(edge - w, edge + w, dist);
+        color = mix(vec4(m_OutlineColor.rgb, m_OutlineColor.a * outlineAlpha * vertColor.a),
+                    vertColor, textAlpha);
+    #endif
+
+    #ifdef HAS_SHADOW
+        float shadowDist = texture2D(m_ColorMap, texCoord - m_ShadowOffset).a;
+        float soft = max(w, m_ShadowSoftness);
+        float shadowAlpha = smoothstep(0.5 - soft, 0.5 + soft, shadowDist) * m_ShadowColor.a * vertColor.a;
+
+        // Composite the text over its shadow
+        float a = color.a + shadowAlpha * (1.0 - color.a);
+        vec3 rgb = (color.rgb * color.a + m_ShadowColor.rgb * shadowAlpha * (1.0 - color.a)) / max(a, 0.0001);
+        color = vec4(rgb, a);
+    #endif
+
+    if( color.a < 0.01 ) {
+        discard;
+    }
+
+    gl_FragColor = color;
+}
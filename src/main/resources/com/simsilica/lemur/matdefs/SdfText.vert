@@ -0,0 +1,27 @@
+#import "Common/ShaderLib/GLSLCompat.glsllib"
+
+uniform mat4 g_WorldViewProjectionMatrix;
+
+attribute vec3 inPosition;
+attribute vec2 inTexCoord;
+attribute vec4 inColor;
+
+varying vec2 texCoord;
+varying vec4 vertColor;
+
+#ifdef HAS_CLIPRECT
+uniform mat4 g_WorldMatrix;
+uniform mat4 m_ClipMatrix;
+varying vec2 clipPos;
+#endif
+
+void main() {
+    texCoord = inTexCoord;
+    vertColor = inColor;
+
+    #ifdef HAS_CLIPRECT
+    clipPos = (m_ClipMatrix * g_WorldMatrix * vec4(inPosition, 1.0)).xy;
+    #endif
+
+    gl_Position = g_WorldViewProjectionMatrix * vec4(inPosition, 1.0);
+}